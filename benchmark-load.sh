@@ -0,0 +1,32 @@
+#!/bin/bash
+
+# End-to-end load test of the REST and MCP endpoints with the no-ai profile.
+# Build first with:
+#   mvn install -DskipTests && mvn -f benchmarks/pom.xml package
+# Usage: ./benchmark-load.sh [harness options]
+#   e.g. ./benchmark-load.sh --rates=10,50,100 --duration=60 --jvm-opts="-Xmx512m"
+#
+# Results go to target/load-results.json; one row per scenario and rate is appended
+# to benchmarks/load-history.csv so releases can be compared.
+
+set -e
+
+ROOT="$(cd "$(dirname "$0")" && pwd)"
+VERSION=$(sed -n 's:.*<version>\(.*\)</version>.*:\1:p' "$ROOT/pom.xml" | sed -n '2p')
+APP_JAR="$ROOT/target/readme-wrangler-$VERSION.jar"
+HARNESS_JAR="$ROOT/benchmarks/target/benchmarks.jar"
+
+if [ ! -f "$APP_JAR" ] || [ ! -f "$HARNESS_JAR" ]; then
+    echo "❌ Build artifacts not found. Build first: mvn install -DskipTests && mvn -f benchmarks/pom.xml package"
+    exit 1
+fi
+
+COMMIT=$(git -C "$ROOT" rev-parse --short HEAD 2>/dev/null || echo unknown)
+
+cd "$ROOT" && exec java -cp "$HARNESS_JAR" com.baskettecase.readmewrangler.benchmarks.load.LoadHarness \
+    --jar="$APP_JAR" \
+    --version="$VERSION" \
+    --commit="$COMMIT" \
+    --out="$ROOT/target/load-results.json" \
+    --history="$ROOT/benchmarks/load-history.csv" \
+    "$@"
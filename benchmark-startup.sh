@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Compare server startup of the plain fat jar against the AOT + CDS layout.
+# Build first with: mvn -Pcds package
+# Usage: ./benchmark-startup.sh [runs]   (default 5)
+#
+# Each launch starts the full context with the cloud profile and exits on refresh,
+# so the time measured is JVM + Spring startup only. Medians are appended to
+# benchmarks/startup-history.csv so the improvement is tracked per release.
+
+set -e
+
+RUNS=${1:-5}
+ROOT="$(cd "$(dirname "$0")" && pwd)"
+APP_DIR="$ROOT/target/cds-app"
+VERSION=$(sed -n 's:.*<version>\(.*\)</version>.*:\1:p' "$ROOT/pom.xml" | sed -n '2p')
+FAT_JAR="$ROOT/target/readme-wrangler-$VERSION.jar"
+CDS_JAR="$APP_DIR/readme-wrangler-$VERSION.jar"
+HISTORY="$ROOT/benchmarks/startup-history.csv"
+RESULTS="$ROOT/target/startup-benchmark.csv"
+
+if [ ! -f "$FAT_JAR" ] || [ ! -f "$CDS_JAR" ] || [ ! -f "$APP_DIR/application.jsa" ]; then
+    echo "❌ Build artifacts not found. Build first: mvn -Pcds package"
+    exit 1
+fi
+
+COMMON_OPTS="-Dspring.context.exit=onRefresh -Dspring.profiles.active=cloud -Dspring.main.banner-mode=off"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints the median of the given numbers
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# time_launch <dir> <java args...>
+time_launch() {
+    local dir=$1
+    shift
+    local start
+    start=$(now_ms)
+    (cd "$dir" && java "$@" > /dev/null 2>&1)
+    echo $(( $(now_ms) - start ))
+}
+
+echo "⏱  Measuring startup over $RUNS runs each..."
+echo "variant,run,millis" > "$RESULTS"
+
+FAT_TIMES=()
+CDS_TIMES=()
+for i in $(seq 1 "$RUNS"); do
+    t=$(time_launch "$ROOT" $COMMON_OPTS -jar "$FAT_JAR")
+    FAT_TIMES+=("$t")
+    echo "fat-jar,$i,$t" >> "$RESULTS"
+
+    t=$(time_launch "$APP_DIR" $COMMON_OPTS -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$(basename "$CDS_JAR")")
+    CDS_TIMES+=("$t")
+    echo "cds-aot,$i,$t" >> "$RESULTS"
+done
+
+FAT_MEDIAN=$(median "${FAT_TIMES[@]}")
+CDS_MEDIAN=$(median "${CDS_TIMES[@]}")
+IMPROVEMENT=$(awk -v a="$FAT_MEDIAN" -v b="$CDS_MEDIAN" 'BEGIN { printf "%.1f", (a - b) * 100 / a }')
+COMMIT=$(git -C "$ROOT" rev-parse --short HEAD 2>/dev/null || echo unknown)
+
+echo "$VERSION,$(date +%Y-%m-%d),$COMMIT,$RUNS,$FAT_MEDIAN,$CDS_MEDIAN,$IMPROVEMENT" >> "$HISTORY"
+
+echo "   fat jar:   ${FAT_MEDIAN} ms (median)"
+echo "   AOT + CDS: ${CDS_MEDIAN} ms (median)"
+echo "✅ ${IMPROVEMENT}% faster; recorded in benchmarks/startup-history.csv"
@@ -0,0 +1,68 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.corpus.MarkdownGenerator;
+import com.baskettecase.readmewrangler.corpus.MarkdownSpec;
+import com.baskettecase.readmewrangler.tool.DocConsolidationTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks DocConsolidationTool.consolidateDocumentation over a directory of generated docs.
+ * Includes the file reads, so results reflect the page cache rather than the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocConsolidationBenchmark {
+
+    @Param({"3", "20", "100"})
+    public int docCount;
+
+    @Param({"4", "32"})
+    public int docSizeKb;
+
+    @Param({"prose", "mixed"})
+    public String shape;
+
+    private final DocConsolidationTool consolidation = new DocConsolidationTool();
+
+    private Path repo;
+
+    @Setup(Level.Trial)
+    public void createDocs() throws IOException {
+        repo = Files.createTempDirectory("consolidation-bench");
+        Files.writeString(repo.resolve("README.md"), "# Bench\n");
+        for (int i = 0; i < docCount; i++) {
+            MarkdownGenerator.write(MarkdownSpec.preset(shape, docSizeKb * 1024L), i, repo.resolve("GUIDE_" + i + ".md"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDocs() throws IOException {
+        TreeFiles.deleteRecursively(repo);
+    }
+
+    @Benchmark
+    public DocConsolidationTool.ConsolidationResult consolidateDocumentation() throws IOException {
+        return consolidation.consolidateDocumentation(repo);
+    }
+}
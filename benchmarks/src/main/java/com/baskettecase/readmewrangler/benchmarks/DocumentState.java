@@ -0,0 +1,30 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.corpus.MarkdownGenerator;
+import com.baskettecase.readmewrangler.corpus.MarkdownSpec;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A generated markdown document, parameterized by size and {@link MarkdownSpec} preset.
+ * Sizes stop at 128 KB because the unified diff is quadratic in line count.
+ */
+@State(Scope.Benchmark)
+public class DocumentState {
+
+    @Param({"1", "16", "128"})
+    public int sizeKb;
+
+    @Param({"prose", "code_heavy", "heading_heavy", "mixed"})
+    public String shape;
+
+    public String content;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        content = MarkdownGenerator.generate(MarkdownSpec.preset(shape, sizeKb * 1024L), 42L);
+    }
+}
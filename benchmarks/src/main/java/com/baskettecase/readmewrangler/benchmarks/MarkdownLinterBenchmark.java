@@ -0,0 +1,38 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.domain.PolishingFinding;
+import com.baskettecase.readmewrangler.tool.MarkdownLinterTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks MarkdownLinterTool.lint.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkdownLinterBenchmark {
+
+    private static final Path FILE = Path.of("README.md");
+
+    private final MarkdownLinterTool linter = new MarkdownLinterTool();
+
+    @Benchmark
+    public List<PolishingFinding> lint(DocumentState doc) {
+        return linter.lint(FILE, doc.content);
+    }
+}
@@ -0,0 +1,48 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.tool.PatchBuilderTool;
+import com.baskettecase.readmewrangler.tool.TextRewriteTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks PatchBuilderTool.createUnifiedDiff between a document and its rewritten form.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatchBuilderBenchmark {
+
+    private static final Path FILE = Path.of("README.md");
+
+    private final PatchBuilderTool patchBuilder = new PatchBuilderTool();
+
+    private String polished;
+
+    @Setup(Level.Trial)
+    public void prepare(DocumentState doc) {
+        TextRewriteTool rewriter = new TextRewriteTool();
+        polished = rewriter.removeTrailingWhitespace(
+            rewriter.normalizeHeadings(rewriter.fixCodeFences(doc.content, "bash")));
+    }
+
+    @Benchmark
+    public String createUnifiedDiff(DocumentState doc) {
+        return patchBuilder.createUnifiedDiff(FILE, doc.content, polished);
+    }
+}
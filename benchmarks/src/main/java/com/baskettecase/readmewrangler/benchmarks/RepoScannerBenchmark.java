@@ -0,0 +1,67 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.corpus.MarkdownSpec;
+import com.baskettecase.readmewrangler.corpus.MonorepoGenerator;
+import com.baskettecase.readmewrangler.corpus.MonorepoSpec;
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.tool.RepoScannerTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks RepoScannerTool.scanRepository over generated monorepos of increasing size,
+ * each module carrying node_modules and target noise the scanner has to walk past.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepoScannerBenchmark {
+
+    @Param({"2", "4"})
+    public int depth;
+
+    @Param({"4", "16"})
+    public int noiseFilesPerModule;
+
+    private final RepoScannerTool scanner = new RepoScannerTool();
+
+    private Path repo;
+
+    @Setup(Level.Trial)
+    public void createTree() throws IOException {
+        repo = Files.createTempDirectory("scanner-bench");
+        MonorepoSpec spec = new MonorepoSpec(depth, 3, 2, 4, noiseFilesPerModule,
+            BuildSystem.MAVEN, MarkdownSpec.prose(512));
+        MonorepoGenerator.generate(repo, spec, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTree() throws IOException {
+        TreeFiles.deleteRecursively(repo);
+    }
+
+    @Benchmark
+    public RepoSnapshot scanRepository() throws IOException {
+        return scanner.scanRepository(repo);
+    }
+}
@@ -0,0 +1,48 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.tool.TextRewriteTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks each TextRewriteTool transform.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextRewriteBenchmark {
+
+    private final TextRewriteTool rewriter = new TextRewriteTool();
+
+    @Benchmark
+    public String fixCodeFences(DocumentState doc) {
+        return rewriter.fixCodeFences(doc.content, "bash");
+    }
+
+    @Benchmark
+    public String normalizeHeadings(DocumentState doc) {
+        return rewriter.normalizeHeadings(doc.content);
+    }
+
+    @Benchmark
+    public String removeTrailingWhitespace(DocumentState doc) {
+        return rewriter.removeTrailingWhitespace(doc.content);
+    }
+
+    @Benchmark
+    public String normalizeLineEndings(DocumentState doc) {
+        return rewriter.normalizeLineEndings(doc.content);
+    }
+}
@@ -0,0 +1,47 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.tool.TocTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks TocTool.generateToc and insertToc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TocBenchmark {
+
+    private final TocTool tocTool = new TocTool();
+
+    private String toc;
+
+    @Setup(Level.Trial)
+    public void prepare(DocumentState doc) {
+        toc = tocTool.generateToc(doc.content);
+    }
+
+    @Benchmark
+    public String generateToc(DocumentState doc) {
+        return tocTool.generateToc(doc.content);
+    }
+
+    @Benchmark
+    public String insertToc(DocumentState doc) {
+        return tocTool.insertToc(doc.content, toc);
+    }
+}
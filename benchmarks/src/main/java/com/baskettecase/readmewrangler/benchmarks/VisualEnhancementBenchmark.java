@@ -0,0 +1,38 @@
+package com.baskettecase.readmewrangler.benchmarks;
+
+import com.baskettecase.readmewrangler.tool.VisualEnhancementTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks VisualEnhancementTool.addIconsToHeadings and enhanceVisualHierarchy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisualEnhancementBenchmark {
+
+    private final VisualEnhancementTool visualEnhancer = new VisualEnhancementTool();
+
+    @Benchmark
+    public String addIconsToHeadings(DocumentState doc) {
+        return visualEnhancer.addIconsToHeadings(doc.content);
+    }
+
+    @Benchmark
+    public String enhanceVisualHierarchy(DocumentState doc) {
+        return visualEnhancer.enhanceVisualHierarchy(doc.content);
+    }
+}
@@ -0,0 +1,97 @@
+package com.baskettecase.readmewrangler.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the application jar in a child JVM with the no-ai profile, so the load
+ * measures the deterministic polishing pipeline and nothing else.
+ */
+final class AppServer implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final URI baseUri;
+
+    private AppServer(Process process, URI baseUri) {
+        this.process = process;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Starts the application and waits until the health endpoint answers.
+     *
+     * @param jar Spring Boot fat jar
+     * @param port HTTP port
+     * @param jvmOptions Extra JVM options, e.g. -Xmx512m
+     * @param log File receiving the application's console output
+     * @return The running server
+     */
+    static AppServer start(Path jar, int port, List<String> jvmOptions, Path log)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of(
+            "-jar", jar.toString(),
+            "--spring.profiles.active=no-ai",
+            "--server.port=" + port,
+            "--logging.level.com.baskettecase=WARN",
+            "--spring.main.banner-mode=off"
+        ));
+
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        AppServer server = new AppServer(process, URI.create("http://localhost:" + port));
+        server.awaitHealthy();
+        return server;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    private void awaitHealthy() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/api/v1/health"))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Application exited during startup with code " + process.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        close();
+        throw new IOException("Application did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
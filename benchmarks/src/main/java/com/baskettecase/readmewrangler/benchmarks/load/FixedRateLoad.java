@@ -0,0 +1,76 @@
+package com.baskettecase.readmewrangler.benchmarks.load;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests start on a fixed schedule regardless of how
+ * long earlier ones take, each on its own virtual thread.
+ */
+final class FixedRateLoad {
+
+    /**
+     * One request. The index lets scenarios rotate through their inputs.
+     */
+    @FunctionalInterface
+    interface Request {
+        void send(int index) throws Exception;
+    }
+
+    private FixedRateLoad() {
+    }
+
+    /**
+     * Sends requests at the given rate for the given duration and waits for them to finish.
+     *
+     * @param request Request to send
+     * @param ratePerSecond Arrival rate
+     * @param duration Length of the schedule
+     * @param drainTimeout How long to wait for in-flight requests after the schedule ends;
+     *                     requests still running then count as errors
+     * @return Latency and throughput for the step
+     */
+    static LatencyStats run(Request request, double ratePerSecond, Duration duration, Duration drainTimeout)
+            throws InterruptedException {
+        int total = (int) Math.max(1, Math.round(ratePerSecond * duration.toNanos() / 1e9));
+        long intervalNanos = (long) (1e9 / ratePerSecond);
+        long[] latencies = new long[total];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        request.send(index);
+                        latencies[completed.getAndIncrement()] = System.nanoTime() - scheduled;
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(drainTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        // The last request starts one interval before the schedule ends; never divide by less than the duration
+        long window = Math.max(System.nanoTime() - start, duration.toNanos());
+
+        int done = completed.get();
+        long[] measured = new long[done];
+        System.arraycopy(latencies, 0, measured, 0, done);
+        return LatencyStats.of(measured, total - done, window);
+    }
+}
@@ -0,0 +1,63 @@
+package com.baskettecase.readmewrangler.benchmarks.load;
+
+import java.util.Arrays;
+
+/**
+ * Latency distribution and throughput for one load step.
+ * Response times are measured from each request's scheduled start, so a stalled
+ * server is charged for the requests queued behind it (no coordinated omission).
+ *
+ * @param requests Requests sent
+ * @param errors Requests that failed or timed out
+ * @param throughput Completed requests per second of the measurement window
+ * @param meanMs Mean response time
+ * @param p50Ms Median response time
+ * @param p90Ms 90th percentile response time
+ * @param p99Ms 99th percentile response time
+ * @param p999Ms 99.9th percentile response time
+ * @param maxMs Slowest response
+ */
+record LatencyStats(
+    int requests,
+    int errors,
+    double throughput,
+    double meanMs,
+    double p50Ms,
+    double p90Ms,
+    double p99Ms,
+    double p999Ms,
+    double maxMs
+) {
+
+    /**
+     * Computes stats from response times in nanoseconds.
+     *
+     * @param latenciesNanos Successful response times; sorted in place
+     * @param errors Number of failed requests
+     * @param windowNanos Length of the measurement window
+     */
+    static LatencyStats of(long[] latenciesNanos, int errors, long windowNanos) {
+        Arrays.sort(latenciesNanos);
+        int n = latenciesNanos.length;
+        double mean = n == 0 ? 0 : Arrays.stream(latenciesNanos).average().orElse(0) / 1e6;
+        return new LatencyStats(
+            n + errors,
+            errors,
+            n / (windowNanos / 1e9),
+            mean,
+            percentile(latenciesNanos, 0.50),
+            percentile(latenciesNanos, 0.90),
+            percentile(latenciesNanos, 0.99),
+            percentile(latenciesNanos, 0.999),
+            n == 0 ? 0 : latenciesNanos[n - 1] / 1e6
+        );
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
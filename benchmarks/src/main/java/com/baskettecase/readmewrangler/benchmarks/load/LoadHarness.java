@@ -0,0 +1,245 @@
+package com.baskettecase.readmewrangler.benchmarks.load;
+
+import com.baskettecase.readmewrangler.benchmarks.TreeFiles;
+import com.baskettecase.readmewrangler.corpus.MarkdownGenerator;
+import com.baskettecase.readmewrangler.corpus.MarkdownSpec;
+import com.baskettecase.readmewrangler.corpus.MonorepoGenerator;
+import com.baskettecase.readmewrangler.corpus.MonorepoSpec;
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End-to-end load harness. Starts the application jar with the no-ai profile, generates a
+ * corpus, and drives the REST and MCP endpoints at fixed arrival rates. Reports latency
+ * percentiles, throughput and server GC/heap figures per scenario and rate, writes them as
+ * JSON, and appends one CSV row per step to a history file so releases can be compared.
+ *
+ * <p>Options (all optional): {@code --jar}, {@code --url} (use a running server instead of
+ * starting one), {@code --port}, {@code --rates=5,20,50}, {@code --duration=30},
+ * {@code --warmup=10} (seconds), {@code --scenarios=rest-polish,rest-content,mcp-content},
+ * {@code --repos=20}, {@code --doc-kb=16}, {@code --jvm-opts="-Xmx512m"},
+ * {@code --out=target/load-results.json}, {@code --history=benchmarks/load-history.csv},
+ * {@code --version}, {@code --commit}.
+ */
+public final class LoadHarness {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final String HISTORY_HEADER = "version,date,commit,scenario,rate_rps,duration_s,requests,errors,"
+        + "throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,gc_pauses,gc_pause_ms,allocated_mb,heap_used_mb";
+
+    private final Map<String, String> options;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private LoadHarness(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadHarness(options).run();
+    }
+
+    private void run() throws Exception {
+        List<Double> rates = Arrays.stream(option("rates", "5,20,50").split(","))
+            .map(String::trim).map(Double::parseDouble).toList();
+        List<String> scenarioNames = Arrays.stream(option("scenarios", "rest-polish,rest-content,mcp-content").split(","))
+            .map(String::trim).toList();
+        Duration duration = Duration.ofSeconds(Long.parseLong(option("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option("warmup", "10")));
+
+        Path corpus = Files.createTempDirectory("wrangler-load");
+        AppServer server = null;
+        try {
+            Corpus data = generateCorpus(corpus);
+
+            URI baseUri;
+            if (options.containsKey("url")) {
+                baseUri = URI.create(options.get("url"));
+            } else {
+                Path jar = Path.of(option("jar", "target/readme-wrangler-1.0.0-SNAPSHOT.jar"));
+                if (!Files.exists(jar)) {
+                    throw new IllegalArgumentException("Application jar not found: " + jar + " (build with mvn package)");
+                }
+                List<String> jvmOptions = options.containsKey("jvm-opts")
+                    ? List.of(options.get("jvm-opts").trim().split("\\s+"))
+                    : List.of();
+                Path log = Path.of(option("app-log", "target/load-app.log"));
+                Files.createDirectories(log.toAbsolutePath().getParent());
+                System.out.println("Starting " + jar + " (profile no-ai)...");
+                server = AppServer.start(jar, Integer.parseInt(option("port", "18080")), jvmOptions, log);
+                baseUri = server.baseUri();
+            }
+
+            List<Map<String, Object>> steps = new ArrayList<>();
+            for (String name : scenarioNames) {
+                FixedRateLoad.Request request = scenario(name, baseUri, data);
+
+                // Warm up the JIT and caches at the lowest rate
+                FixedRateLoad.run(request, rates.get(0), warmup, REQUEST_TIMEOUT);
+
+                for (double rate : rates) {
+                    ServerMetrics before = ServerMetrics.read(client, baseUri, mapper);
+                    LatencyStats stats = FixedRateLoad.run(request, rate, duration, REQUEST_TIMEOUT);
+                    ServerMetrics gc = ServerMetrics.read(client, baseUri, mapper).since(before);
+
+                    print(name, rate, stats, gc);
+                    steps.add(step(name, rate, duration, stats, gc));
+                }
+            }
+
+            writeResults(steps, duration);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+            TreeFiles.deleteRecursively(corpus);
+        }
+    }
+
+    private Corpus generateCorpus(Path dir) throws IOException {
+        int repoCount = Integer.parseInt(option("repos", "20"));
+        long docBytes = Long.parseLong(option("doc-kb", "16")) * 1024;
+
+        List<String> repos = new ArrayList<>();
+        List<String> documents = new ArrayList<>();
+        MonorepoSpec spec = new MonorepoSpec(1, 3, 2, 4, 4, BuildSystem.MAVEN, MarkdownSpec.mixed(docBytes));
+        for (int i = 0; i < repoCount; i++) {
+            Path repo = dir.resolve("repo-" + i);
+            MonorepoGenerator.generate(repo, spec, i);
+            repos.add(repo.toAbsolutePath().toString());
+            documents.add(Files.readString(repo.resolve("README.md")));
+        }
+        System.out.printf("Generated %d repositories (%d KB READMEs) in %s%n", repoCount, docBytes / 1024, dir);
+        return new Corpus(repos, documents);
+    }
+
+    /**
+     * Builds the request for a scenario. Requests rotate through the corpus so the
+     * snapshot cache and single-flight coalescing see realistic variety.
+     */
+    private FixedRateLoad.Request scenario(String name, URI baseUri, Corpus data) throws Exception {
+        return switch (name) {
+            case "rest-polish" -> index -> postJson(baseUri.resolve("/api/v1/polish"),
+                Map.of("repoPath", data.repos().get(index % data.repos().size())));
+            case "rest-content" -> index -> postJson(baseUri.resolve("/api/v1/polish/content"),
+                Map.of("content", data.documents().get(index % data.documents().size()), "fileName", "README.md"));
+            case "mcp-content" -> {
+                McpSession session = new McpSession(client, baseUri.resolve("/mcp"), mapper, REQUEST_TIMEOUT);
+                session.initialize();
+                yield index -> session.callTool("polish_content",
+                    Map.of("content", data.documents().get(index % data.documents().size()), "fileName", "README.md"));
+            }
+            default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+        };
+    }
+
+    private void postJson(URI uri, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+            .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " from " + uri);
+        }
+    }
+
+    private Map<String, Object> step(String scenario, double rate, Duration duration, LatencyStats stats, ServerMetrics gc) {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("scenario", scenario);
+        step.put("rateRps", rate);
+        step.put("durationSeconds", duration.toSeconds());
+        step.put("latency", stats);
+        Map<String, Object> server = new LinkedHashMap<>();
+        server.put("gcPauses", gc.gcPauses());
+        server.put("gcPauseMs", gc.gcPauseMs());
+        // Allocation is counted at each young GC, so short steps are coarse
+        server.put("allocatedMb", gc.allocatedBytes() / (1024 * 1024));
+        server.put("allocatedKbPerRequest", stats.requests() == 0 ? 0.0 : gc.allocatedBytes() / 1024 / stats.requests());
+        server.put("heapUsedMb", gc.heapUsedBytes() / (1024 * 1024));
+        server.put("heapMaxMb", gc.heapMaxBytes() / (1024 * 1024));
+        step.put("server", server);
+        return step;
+    }
+
+    private void print(String scenario, double rate, LatencyStats stats, ServerMetrics gc) {
+        System.out.printf(Locale.ROOT,
+            "%-13s %6.1f rps | %6.1f done/s  errors %-4d | p50 %8.2f  p90 %8.2f  p99 %8.2f  max %8.2f ms"
+                + " | gc %3d pauses %7.1f ms  alloc %8.1f MB%n",
+            scenario, rate, stats.throughput(), stats.errors(), stats.p50Ms(), stats.p90Ms(), stats.p99Ms(),
+            stats.maxMs(), gc.gcPauses(), gc.gcPauseMs(), gc.allocatedBytes() / (1024 * 1024));
+    }
+
+    private void writeResults(List<Map<String, Object>> steps, Duration duration) throws IOException {
+        String version = option("version", "unknown");
+        String commit = option("commit", "unknown");
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("version", version);
+        results.put("commit", commit);
+        results.put("timestamp", Instant.now().toString());
+        results.put("javaVersion", System.getProperty("java.version"));
+        results.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        results.put("steps", steps);
+
+        Path out = Path.of(option("out", "target/load-results.json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        mapper.writeValue(out.toFile(), results);
+
+        Path history = Path.of(option("history", "benchmarks/load-history.csv"));
+        List<String> rows = new ArrayList<>();
+        if (!Files.exists(history)) {
+            rows.add(HISTORY_HEADER);
+        }
+        for (Map<String, Object> step : steps) {
+            LatencyStats stats = (LatencyStats) step.get("latency");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> server = (Map<String, Object>) step.get("server");
+            rows.add(String.format(Locale.ROOT, "%s,%s,%s,%s,%.1f,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f,%d,%.1f,%.1f,%.1f",
+                version, LocalDate.now(), commit, step.get("scenario"), (Double) step.get("rateRps"), duration.toSeconds(),
+                stats.requests(), stats.errors(), stats.throughput(),
+                stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs(),
+                (Long) server.get("gcPauses"), (Double) server.get("gcPauseMs"),
+                (Double) server.get("allocatedMb"), (Double) server.get("heapUsedMb")));
+        }
+        Files.write(history, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        System.out.println("Results written to " + out + "; history appended to " + history);
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private record Corpus(List<String> repos, List<String> documents) {
+    }
+}
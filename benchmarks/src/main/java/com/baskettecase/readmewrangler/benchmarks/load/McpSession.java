@@ -0,0 +1,118 @@
+package com.baskettecase.readmewrangler.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal MCP client for the streamable HTTP transport: one initialized session,
+ * then tools/call requests. Responses may arrive as JSON or as a short SSE stream.
+ */
+final class McpSession {
+
+    private static final String PROTOCOL_VERSION = "2025-06-18";
+
+    private final HttpClient client;
+    private final URI endpoint;
+    private final ObjectMapper mapper;
+    private final Duration timeout;
+    private final AtomicLong ids = new AtomicLong();
+    private String sessionId;
+
+    McpSession(HttpClient client, URI endpoint, ObjectMapper mapper, Duration timeout) {
+        this.client = client;
+        this.endpoint = endpoint;
+        this.mapper = mapper;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Performs the initialize handshake and keeps the session id for later calls.
+     */
+    void initialize() throws IOException, InterruptedException {
+        HttpResponse<String> response = post(Map.of(
+            "jsonrpc", "2.0",
+            "id", ids.incrementAndGet(),
+            "method", "initialize",
+            "params", Map.of(
+                "protocolVersion", PROTOCOL_VERSION,
+                "capabilities", Map.of(),
+                "clientInfo", Map.of("name", "readme-wrangler-load", "version", "1.0")
+            )
+        ));
+        result(response);
+        sessionId = response.headers().firstValue("Mcp-Session-Id").orElse(null);
+
+        post(Map.of("jsonrpc", "2.0", "method", "notifications/initialized"));
+    }
+
+    /**
+     * Calls a tool and fails if the call or the tool reports an error.
+     *
+     * @return The tool result
+     */
+    JsonNode callTool(String name, Map<String, Object> arguments) throws IOException, InterruptedException {
+        JsonNode result = result(post(Map.of(
+            "jsonrpc", "2.0",
+            "id", ids.incrementAndGet(),
+            "method", "tools/call",
+            "params", Map.of("name", name, "arguments", arguments)
+        )));
+        if (result.path("isError").asBoolean(false)) {
+            throw new IOException("Tool " + name + " failed: " + result.path("content"));
+        }
+        return result;
+    }
+
+    private HttpResponse<String> post(Map<String, Object> message) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json, text/event-stream")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(message)));
+        if (sessionId != null) {
+            request.header("Mcp-Session-Id", sessionId);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("MCP request failed with HTTP " + response.statusCode());
+        }
+        return response;
+    }
+
+    private JsonNode result(HttpResponse<String> response) throws IOException {
+        String body = response.body();
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        JsonNode message = contentType.startsWith("text/event-stream")
+            ? mapper.readTree(lastData(body))
+            : mapper.readTree(body);
+        if (message == null || message.has("error")) {
+            throw new IOException("MCP error: " + (message == null ? "empty response" : message.get("error")));
+        }
+        return message.path("result");
+    }
+
+    /**
+     * Returns the payload of the last data line in an SSE body.
+     */
+    private static String lastData(String body) throws IOException {
+        String data = null;
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) {
+                data = line.substring(5).trim();
+            }
+        }
+        if (data == null) {
+            throw new IOException("No data in event stream");
+        }
+        return data;
+    }
+}
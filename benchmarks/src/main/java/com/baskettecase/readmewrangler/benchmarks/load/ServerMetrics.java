@@ -0,0 +1,67 @@
+package com.baskettecase.readmewrangler.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * GC and heap figures read from the application's actuator metrics endpoint.
+ *
+ * @param gcPauses Number of GC pauses so far
+ * @param gcPauseMs Total GC pause time so far
+ * @param allocatedBytes Bytes allocated in the young generation so far
+ * @param heapUsedBytes Heap currently in use
+ * @param heapMaxBytes Maximum heap
+ */
+record ServerMetrics(long gcPauses, double gcPauseMs, double allocatedBytes, double heapUsedBytes, double heapMaxBytes) {
+
+    /**
+     * Reads the current values.
+     */
+    static ServerMetrics read(HttpClient client, URI baseUri, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        JsonNode pauses = metric(client, baseUri, mapper, "jvm.gc.pause");
+        return new ServerMetrics(
+            (long) measurement(pauses, "COUNT"),
+            measurement(pauses, "TOTAL_TIME") * 1000,
+            measurement(metric(client, baseUri, mapper, "jvm.gc.memory.allocated"), "COUNT"),
+            measurement(metric(client, baseUri, mapper, "jvm.memory.used?tag=area:heap"), "VALUE"),
+            measurement(metric(client, baseUri, mapper, "jvm.memory.max?tag=area:heap"), "VALUE")
+        );
+    }
+
+    /**
+     * Returns the change in cumulative counters since an earlier reading; heap figures are taken from this one.
+     */
+    ServerMetrics since(ServerMetrics before) {
+        return new ServerMetrics(
+            gcPauses - before.gcPauses,
+            gcPauseMs - before.gcPauseMs,
+            allocatedBytes - before.allocatedBytes,
+            heapUsedBytes,
+            heapMaxBytes
+        );
+    }
+
+    private static JsonNode metric(HttpClient client, URI baseUri, ObjectMapper mapper, String name)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/metrics/" + name)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        // A metric with no samples yet (e.g. no GC so far) is reported as missing
+        return response.statusCode() == 200 ? mapper.readTree(response.body()) : mapper.createObjectNode();
+    }
+
+    private static double measurement(JsonNode metric, String statistic) {
+        for (JsonNode measurement : metric.path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,20 @@
+#!/bin/bash
+
+# Run README Wrangler from the AOT + CDS layout built by: mvn -Pcds package
+
+APP_DIR="$(cd "$(dirname "$0")" && pwd)/target/cds-app"
+JAR=$(cd "$APP_DIR" 2>/dev/null && ls readme-wrangler-*.jar 2>/dev/null | head -1)
+
+if [ -z "$JAR" ] || [ ! -f "$APP_DIR/application.jsa" ]; then
+    echo "❌ CDS layout not found. Build it first: mvn -Pcds package"
+    exit 1
+fi
+
+echo "🚀 Starting README Wrangler (AOT + CDS, profile: ${SPRING_PROFILES_ACTIVE:-cloud})..."
+
+cd "$APP_DIR" && exec java \
+    -XX:SharedArchiveFile=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active="${SPRING_PROFILES_ACTIVE:-cloud}" \
+    $JAVA_OPTS \
+    -jar "$JAR" "$@"
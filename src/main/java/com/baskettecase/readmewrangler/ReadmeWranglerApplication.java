@@ -1,16 +1,21 @@
 package com.baskettecase.readmewrangler;
 
+import com.baskettecase.readmewrangler.cli.StandaloneCli;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 /**
  * Main application class for README Wrangler.
  * A Spring Boot application that polishes repository documentation using Embabel.
+ * CLI subcommands (e.g. {@code polish}) run standalone without starting the Spring context.
  */
 @SpringBootApplication
 public class ReadmeWranglerApplication {
 
     public static void main(String[] args) {
+        if (StandaloneCli.handles(args)) {
+            System.exit(StandaloneCli.run(args));
+        }
         SpringApplication.run(ReadmeWranglerApplication.class, args);
     }
 }
@@ -1,7 +1,10 @@
 package com.baskettecase.readmewrangler.agent;
 
 import com.baskettecase.readmewrangler.domain.*;
+import com.baskettecase.readmewrangler.domain.Deadline.DeadlineExceededException;
 import com.baskettecase.readmewrangler.service.PolishingConfig;
+import com.baskettecase.readmewrangler.service.PolishingStage;
+import com.baskettecase.readmewrangler.service.SnapshotCache;
 import com.baskettecase.readmewrangler.tool.*;
 import com.embabel.agent.api.annotation.Action;
 import com.embabel.agent.api.annotation.Agent;
@@ -12,10 +15,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Embabel agent for polishing repository README files.
@@ -35,6 +40,8 @@ public class ReadmePolisherAgent {
     private final PatchBuilderTool patchBuilder;
     private final VisualEnhancementTool visualEnhancer;
     private final DocConsolidationTool docConsolidation;
+    private final ProseRewriteTool proseRewriter;
+    private final SnapshotCache snapshotCache;
 
     public ReadmePolisherAgent(
         RepoScannerTool repoScanner,
@@ -44,7 +51,9 @@ public class ReadmePolisherAgent {
         BadgeTool badgeTool,
         PatchBuilderTool patchBuilder,
         VisualEnhancementTool visualEnhancer,
-        DocConsolidationTool docConsolidation
+        DocConsolidationTool docConsolidation,
+        ProseRewriteTool proseRewriter,
+        SnapshotCache snapshotCache
     ) {
         this.repoScanner = repoScanner;
         this.linter = linter;
@@ -54,6 +63,8 @@ public class ReadmePolisherAgent {
         this.patchBuilder = patchBuilder;
         this.visualEnhancer = visualEnhancer;
         this.docConsolidation = docConsolidation;
+        this.proseRewriter = proseRewriter;
+        this.snapshotCache = snapshotCache;
     }
 
     /**
@@ -64,56 +75,128 @@ public class ReadmePolisherAgent {
     public PatchBundle polishReadmeGoal(PolishingContext context) throws IOException {
         log.info("Starting README polishing goal for: {}", context.repoPath());
 
-        // Execute sub-goals in sequence
+        Deadline deadline = context.deadline();
+        Path readmeFile = context.repoPath();
+        List<PolishingFinding> findings = new ArrayList<>();
+
+        try {
+            // Execute sub-goals in sequence
+            RepoSnapshot snapshot = scanRepositoryGoal(context);
+            context = context.withSnapshot(snapshot);
+
+            // Consolidate documentation files if needed
+            String consolidationPatch = "";
+            List<Path> filesToDelete = List.of();
+
+            if (context.config().runs(PolishingStage.CONSOLIDATION) && shouldConsolidateDocs(snapshot)) {
+                deadline.check("consolidation");
+                // Stream DEVELOPMENT.md straight into its creation patch
+                PatchBuilderTool.NewFilePatchWriter patch =
+                    patchBuilder.newFilePatch(context.repoPath().resolve("DEVELOPMENT.md"));
+                List<Path> consolidated = consolidateDocsGoal(snapshot, patch, deadline);
+                if (!consolidated.isEmpty()) {
+                    consolidationPatch = patch.toPatch();
+                    filesToDelete = consolidated;
+                }
+            }
+
+            Path readme = findReadme(snapshot);
+            if (readme == null) {
+                log.warn("No README.md found in repository");
+                return new PatchBundle("", ReadmeImprovements.empty(), consolidationPatch, filesToDelete);
+            }
+            readmeFile = readme;
+
+            String original = Files.readString(readmeFile);
+            findings.addAll(lintIfSelected(readmeFile, original, context.config(), deadline));
+
+            String polished = rewriteMarkdown(original, snapshot, context.config(), findings, readmeFile, deadline);
+
+            String diff = createGuardedDiff(readmeFile, original, polished, context.config(), findings, deadline);
+            ReadmeImprovements improvements = buildImprovements(original, polished, findings);
+
+            PatchBundle bundle = new PatchBundle(diff, improvements, consolidationPatch, filesToDelete);
+            log.info("Polishing complete: {}", bundle.getSummaryLine());
+
+            return bundle;
+
+        } catch (DeadlineExceededException e) {
+            return partialBundle(readmeFile, findings, e);
+        }
+    }
+
+    /**
+     * Goal: Check whether the documentation is already polished, for CI gating.
+     * Evaluates the same conditions the polish goal acts on, cheapest first, without
+     * rewriting text or building a diff. With failFast, stops at the first needed change.
+     */
+    @Action
+    @AchievesGoal(description = "Check whether documentation needs polishing without creating a patch")
+    public CheckResult checkReadmeGoal(PolishingContext context, boolean failFast) throws IOException {
+        log.info("Checking documentation for: {}", context.repoPath());
+
+        List<PolishingFinding> reasons = new ArrayList<>();
+        PolishingConfig config = context.config();
+
         RepoSnapshot snapshot = scanRepositoryGoal(context);
-        context = context.withSnapshot(snapshot);
-
-        // Consolidate documentation files if needed
-        DocConsolidationTool.ConsolidationResult consolidationResult = null;
-        String consolidationPatch = "";
-        List<Path> filesToDelete = List.of();
-
-        if (shouldConsolidateDocs(context.repoPath())) {
-            consolidationResult = consolidateDocsGoal(context.repoPath());
-            if (consolidationResult.hasConsolidation()) {
-                // Generate patch for DEVELOPMENT.md creation
-                Path developmentFile = context.repoPath().resolve("DEVELOPMENT.md");
-                consolidationPatch = patchBuilder.createUnifiedDiff(
-                    developmentFile,
-                    "", // No original content
-                    consolidationResult.consolidatedContent()
-                );
-                filesToDelete = consolidationResult.filesToRemove();
+
+        if (config.runs(PolishingStage.CONSOLIDATION) && shouldConsolidateDocs(snapshot)) {
+            reasons.add(PolishingFinding.forLine(
+                "consolidate-docs", "Documentation files should be consolidated into DEVELOPMENT.md",
+                Severity.WARN, context.repoPath(), 0));
+            if (failFast) {
+                return CheckResult.of(reasons);
             }
         }
 
         Path readmeFile = findReadme(snapshot);
         if (readmeFile == null) {
-            log.warn("No README.md found in repository");
-            return new PatchBundle("", ReadmeImprovements.empty(), consolidationPatch, filesToDelete);
+            return CheckResult.of(reasons);
         }
 
-        String original = Files.readString(readmeFile);
-        List<PolishingFinding> findings = lintMarkdownGoal(readmeFile, original);
-
-        String polished = rewriteMarkdownGoal(original, snapshot, context.config(), findings, readmeFile);
+        String content = Files.readString(readmeFile);
+
+        // Ordered cheapest first
+        List<Supplier<List<PolishingFinding>>> checks = List.of(
+            () -> config.runs(PolishingStage.BADGES) && config.badgesEnabled() && !badgeTool.hasBadges(content)
+                ? reason("missing-badges", "README has no badges", readmeFile) : List.of(),
+            () -> config.runs(PolishingStage.WHITESPACE) && rewriter.hasTrailingWhitespace(content)
+                ? reason("trailing-whitespace", "Lines end with trailing whitespace", readmeFile) : List.of(),
+            () -> config.runs(PolishingStage.HEADINGS) && rewriter.hasSetextHeadings(content)
+                ? reason("setext-heading", "Setext headings should use ATX (#) style", readmeFile) : List.of(),
+            () -> config.runs(PolishingStage.LINT) || config.runs(PolishingStage.CODE_FENCES)
+                ? linter.lint(readmeFile, content).stream().filter(f -> f.severity() != Severity.INFO).toList()
+                : List.of(),
+            () -> config.runs(PolishingStage.TEST_SECTION) && shouldAddTestSection(content, snapshot.build())
+                ? reason("missing-test-section", "README has no 'How to Run Tests' section", readmeFile) : List.of(),
+            () -> config.runs(PolishingStage.TOC) && shouldAddToc(content, config.addTocThresholdHeadings())
+                ? reason("missing-toc", "README has enough headings for a table of contents", readmeFile) : List.of(),
+            () -> config.runs(PolishingStage.VISUALS) && shouldEnhanceVisuals(content)
+                ? reason("plain-headings", "Headings lack icons and visual formatting", readmeFile) : List.of()
+        );
 
-        ReadmeImprovements improvements = buildImprovements(original, polished, findings);
-        String diff = patchBuilder.createUnifiedDiff(readmeFile, original, polished);
+        for (Supplier<List<PolishingFinding>> check : checks) {
+            reasons.addAll(check.get());
+            if (failFast && !reasons.isEmpty()) {
+                break;
+            }
+        }
 
-        PatchBundle bundle = new PatchBundle(diff, improvements, consolidationPatch, filesToDelete);
-        log.info("Polishing complete: {}", bundle.getSummaryLine());
+        return CheckResult.of(failFast && !reasons.isEmpty() ? reasons.subList(0, 1) : reasons);
+    }
 
-        return bundle;
+    private static List<PolishingFinding> reason(String id, String message, Path file) {
+        return List.of(PolishingFinding.forLine(id, message, Severity.WARN, file, 0));
     }
 
     /**
      * Sub-goal: Scan repository for metadata.
+     * Reuses a recent snapshot from the shared cache when the repository is unchanged.
      */
     @Action(description = "Scan repository to detect build system and files")
     public RepoSnapshot scanRepositoryGoal(PolishingContext context) throws IOException {
         log.info("Scanning repository: {}", context.repoPath());
-        return repoScanner.scanRepository(context.repoPath());
+        return snapshotCache.get(context.repoPath(), context.deadline());
     }
 
     /**
@@ -138,20 +221,182 @@ public class ReadmePolisherAgent {
     ) {
         log.info("Rewriting markdown with improvements");
 
+        return rewriteMarkdown(content, snapshot, config, findings, file, Deadline.none());
+    }
+
+    /**
+     * Helper: Rewrite repository markdown, with badges derived from the snapshot.
+     */
+    private String rewriteMarkdown(
+        String content,
+        RepoSnapshot snapshot,
+        PolishingConfig config,
+        List<PolishingFinding> findings,
+        Path file,
+        Deadline deadline
+    ) {
+        return rewriteMarkdown(content, snapshot.build(), config, findings, file,
+            () -> badgeTool.generateBadgeSection(
+                snapshot.root().getFileName().toString(),
+                snapshot.build(),
+                config.jdkVersion(),
+                snapshot.root()
+            ),
+            deadline);
+    }
+
+    /**
+     * Goal: Polish markdown content held in memory, without reading or writing the filesystem.
+     * Build system and license come from caller-supplied hints instead of a repository scan.
+     */
+    @Action
+    @AchievesGoal(description = "Polish markdown content in memory and create patch for approval")
+    public PatchBundle polishContentGoal(
+        String content,
+        Path file,
+        BuildSystem buildSystem,
+        String license,
+        PolishingConfig config
+    ) {
+        return polishContentGoal(content, file, buildSystem, license, config, Deadline.none());
+    }
+
+    /**
+     * Polishes markdown content held in memory under a request deadline.
+     * When the deadline expires, returns the findings gathered so far with no diff.
+     */
+    public PatchBundle polishContentGoal(
+        String content,
+        Path file,
+        BuildSystem buildSystem,
+        String license,
+        PolishingConfig config,
+        Deadline deadline
+    ) {
+        log.debug("Polishing in-memory content for: {}", file);
+
+        BuildSystem build = buildSystem != null ? buildSystem : BuildSystem.OTHER;
+        List<PolishingFinding> findings = new ArrayList<>();
+
+        try {
+            findings.addAll(lintIfSelected(file, content, config, deadline));
+
+            String polished = rewriteMarkdown(content, build, config, findings, file,
+                () -> badgeTool.generateBadgeSection(file.getFileName().toString(), build, config.jdkVersion(), license),
+                deadline);
+
+            String diff = createGuardedDiff(file, content, polished, config, findings, deadline);
+            ReadmeImprovements improvements = buildImprovements(content, polished, findings);
+
+            return new PatchBundle(diff, improvements);
+
+        } catch (DeadlineExceededException e) {
+            return partialBundle(file, findings, e);
+        }
+    }
+
+    /**
+     * Helper: Lint only when the lint stage is selected; returns a mutable list either way.
+     */
+    private List<PolishingFinding> lintIfSelected(Path file, String content, PolishingConfig config, Deadline deadline) {
+        if (!config.runs(PolishingStage.LINT)) {
+            return new ArrayList<>();
+        }
+        log.info("Linting markdown file: {}", file);
+        return linter.lint(file, content, deadline);
+    }
+
+    /**
+     * Helper: Build the bundle returned when the deadline expires mid-pipeline.
+     * Keeps every finding gathered so far, adds a deadline finding, and proposes no changes.
+     */
+    private PatchBundle partialBundle(Path file, List<PolishingFinding> findings, DeadlineExceededException e) {
+        log.warn("Polishing of {} stopped during {} stage: deadline exceeded", file, e.stage());
+
+        List<PolishingFinding> notes = new ArrayList<>(findings);
+        notes.addAll(e.partialFindings());
+        return PatchBundle.partial(file, e.stage(), notes);
+    }
+
+    /**
+     * Helper: Apply the selected fix, test section, TOC, badge and visual passes to content.
+     * The badge section is only generated when badges are enabled and missing.
+     */
+    private String rewriteMarkdown(
+        String content,
+        BuildSystem build,
+        PolishingConfig config,
+        List<PolishingFinding> findings,
+        Path file,
+        Supplier<String> badgeSection,
+        Deadline deadline
+    ) {
         String result = content;
+        String next;
+        int changes = 0;
+
+        // Each pass is kept only if the file stays within maxChangesPerFile; the first pass
+        // that would exceed it ends the rewrite with the passes applied so far. Each pass is
+        // measured against the previous result and the counts added up, so a pass is charged
+        // only for the lines it touches
 
         // Fix code fences
-        result = rewriter.fixCodeFences(result, config.defaultCodeLanguage());
+        if (config.runs(PolishingStage.CODE_FENCES)) {
+            deadline.check("code-fences");
+            next = rewriter.fixCodeFences(result, config.defaultCodeLanguage());
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "code-fences", file, findings)) return result;
+            result = next;
+        }
 
         // Normalize headings
-        result = rewriter.normalizeHeadings(result);
+        if (config.runs(PolishingStage.HEADINGS)) {
+            deadline.check("headings");
+            next = rewriter.normalizeHeadings(result);
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "headings", file, findings)) return result;
+            result = next;
+        }
 
         // Remove trailing whitespace
-        result = rewriter.removeTrailingWhitespace(result);
+        if (config.runs(PolishingStage.WHITESPACE)) {
+            deadline.check("whitespace");
+            next = rewriter.removeTrailingWhitespace(result);
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "whitespace", file, findings)) return result;
+            result = next;
+        }
+
+        // Improve weak prose with the chat model, before sections are added around it
+        if (config.runs(PolishingStage.PROSE) && proseRewriter.isEnabled()) {
+            deadline.check("prose");
+            ProseRewriteTool.ProseResult prose = proseRewriter.rewrite(result, deadline);
+            next = prose.content();
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "prose", file, findings)) return result;
+            result = next;
+            if (prose.calls() > 0 || prose.cachedParagraphs() > 0) {
+                findings.add(PolishingFinding.forLine(
+                    "improved-prose",
+                    String.format("Rewrote %d of %d weak paragraphs (%d from cache) in %d model calls (%d prompt + %d completion tokens)",
+                        prose.rewrittenParagraphs(), prose.weakParagraphs(), prose.cachedParagraphs(), prose.calls(),
+                        prose.promptTokens(), prose.completionTokens()),
+                    Severity.INFO,
+                    file,
+                    0
+                ));
+            }
+        }
+
+        // Later passes are cheap individually; one check covers them
+        deadline.check("rewrite");
 
         // Add test section if needed
-        if (shouldAddTestSection(result, snapshot.build())) {
-            result = addTestSection(result, snapshot.build());
+        if (config.runs(PolishingStage.TEST_SECTION) && shouldAddTestSection(result, build)) {
+            next = addTestSection(result, build);
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "test-section", file, findings)) return result;
+            result = next;
             findings.add(PolishingFinding.forLine(
                 "added-test-section",
                 "Added 'How to Run Tests' section",
@@ -162,9 +407,12 @@ public class ReadmePolisherAgent {
         }
 
         // Add TOC if needed
-        if (shouldAddToc(result, config.addTocThresholdHeadings())) {
+        if (config.runs(PolishingStage.TOC) && shouldAddToc(result, config.addTocThresholdHeadings())) {
             String toc = tocTool.generateToc(result);
-            result = tocTool.insertToc(result, toc);
+            next = tocTool.insertToc(result, toc);
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "toc", file, findings)) return result;
+            result = next;
             findings.add(PolishingFinding.forLine(
                 "added-toc",
                 "Added table of contents",
@@ -175,19 +423,20 @@ public class ReadmePolisherAgent {
         }
 
         // Add badges if enabled
-        if (config.badgesEnabled() && !badgeTool.hasBadges(result)) {
-            String badges = badgeTool.generateBadgeSection(
-                snapshot.root().getFileName().toString(),
-                snapshot.build(),
-                config.jdkVersion(),
-                snapshot.root()
-            );
-            result = badges + result;
+        if (config.runs(PolishingStage.BADGES) && config.badgesEnabled() && !badgeTool.hasBadges(result)) {
+            next = badgeSection.get() + result;
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "badges", file, findings)) return result;
+            result = next;
         }
 
         // Add visual enhancements if needed
-        if (shouldEnhanceVisuals(result)) {
-            result = enhanceVisualsGoal(result);
+        if (config.runs(PolishingStage.VISUALS) && shouldEnhanceVisuals(result)) {
+            deadline.check("visuals");
+            next = enhanceVisualsGoal(result);
+            changes += patchBuilder.estimateChanges(result, next);
+            if (exceedsChangeLimit(changes, config, "visuals", file, findings)) return result;
+            result = next;
             findings.add(PolishingFinding.forLine(
                 "enhanced-visuals",
                 "Added icons and visual formatting to headings",
@@ -200,6 +449,56 @@ public class ReadmePolisherAgent {
         return result;
     }
 
+    /**
+     * Helper: Check the changes made by the passes so far, up to and including a rewrite pass,
+     * against maxChangesPerFile (0 or less disables it).
+     * On exceeding the limit, records a max-changes-exceeded finding naming the pass.
+     */
+    private boolean exceedsChangeLimit(
+        int changes,
+        PolishingConfig config,
+        String stage,
+        Path file,
+        List<PolishingFinding> findings
+    ) {
+        int limit = config.maxChangesPerFile();
+        if (limit <= 0 || changes <= limit) {
+            return false;
+        }
+        log.warn("Rewrite of {} stopped at {} stage: about {} changed lines exceed limit of {}",
+            file, stage, changes, limit);
+        findings.add(maxChangesFinding(file,
+            String.format("Stopped at %s stage: about %d changed lines would exceed maxChangesPerFile (%d); "
+                + "later stages were skipped", stage, changes, limit)));
+        return true;
+    }
+
+    /**
+     * Helper: Build the README diff within maxChangesPerFile.
+     * If the diff itself exceeds the limit, no patch is built and a finding says why.
+     */
+    private String createGuardedDiff(
+        Path file,
+        String original,
+        String polished,
+        PolishingConfig config,
+        List<PolishingFinding> findings,
+        Deadline deadline
+    ) {
+        try {
+            return patchBuilder.createUnifiedDiff(file, original, polished, deadline, config.maxChangesPerFile());
+        } catch (PatchBuilderTool.ChangeLimitExceededException e) {
+            log.warn("Diff of {} exceeds limit of {} changed lines; no patch built", file, e.maxChanges());
+            findings.add(maxChangesFinding(file,
+                String.format("Diff exceeds maxChangesPerFile (%d); no patch was built", e.maxChanges())));
+            return "";
+        }
+    }
+
+    private static PolishingFinding maxChangesFinding(Path file, String message) {
+        return PolishingFinding.forLine("max-changes-exceeded", message, Severity.WARN, file, 0);
+    }
+
     /**
      * Condition: Should add test section?
      */
@@ -284,25 +583,34 @@ public class ReadmePolisherAgent {
         return result;
     }
 
+    /**
+     * Action: Consolidate documentation files, streaming DEVELOPMENT.md to a sink.
+     *
+     * @return Files merged into DEVELOPMENT.md (empty if there was nothing to consolidate)
+     */
+    public List<Path> consolidateDocsGoal(RepoSnapshot snapshot, Writer sink, Deadline deadline) throws IOException {
+        log.info("Consolidating documentation files into DEVELOPMENT.md");
+
+        List<Path> consolidated = docConsolidation.consolidateDocumentation(snapshot, sink, deadline);
+        if (consolidated.isEmpty()) {
+            log.info("No documentation files to consolidate");
+        } else {
+            log.info("Documentation consolidation prepared: {} files to merge", consolidated.size());
+        }
+        return consolidated;
+    }
+
     /**
      * Condition: Should consolidate documentation files?
+     * Docs split out into a docs directory are consolidated once there are two of them;
+     * loose docs at the root once there are three.
      */
     @Condition
-    public boolean shouldConsolidateDocs(Path repoPath) {
-        try {
-            // Check if there are multiple documentation files (excluding README and CLAUDE.md)
-            long docCount = Files.list(repoPath)
-                .filter(p -> p.getFileName().toString().endsWith(".md"))
-                .filter(p -> !p.getFileName().toString().equals("README.md"))
-                .filter(p -> !p.getFileName().toString().equals("CLAUDE.md"))
-                .filter(p -> !p.getFileName().toString().equals("DEVELOPMENT.md"))
-                .count();
-
-            return docCount > 2; // Consolidate if more than 2 additional docs
-        } catch (IOException e) {
-            log.warn("Failed to check documentation files: {}", e.getMessage());
-            return false;
-        }
+    public boolean shouldConsolidateDocs(RepoSnapshot snapshot) {
+        List<Path> docs = docConsolidation.findDocumentationFiles(snapshot);
+        boolean docsDirectory = docs.stream()
+            .anyMatch(doc -> snapshot.root().relativize(doc).getNameCount() > 1);
+        return docs.size() > 2 || docsDirectory && docs.size() > 1;
     }
 
     /**
@@ -346,18 +654,30 @@ public class ReadmePolisherAgent {
 
     /**
      * Context object for polishing operations.
+     * The deadline bounds the whole request and is checked cooperatively by each stage.
      */
     public record PolishingContext(
         Path repoPath,
         PolishingConfig config,
-        RepoSnapshot snapshot
+        RepoSnapshot snapshot,
+        Deadline deadline
     ) {
+        public PolishingContext {
+            if (deadline == null) {
+                deadline = Deadline.none();
+            }
+        }
+
         public PolishingContext(Path repoPath, PolishingConfig config) {
-            this(repoPath, config, null);
+            this(repoPath, config, null, Deadline.none());
+        }
+
+        public PolishingContext(Path repoPath, PolishingConfig config, Deadline deadline) {
+            this(repoPath, config, null, deadline);
         }
 
         public PolishingContext withSnapshot(RepoSnapshot snapshot) {
-            return new PolishingContext(repoPath, config, snapshot);
+            return new PolishingContext(repoPath, config, snapshot, deadline);
         }
     }
 }
@@ -0,0 +1,150 @@
+package com.baskettecase.readmewrangler.cli;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Expands the repository arguments of a batch polish into concrete directories.
+ * Arguments may be plain paths or glob patterns such as {@code ~/src/*} or {@code repos/**},
+ * and may also come from a list file with one entry per line. A leading {@code ~} is the user's
+ * home directory. A {@code **} pattern matches repository roots only (directories holding a README
+ * or a build file); the walk does not descend into a repository it found, nor into hidden or
+ * dependency directories.
+ */
+final class RepoPathResolver {
+
+    private static final String GLOB_CHARS = "*?[{";
+
+    private static final List<String> ROOT_MARKERS = List.of(
+        "README.md", "pom.xml", "build.gradle", "build.gradle.kts", "Makefile");
+
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("node_modules", "target", "build");
+
+    private RepoPathResolver() {
+    }
+
+    /**
+     * Resolves paths and patterns to repository directories, in argument order without duplicates.
+     *
+     * @param args Paths or glob patterns from the command line
+     * @param listFile Optional file with one path or pattern per line ({@code #} starts a comment)
+     * @return Normalized absolute repository directories
+     * @throws IOException if the list file or a glob base directory cannot be read
+     */
+    static List<Path> resolve(List<String> args, Path listFile) throws IOException {
+        List<String> entries = new ArrayList<>(args != null ? args : List.of());
+        if (listFile != null) {
+            for (String line : Files.readAllLines(listFile)) {
+                String entry = line.strip();
+                if (!entry.isEmpty() && !entry.startsWith("#")) {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        Set<Path> repos = new LinkedHashSet<>();
+        for (String listed : entries) {
+            String entry = expandHome(listed);
+            if (isGlob(entry)) {
+                repos.addAll(expandGlob(entry));
+            } else {
+                repos.add(Paths.get(entry).toAbsolutePath().normalize());
+            }
+        }
+        return List.copyOf(repos);
+    }
+
+    /**
+     * Replaces a leading {@code ~} with the user's home directory, as a shell would.
+     */
+    private static String expandHome(String entry) {
+        if (entry.equals("~") || entry.startsWith("~/") || entry.startsWith("~\\")) {
+            return System.getProperty("user.home") + entry.substring(1);
+        }
+        return entry;
+    }
+
+    private static boolean isGlob(String entry) {
+        return entry.chars().anyMatch(c -> GLOB_CHARS.indexOf(c) >= 0);
+    }
+
+    /**
+     * Walks from the longest literal prefix of the pattern and keeps matching directories.
+     */
+    private static List<Path> expandGlob(String pattern) throws IOException {
+        Path absolute = Paths.get(pattern.replace('\\', '/')).toAbsolutePath();
+        Path base = absolute.getRoot();
+        int literalSegments = 0;
+        for (Path segment : absolute) {
+            if (isGlob(segment.toString())) {
+                break;
+            }
+            base = base.resolve(segment);
+            literalSegments++;
+        }
+
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + absolute.normalize());
+        if (pattern.contains("**")) {
+            return findRepositoryRoots(base, matcher);
+        }
+
+        int depth = absolute.getNameCount() - literalSegments;
+        try (Stream<Path> walk = Files.walk(base, depth)) {
+            return walk
+                .filter(Files::isDirectory)
+                .filter(matcher::matches)
+                .map(Path::normalize)
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * Walks without a depth limit, keeping matching repository roots and skipping their contents
+     * along with hidden and dependency directories.
+     */
+    private static List<Path> findRepositoryRoots(Path base, PathMatcher matcher) throws IOException {
+        List<Path> roots = new ArrayList<>();
+        Files.walkFileTree(base, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                if (!dir.equals(base) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (matcher.matches(dir) && isRepositoryRoot(dir)) {
+                    roots.add(dir.normalize());
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        roots.sort(null);
+        return roots;
+    }
+
+    private static boolean isRepositoryRoot(Path dir) {
+        return ROOT_MARKERS.stream().anyMatch(marker -> Files.isRegularFile(dir.resolve(marker)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.baskettecase.readmewrangler.cli;
+
+import com.baskettecase.readmewrangler.agent.ReadmePolisherAgent;
+import com.baskettecase.readmewrangler.service.PolishingService;
+import com.baskettecase.readmewrangler.service.SnapshotCache;
+import com.baskettecase.readmewrangler.tool.*;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight CLI entry point that wires the tool classes directly.
+ * Skips Spring Boot, Tomcat, the MCP server, springdoc, actuator and the Embabel platform,
+ * so pre-commit hooks pay only for the polishing work itself.
+ */
+public final class StandaloneCli {
+
+    private static final String LOGBACK_CONFIG = "logback.configurationFile";
+
+    private StandaloneCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs a CLI command and returns its exit code.
+     *
+     * @param args Command-line arguments, starting with the subcommand
+     * @return Process exit code
+     */
+    public static int run(String[] args) {
+        // Must be set before any tool class initializes its logger
+        if (System.getProperty(LOGBACK_CONFIG) == null) {
+            System.setProperty(LOGBACK_CONFIG, "logback-cli.xml");
+        }
+
+        return new CommandLine(new WranglerCli(), new ToolFactory()).execute(args);
+    }
+
+    /**
+     * Checks whether the arguments name a CLI subcommand rather than a server launch.
+     *
+     * @param args Command-line arguments
+     * @return true if the first argument is a WranglerCli subcommand
+     */
+    public static boolean handles(String[] args) {
+        return args.length > 0 && subcommandNames().contains(args[0]);
+    }
+
+    private static Set<String> subcommandNames() {
+        return Arrays.stream(WranglerCli.class.getAnnotation(Command.class).subcommands())
+            .map(c -> c.getAnnotation(Command.class).name())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Creates commands with directly constructed tools instead of Spring beans.
+     */
+    private static final class ToolFactory implements CommandLine.IFactory {
+
+        private final PatchBuilderTool patchBuilder = new PatchBuilderTool();
+        private final MarkdownLinterTool linter = new MarkdownLinterTool();
+        private final BadgeTool badgeTool = new BadgeTool();
+        private final SnapshotCache snapshotCache;
+        private final PolishingService polishingService;
+
+        ToolFactory() {
+            RepoScannerTool repoScanner = new RepoScannerTool();
+            this.snapshotCache = new SnapshotCache(repoScanner, Duration.ofSeconds(30));
+            ReadmePolisherAgent agent = new ReadmePolisherAgent(
+                repoScanner,
+                linter,
+                new TextRewriteTool(),
+                new TocTool(),
+                badgeTool,
+                patchBuilder,
+                new VisualEnhancementTool(),
+                new DocConsolidationTool(),
+                ProseRewriteTool.disabled(),
+                snapshotCache
+            );
+            this.polishingService = new PolishingService(agent);
+        }
+
+        @Override
+        public <K> K create(Class<K> cls) throws Exception {
+            if (cls == WranglerCli.PolishCommand.class) {
+                return cls.cast(new WranglerCli.PolishCommand(polishingService, patchBuilder));
+            }
+            if (cls == WranglerCli.CheckCommand.class) {
+                return cls.cast(new WranglerCli.CheckCommand(polishingService));
+            }
+            if (cls == WranglerCli.WatchCommand.class) {
+                return cls.cast(new WranglerCli.WatchCommand(
+                    polishingService, linter, badgeTool, snapshotCache, patchBuilder));
+            }
+            return CommandLine.defaultFactory().create(cls);
+        }
+    }
+}
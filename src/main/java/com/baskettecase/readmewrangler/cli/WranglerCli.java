@@ -1,9 +1,21 @@
 package com.baskettecase.readmewrangler.cli;
 
+import com.baskettecase.readmewrangler.domain.CheckResult;
 import com.baskettecase.readmewrangler.domain.PatchBundle;
+import com.baskettecase.readmewrangler.domain.PolishingFinding;
+import com.baskettecase.readmewrangler.domain.ReadmeImprovements;
+import com.baskettecase.readmewrangler.service.IncrementalPolisher;
 import com.baskettecase.readmewrangler.service.PolishingConfig;
 import com.baskettecase.readmewrangler.service.PolishingService;
+import com.baskettecase.readmewrangler.service.PolishingStage;
+import com.baskettecase.readmewrangler.service.RepoWatcher;
+import com.baskettecase.readmewrangler.service.SnapshotCache;
+import com.baskettecase.readmewrangler.tool.BadgeTool;
+import com.baskettecase.readmewrangler.tool.MarkdownLinterTool;
+import com.baskettecase.readmewrangler.tool.ModelCallScheduler;
 import com.baskettecase.readmewrangler.tool.PatchBuilderTool;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
@@ -14,11 +26,24 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Command-line interface for README Wrangler.
- * Provides polish and apply commands.
+ * Provides polish, check, watch and apply commands.
  */
 @Component
 @Command(
@@ -26,6 +51,8 @@ import java.util.concurrent.Callable;
     description = "Polish repository documentation",
     subcommands = {
         WranglerCli.PolishCommand.class,
+        WranglerCli.CheckCommand.class,
+        WranglerCli.WatchCommand.class,
         WranglerCli.ApplyCommand.class
     }
 )
@@ -39,19 +66,37 @@ public class WranglerCli implements Callable<Integer> {
 
     /**
      * Polish command - analyzes and generates patches.
+     * Several repositories (paths, globs or a list file) are polished concurrently, with one
+     * result per repository printed as it completes; {@code --ndjson} makes that a JSON line.
      */
     @Command(name = "polish", description = "Polish repository documentation and generate a patch")
     static class PolishCommand implements Callable<Integer> {
 
-        @Parameters(index = "0", description = "Path to repository root", defaultValue = ".")
-        private String repoPath;
+        @Parameters(arity = "0..*", description = "Repository roots or glob patterns", defaultValue = ".")
+        private List<String> repoPaths;
+
+        @Option(names = {"--repos-file"}, description = "File listing repository paths or globs, one per line")
+        private Path reposFile;
 
-        @Option(names = {"--write-patch"}, description = "Output file for patch")
+        @Option(names = {"-j", "--jobs"}, description = "Repositories polished at once (default: CPU count)")
+        private int jobs = Runtime.getRuntime().availableProcessors();
+
+        @Option(names = {"--ndjson"}, description = "Print one JSON record per repository instead of text")
+        private boolean ndjson;
+
+        @Option(names = {"--write-patch"}, description = "Output file for patch (single repository)")
         private String patchFile;
 
+        @Option(names = {"--patch-dir"}, description = "Directory for per-repository patch files")
+        private Path patchDir;
+
         @Option(names = {"--toc-threshold"}, description = "Minimum headings to add TOC", defaultValue = "4")
         private int tocThreshold;
 
+        @Option(names = {"--stages"}, split = ",", converter = StageConverter.class,
+            description = "Comma-separated stages to run (default: all): ${COMPLETION-CANDIDATES}")
+        private Set<PolishingStage> stages;
+
         @Option(names = {"--badges"}, description = "Enable badges", defaultValue = "true")
         private boolean badges;
 
@@ -60,6 +105,7 @@ public class WranglerCli implements Callable<Integer> {
 
         private final PolishingService polishingService;
         private final PatchBuilderTool patchBuilder;
+        private final ObjectMapper objectMapper = new ObjectMapper();
 
         PolishCommand(PolishingService polishingService, PatchBuilderTool patchBuilder) {
             this.polishingService = polishingService;
@@ -68,19 +114,49 @@ public class WranglerCli implements Callable<Integer> {
 
         @Override
         public Integer call() {
+            List<Path> repos;
             try {
-                System.out.println("🔧 Polishing repository at: " + repoPath);
+                repos = RepoPathResolver.resolve(repoPaths, reposFile);
+                if (patchDir != null) {
+                    Files.createDirectories(patchDir);
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Error: " + e.getMessage());
+                return 1;
+            }
 
-                Path repo = Paths.get(repoPath);
-                PolishingConfig config = new PolishingConfig(
-                    tocThreshold,
-                    "atx",
-                    "bash",
-                    badges,
-                    jdkVersion,
-                    300,
-                    false
-                );
+            if (repos.isEmpty()) {
+                System.err.println("❌ Error: no repositories matched");
+                return 1;
+            }
+            if (patchFile != null && repos.size() > 1) {
+                System.err.println("❌ Error: --write-patch needs a single repository; use --patch-dir");
+                return 1;
+            }
+
+            PolishingConfig config = new PolishingConfig(
+                tocThreshold,
+                "atx",
+                "bash",
+                badges,
+                jdkVersion,
+                300,
+                false,
+                stages
+            );
+
+            if (repos.size() == 1 && !ndjson) {
+                return polishOne(repos.get(0), config);
+            }
+            return polishAll(repos, config);
+        }
+
+        /**
+         * Single-repository text mode: prints the full diff.
+         */
+        private int polishOne(Path repo, PolishingConfig config) {
+            try {
+                System.out.println("🔧 Polishing repository at: " + repo);
 
                 PatchBundle bundle = polishingService.polishRepository(repo, config);
 
@@ -88,8 +164,8 @@ public class WranglerCli implements Callable<Integer> {
                     System.out.println("\n✨ " + bundle.getSummaryLine());
                     System.out.println("\n" + bundle.unifiedDiff());
 
-                    if (patchFile != null) {
-                        Path outPath = Paths.get(patchFile);
+                    Path outPath = patchPath(repo, null);
+                    if (outPath != null) {
                         patchBuilder.writePatchToFile(bundle.unifiedDiff(), outPath);
                         System.out.println("\n📄 Patch written to: " + outPath);
                     }
@@ -105,6 +181,366 @@ public class WranglerCli implements Callable<Integer> {
                 return 1;
             }
         }
+
+        /**
+         * Batch mode: polishes on a bounded pool and reports each repository as it completes.
+         */
+        private int polishAll(List<Path> repos, PolishingConfig config) {
+            Map<Path, String> patchNames = patchNames(repos);
+            Semaphore slots = new Semaphore(Math.max(1, jobs));
+            int failed = 0;
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                CompletionService<RepoResult> completions = new ExecutorCompletionService<>(executor);
+                for (Path repo : repos) {
+                    completions.submit(() -> {
+                        slots.acquire();
+                        try {
+                            return ModelCallScheduler.inLane(ModelCallScheduler.Lane.BATCH,
+                                () -> polishForBatch(repo, config, patchNames.get(repo)));
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+
+                // Output is written from this thread only, in completion order
+                for (int done = 0; done < repos.size(); done++) {
+                    RepoResult result = completions.take().get();
+                    if (result.error() != null) {
+                        failed++;
+                    }
+                    report(result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("❌ Error: batch polish interrupted");
+                return 1;
+            } catch (ExecutionException e) {
+                System.err.println("❌ Error: " + e.getCause().getMessage());
+                return 1;
+            }
+
+            if (!ndjson) {
+                System.out.printf("%n📊 Polished %d repositories, %d failed%n", repos.size() - failed, failed);
+            }
+            return failed == 0 ? 0 : 1;
+        }
+
+        private RepoResult polishForBatch(Path repo, PolishingConfig config, String patchName) {
+            long start = System.nanoTime();
+            try {
+                PatchBundle bundle = polishingService.polishRepository(repo, config);
+                long polished = System.nanoTime();
+
+                Path outPath = bundle.hasChanges() ? patchPath(repo, patchName) : null;
+                if (outPath != null) {
+                    patchBuilder.writePatchToFile(bundle.unifiedDiff(), outPath);
+                }
+                return new RepoResult(repo, bundle, outPath, null, polished - start, System.nanoTime() - start);
+            } catch (IOException | RuntimeException e) {
+                String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                long elapsed = System.nanoTime() - start;
+                return new RepoResult(repo, null, null, message, elapsed, elapsed);
+            }
+        }
+
+        private Path patchPath(Path repo, String patchName) {
+            if (patchFile != null) {
+                return Paths.get(patchFile);
+            }
+            if (patchDir != null) {
+                return patchDir.resolve((patchName != null ? patchName : repoName(repo)) + ".diff");
+            }
+            return null;
+        }
+
+        /**
+         * Names patch files after the repository directory, suffixed when names collide.
+         */
+        private Map<Path, String> patchNames(List<Path> repos) {
+            Map<String, Integer> seen = new HashMap<>();
+            Map<Path, String> names = new HashMap<>();
+            for (Path repo : repos) {
+                String name = repoName(repo);
+                int count = seen.merge(name, 1, Integer::sum);
+                names.put(repo, count == 1 ? name : name + "-" + count);
+            }
+            return names;
+        }
+
+        private static String repoName(Path repo) {
+            return repo.getFileName() != null ? repo.getFileName().toString() : "repo";
+        }
+
+        private void report(RepoResult result) {
+            if (ndjson) {
+                try {
+                    System.out.println(objectMapper.writeValueAsString(result.toRecord()));
+                } catch (JsonProcessingException e) {
+                    System.err.println("❌ Error: " + e.getMessage());
+                }
+                return;
+            }
+
+            if (result.error() != null) {
+                System.out.println("❌ " + result.repo() + ": " + result.error());
+            } else if (result.bundle().hasChanges()) {
+                System.out.println("✨ " + result.repo() + ": " + result.bundle().getSummaryLine()
+                    + (result.patchPath() != null ? " → " + result.patchPath() : ""));
+            } else {
+                System.out.println("✅ " + result.repo() + ": no changes needed");
+            }
+        }
+    }
+
+    /**
+     * Outcome of polishing one repository in batch mode.
+     */
+    record RepoResult(Path repo, PatchBundle bundle, Path patchPath, String error, long polishNanos, long totalNanos) {
+
+        /**
+         * Builds the NDJSON record: status, summary, findings, patch path and timings.
+         */
+        Map<String, Object> toRecord() {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("repo", repo.toString());
+            fields.put("status", error != null ? "error" : "ok");
+
+            if (error != null) {
+                fields.put("error", error);
+            } else {
+                ReadmeImprovements summary = bundle.summary();
+                Map<String, Object> improvements = new LinkedHashMap<>();
+                improvements.put("line", bundle.getSummaryLine());
+                improvements.put("hasChanges", bundle.hasChanges());
+                improvements.put("addedTestSection", summary.addedTestSection());
+                improvements.put("fixedCodeBlocks", summary.fixedCodeBlocks());
+                improvements.put("normalizedHeadings", summary.normalizedHeadings());
+                improvements.put("addedToc", summary.addedToc());
+                improvements.put("enhancedVisuals", summary.enhancedVisuals());
+                improvements.put("consolidatedFiles", bundle.filesToDelete().size());
+                fields.put("summary", improvements);
+
+                fields.put("findings", summary.notes().stream().map(RepoResult::finding).toList());
+                fields.put("patchPath", patchPath != null ? patchPath.toString() : null);
+            }
+
+            Map<String, Object> timings = new LinkedHashMap<>();
+            timings.put("polishMs", TimeUnit.NANOSECONDS.toMillis(polishNanos));
+            timings.put("totalMs", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+            fields.put("timings", timings);
+            return fields;
+        }
+
+        private static Map<String, Object> finding(PolishingFinding f) {
+            Map<String, Object> finding = new LinkedHashMap<>();
+            finding.put("id", f.id());
+            finding.put("severity", f.severity().name());
+            finding.put("message", f.message());
+            finding.put("file", f.file() != null ? f.file().toString() : null);
+            finding.put("lineStart", f.lineStart());
+            finding.put("lineEnd", f.lineEnd());
+            return finding;
+        }
+    }
+
+    /**
+     * Check command - fails when documentation is not yet polished, for CI gating.
+     * Exit codes: 0 polished, 1 polishing would make changes, 2 error.
+     */
+    @Command(name = "check", description = "Exit nonzero if polishing would change the documentation")
+    static class CheckCommand implements Callable<Integer> {
+
+        @Parameters(index = "0", description = "Path to repository root", defaultValue = ".")
+        private String repoPath;
+
+        @Option(names = {"--all"}, description = "Report every needed change instead of stopping at the first")
+        private boolean all;
+
+        @Option(names = {"--toc-threshold"}, description = "Minimum headings to add TOC", defaultValue = "4")
+        private int tocThreshold;
+
+        @Option(names = {"--stages"}, split = ",", converter = StageConverter.class,
+            description = "Comma-separated stages to run (default: all): ${COMPLETION-CANDIDATES}")
+        private Set<PolishingStage> stages;
+
+        @Option(names = {"--badges"}, description = "Enable badges", defaultValue = "true")
+        private boolean badges;
+
+        private final PolishingService polishingService;
+
+        CheckCommand(PolishingService polishingService) {
+            this.polishingService = polishingService;
+        }
+
+        @Override
+        public Integer call() {
+            try {
+                PolishingConfig config = new PolishingConfig(
+                    tocThreshold,
+                    "atx",
+                    "bash",
+                    badges,
+                    "21",
+                    300,
+                    false,
+                    stages
+                );
+
+                CheckResult result = polishingService.checkRepository(Paths.get(repoPath), config, !all);
+
+                if (result.polished()) {
+                    System.out.println("✅ Documentation is polished");
+                    return 0;
+                }
+
+                System.out.println("❌ Documentation needs polishing:");
+                for (PolishingFinding reason : result.reasons()) {
+                    String location = reason.file() != null && reason.lineStart() > 0
+                        ? reason.file().getFileName() + ":" + reason.lineStart() + " "
+                        : "";
+                    System.out.println("   " + location + reason.message() + " [" + reason.id() + "]");
+                }
+                return 1;
+
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("❌ Error: " + e.getMessage());
+                return 2;
+            }
+        }
+    }
+
+    /**
+     * Watch command - re-polishes documentation as it is edited.
+     * Each save is debounced, then only the changed documents are re-linted; the README is
+     * re-polished in memory, and build or license changes refresh its badges and test section.
+     */
+    @Command(name = "watch", description = "Watch documentation and print updated findings on every save")
+    static class WatchCommand implements Callable<Integer> {
+
+        @Parameters(index = "0", description = "Path to repository root", defaultValue = ".")
+        private String repoPath;
+
+        @Option(names = {"--debounce"}, description = "Quiet period in milliseconds before re-polishing", defaultValue = "100")
+        private long debounceMillis;
+
+        @Option(names = {"--write-patch"}, description = "Keep the latest README patch in this file")
+        private String patchFile;
+
+        @Option(names = {"--toc-threshold"}, description = "Minimum headings to add TOC", defaultValue = "4")
+        private int tocThreshold;
+
+        @Option(names = {"--stages"}, split = ",", converter = StageConverter.class,
+            description = "Comma-separated stages to run (default: all): ${COMPLETION-CANDIDATES}")
+        private Set<PolishingStage> stages;
+
+        @Option(names = {"--badges"}, description = "Enable badges", defaultValue = "true")
+        private boolean badges;
+
+        @Option(names = {"--jdk"}, description = "JDK version for badge", defaultValue = "21")
+        private String jdkVersion;
+
+        private final PolishingService polishingService;
+        private final MarkdownLinterTool linter;
+        private final BadgeTool badgeTool;
+        private final SnapshotCache snapshotCache;
+        private final PatchBuilderTool patchBuilder;
+
+        WatchCommand(
+            PolishingService polishingService,
+            MarkdownLinterTool linter,
+            BadgeTool badgeTool,
+            SnapshotCache snapshotCache,
+            PatchBuilderTool patchBuilder
+        ) {
+            this.polishingService = polishingService;
+            this.linter = linter;
+            this.badgeTool = badgeTool;
+            this.snapshotCache = snapshotCache;
+            this.patchBuilder = patchBuilder;
+        }
+
+        @Override
+        public Integer call() {
+            Path repo = Paths.get(repoPath).toAbsolutePath().normalize();
+            PolishingConfig config = new PolishingConfig(
+                tocThreshold,
+                "atx",
+                "bash",
+                badges,
+                jdkVersion,
+                300,
+                false,
+                stages
+            );
+            IncrementalPolisher polisher = new IncrementalPolisher(
+                repo, config, polishingService, linter, badgeTool, snapshotCache);
+
+            try (RepoWatcher watcher = new RepoWatcher(repo, Duration.ofMillis(debounceMillis))) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(watcher)));
+
+                System.out.println("👀 Watching " + repo + " (Ctrl-C to stop)");
+                print(repo, polisher.initial());
+
+                watcher.run(changed -> {
+                    try {
+                        print(repo, polisher.apply(changed));
+                    } catch (IOException e) {
+                        System.err.println("❌ Error: " + e.getMessage());
+                    }
+                });
+                return 0;
+
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("❌ Error: " + e.getMessage());
+                return 1;
+            }
+        }
+
+        private void print(Path repo, IncrementalPolisher.Update update) throws IOException {
+            for (IncrementalPolisher.FileUpdate file : update.files()) {
+                Path relative = repo.relativize(file.file());
+                if (file.deleted()) {
+                    System.out.println("🗑️  " + relative + ": removed");
+                    continue;
+                }
+
+                if (file.bundle() != null) {
+                    System.out.println("✨ " + relative + ": " + file.bundle().getSummaryLine());
+                    if (patchFile != null) {
+                        patchBuilder.writePatchToFile(file.bundle().unifiedDiff(), Paths.get(patchFile));
+                    }
+                } else {
+                    System.out.println("🔍 " + relative + ": " + file.findings().size() + " findings");
+                }
+                for (PolishingFinding finding : file.findings()) {
+                    System.out.printf("   %-7s L%d %s%n", finding.severity(), finding.lineStart(), finding.message());
+                }
+            }
+            System.out.printf("⏱  %d ms%s%n",
+                TimeUnit.NANOSECONDS.toMillis(update.elapsedNanos()),
+                update.contextChanged() ? " (build system and license re-detected)" : "");
+        }
+
+        private static void closeQuietly(RepoWatcher watcher) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                // Shutting down
+            }
+        }
+    }
+
+    /**
+     * Accepts stage names in any case, with dashes or underscores (e.g. "test-section").
+     */
+    static class StageConverter implements CommandLine.ITypeConverter<PolishingStage> {
+
+        @Override
+        public PolishingStage convert(String value) {
+            return PolishingStage.fromName(value);
+        }
     }
 
     /**
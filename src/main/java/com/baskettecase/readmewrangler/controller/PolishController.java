@@ -1,18 +1,28 @@
 package com.baskettecase.readmewrangler.controller;
 
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.CheckResult;
+import com.baskettecase.readmewrangler.domain.Deadline;
 import com.baskettecase.readmewrangler.domain.PatchBundle;
+import com.baskettecase.readmewrangler.service.ArchivePolishingService;
+import com.baskettecase.readmewrangler.service.DeadlinePolicy;
 import com.baskettecase.readmewrangler.service.PolishingConfig;
 import com.baskettecase.readmewrangler.service.PolishingService;
+import com.baskettecase.readmewrangler.service.PolishingStage;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool.ArchiveLimitExceededException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * REST controller for documentation polishing endpoints.
@@ -25,13 +35,22 @@ public class PolishController {
     private static final Logger log = LoggerFactory.getLogger(PolishController.class);
 
     private final PolishingService polishingService;
+    private final ArchivePolishingService archivePolishingService;
+    private final DeadlinePolicy deadlinePolicy;
 
-    public PolishController(PolishingService polishingService) {
+    public PolishController(
+        PolishingService polishingService,
+        ArchivePolishingService archivePolishingService,
+        DeadlinePolicy deadlinePolicy
+    ) {
         this.polishingService = polishingService;
+        this.archivePolishingService = archivePolishingService;
+        this.deadlinePolicy = deadlinePolicy;
     }
 
     /**
      * Polishes a repository's documentation and returns a patch.
+     * Runs under the request's timeout; if it expires, responds 504 with the partial findings.
      *
      * @param request Polish request with repository path
      * @return PatchBundle with proposed changes
@@ -44,10 +63,11 @@ public class PolishController {
 
             Path repoPath = Paths.get(request.repoPath());
             PolishingConfig config = request.config() != null ? request.config() : PolishingConfig.defaults();
+            Deadline deadline = deadlinePolicy.startMillis(request.timeoutMs());
 
-            PatchBundle bundle = polishingService.polishRepository(repoPath, config);
+            PatchBundle bundle = polishingService.polishRepository(repoPath, config, deadline);
 
-            return ResponseEntity.ok(bundle);
+            return respond(bundle);
 
         } catch (IOException e) {
             log.error("Failed to polish repository", e);
@@ -58,6 +78,117 @@ public class PolishController {
         }
     }
 
+    /**
+     * Checks whether a repository's documentation is already polished, for CI gating.
+     * Returns as soon as the first needed change is found unless failFast is false.
+     *
+     * @param request Check request with repository path
+     * @return CheckResult with the polished flag and the changes polishing would make
+     */
+    @PostMapping("/check")
+    @Operation(summary = "Check repository documentation", description = "Reports whether polishing would change anything, without generating polished text or a patch")
+    public ResponseEntity<CheckResult> check(@RequestBody CheckRequest request) {
+        try {
+            log.info("Received check request for: {}", request.repoPath());
+
+            Path repoPath = Paths.get(request.repoPath());
+            PolishingConfig config = request.config() != null ? request.config() : PolishingConfig.defaults();
+            boolean failFast = request.failFast() == null || request.failFast();
+
+            return ResponseEntity.ok(polishingService.checkRepository(repoPath, config, failFast));
+
+        } catch (IOException e) {
+            log.error("Failed to check repository", e);
+            return ResponseEntity.internalServerError().build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Polishes markdown content supplied in the request body, without filesystem access.
+     * Runs under the request's timeout; if it expires, responds 504 with the partial findings.
+     *
+     * @param request Content polish request with markdown text and optional hints
+     * @return PatchBundle with proposed changes
+     */
+    @PostMapping("/polish/content")
+    @Operation(summary = "Polish markdown content", description = "Lints and improves markdown text in memory, returning a diff and findings without accessing the filesystem")
+    public ResponseEntity<PatchBundle> polishContent(@RequestBody PolishContentRequest request) {
+        try {
+            log.debug("Received content polish request for: {}", request.fileName());
+
+            PolishingConfig config = request.config() != null ? request.config() : PolishingConfig.defaults();
+
+            PatchBundle bundle = polishingService.polishContent(
+                request.content(),
+                request.fileName(),
+                request.buildSystem(),
+                request.license(),
+                config,
+                deadlinePolicy.startMillis(request.timeoutMs())
+            );
+
+            return respond(bundle);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid request", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Polishes a repository uploaded as a tar.gz or zip archive streamed in the request body.
+     * Only documentation and build files are extracted, into memory.
+     * Extraction and polishing run under the request's timeout; if it expires, responds 504
+     * with the partial findings.
+     *
+     * @param archive Archive bytes streamed from the request body
+     * @param repoName Repository name used for the extracted root
+     * @param stages Pipeline stages to run (all when omitted)
+     * @param timeoutMs Request timeout in milliseconds (server default when omitted)
+     * @return PatchBundle with proposed changes
+     */
+    @PostMapping("/polish/archive")
+    @Operation(summary = "Polish uploaded repository archive", description = "Extracts markdown, build and license files from a streamed tar.gz or zip archive into memory and polishes them")
+    public ResponseEntity<PatchBundle> polishArchive(
+        InputStream archive,
+        @RequestParam(defaultValue = "repo") String repoName,
+        @RequestParam(required = false) List<String> stages,
+        @RequestParam(required = false) Long timeoutMs
+    ) {
+        try {
+            log.info("Received archive polish request for: {}", repoName);
+
+            PolishingConfig config = PolishingConfig.defaults().withStages(PolishingStage.parse(stages));
+            PatchBundle bundle = archivePolishingService.polishArchive(
+                archive, repoName, config, deadlinePolicy.startMillis(timeoutMs));
+
+            return respond(bundle);
+
+        } catch (ArchiveLimitExceededException e) {
+            log.warn("Archive rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (IOException e) {
+            log.error("Failed to polish archive", e);
+            return ResponseEntity.internalServerError().build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid archive", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Maps a bundle to a response: 200 when complete, 504 with partial findings when cut short.
+     */
+    private ResponseEntity<PatchBundle> respond(PatchBundle bundle) {
+        if (bundle.isPartial()) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(bundle);
+        }
+        return ResponseEntity.ok(bundle);
+    }
+
     /**
      * Health check endpoint.
      */
@@ -72,7 +203,31 @@ public class PolishController {
      */
     public record PolishRequest(
         String repoPath,
-        PolishingConfig config
+        PolishingConfig config,
+        Long timeoutMs
+    ) {
+    }
+
+    /**
+     * Request model for check endpoint.
+     */
+    public record CheckRequest(
+        String repoPath,
+        PolishingConfig config,
+        Boolean failFast
+    ) {
+    }
+
+    /**
+     * Request model for content polish endpoint.
+     */
+    public record PolishContentRequest(
+        String content,
+        String fileName,
+        BuildSystem buildSystem,
+        String license,
+        PolishingConfig config,
+        Long timeoutMs
     ) {
     }
 
@@ -0,0 +1,29 @@
+package com.baskettecase.readmewrangler.domain;
+
+import java.util.List;
+
+/**
+ * Outcome of a check-only run: whether documentation is already polished, and why not.
+ * Produced without building polished text or a diff, for CI gating.
+ *
+ * @param polished Whether polishing would propose no improvements
+ * @param reasons Changes polishing would make (only the first one when checking fail-fast)
+ */
+public record CheckResult(
+    boolean polished,
+    List<PolishingFinding> reasons
+) {
+    /**
+     * Creates a check result with validation.
+     */
+    public CheckResult {
+        reasons = reasons == null ? List.of() : List.copyOf(reasons);
+    }
+
+    /**
+     * Creates a result from the reasons found; no reasons means the docs are polished.
+     */
+    public static CheckResult of(List<PolishingFinding> reasons) {
+        return new CheckResult(reasons == null || reasons.isEmpty(), reasons);
+    }
+}
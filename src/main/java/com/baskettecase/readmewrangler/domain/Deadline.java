@@ -0,0 +1,111 @@
+package com.baskettecase.readmewrangler.domain;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Time budget for one polishing request, checked cooperatively by the pipeline.
+ * Long-running loops call {@link #check(String)} at safe points so a request whose caller
+ * timed out or went away stops scanning, linting and diffing instead of holding its worker.
+ * A deadline also trips when it is cancelled explicitly or its thread is interrupted.
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+    private volatile boolean cancelled;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * A deadline that never expires on its own but can still be cancelled.
+     */
+    public static Deadline none() {
+        return new Deadline(0, false);
+    }
+
+    /**
+     * A deadline that expires once the timeout has elapsed from now.
+     * A null, zero or negative timeout means no time limit.
+     */
+    public static Deadline after(Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            return none();
+        }
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Cancels the request; the next check throws.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the request should stop: cancelled, interrupted or out of time.
+     */
+    public boolean isExpired() {
+        return cancelled
+            || Thread.currentThread().isInterrupted()
+            || bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Time left before the deadline, or null when there is no time limit.
+     */
+    public Duration remaining() {
+        if (!bounded) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * Throws if the request should stop.
+     *
+     * @param stage Pipeline stage performing the check, reported in the exception
+     * @throws DeadlineExceededException if the deadline has expired or was cancelled
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(stage, List.of());
+        }
+    }
+
+    /**
+     * Raised at a cancellation check once the request's deadline has passed.
+     * Carries any findings the interrupted stage had already produced.
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+
+        private final String stage;
+        private final List<PolishingFinding> partialFindings;
+
+        public DeadlineExceededException(String stage, List<PolishingFinding> partialFindings) {
+            super("Deadline exceeded during " + stage);
+            this.stage = stage;
+            this.partialFindings = List.copyOf(partialFindings);
+        }
+
+        public String stage() {
+            return stage;
+        }
+
+        public List<PolishingFinding> partialFindings() {
+            return partialFindings;
+        }
+
+        /**
+         * Returns a copy of this exception carrying the findings gathered before it was raised.
+         */
+        public DeadlineExceededException withPartialFindings(List<PolishingFinding> findings) {
+            DeadlineExceededException copy = new DeadlineExceededException(stage, findings);
+            copy.initCause(this);
+            return copy;
+        }
+    }
+}
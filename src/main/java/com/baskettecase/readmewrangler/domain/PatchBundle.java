@@ -1,6 +1,7 @@
 package com.baskettecase.readmewrangler.domain;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -44,6 +45,26 @@ public record PatchBundle(
         this(unifiedDiff, summary, "", List.of());
     }
 
+    /**
+     * Creates the bundle returned when the deadline expires mid-pipeline: the findings
+     * gathered so far plus a deadline finding, and no changes.
+     *
+     * @param file File being polished when the deadline expired
+     * @param stage Pipeline stage that was cut short
+     * @param findings Findings gathered before the deadline
+     */
+    public static PatchBundle partial(Path file, String stage, List<PolishingFinding> findings) {
+        List<PolishingFinding> notes = new ArrayList<>(findings);
+        notes.add(PolishingFinding.forLine(
+            "deadline-exceeded",
+            "Deadline exceeded during " + stage + " stage; findings are partial and no patch was built",
+            Severity.WARN,
+            file,
+            0
+        ));
+        return new PatchBundle("", new ReadmeImprovements(false, false, false, false, false, notes));
+    }
+
     /**
      * Checks if the patch contains any changes.
      */
@@ -51,6 +72,20 @@ public record PatchBundle(
         return !unifiedDiff.isBlank() || !consolidationPatch.isBlank() || !filesToDelete.isEmpty();
     }
 
+    /**
+     * Checks if polishing stopped at its deadline, leaving partial findings and no patch.
+     */
+    public boolean isPartial() {
+        return summary.notes().stream().anyMatch(f -> f.id().equals("deadline-exceeded"));
+    }
+
+    /**
+     * Checks if the maxChangesPerFile guardrail cut the rewrite short or suppressed the patch.
+     */
+    public boolean isTruncated() {
+        return summary.notes().stream().anyMatch(f -> f.id().equals("max-changes-exceeded"));
+    }
+
     /**
      * Checks if this bundle includes consolidation changes.
      */
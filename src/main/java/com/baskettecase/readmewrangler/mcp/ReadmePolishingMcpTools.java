@@ -1,24 +1,46 @@
 package com.baskettecase.readmewrangler.mcp;
 
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.Deadline;
 import com.baskettecase.readmewrangler.domain.PatchBundle;
 import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.service.DeadlinePolicy;
 import com.baskettecase.readmewrangler.service.PolishingConfig;
+import com.baskettecase.readmewrangler.service.PolishingStage;
 import com.baskettecase.readmewrangler.service.PolishingService;
+import com.baskettecase.readmewrangler.service.SnapshotCache;
+import com.baskettecase.readmewrangler.tool.ModelCallScheduler;
 import com.baskettecase.readmewrangler.tool.PatchBuilderTool;
 import com.baskettecase.readmewrangler.tool.RepoScannerTool;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpProgressToken;
+import org.springaicommunity.mcp.annotation.McpResource;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * MCP Tools for README polishing operations.
@@ -32,18 +54,30 @@ public class ReadmePolishingMcpTools {
     private final PolishingService polishingService;
     private final RepoScannerTool repoScanner;
     private final PatchBuilderTool patchBuilder;
+    private final SnapshotCache snapshotCache;
+    private final ObjectMapper objectMapper;
+    private final DeadlinePolicy deadlinePolicy;
+    private final int maxBatchParallelism;
 
     // Store patches awaiting approval (in-memory for now)
-    private final Map<String, PatchBundle> pendingPatches = new ConcurrentHashMap<>();
+    private final Map<String, PendingPatch> pendingPatches = new ConcurrentHashMap<>();
 
     public ReadmePolishingMcpTools(
         PolishingService polishingService,
         RepoScannerTool repoScanner,
-        PatchBuilderTool patchBuilder
+        PatchBuilderTool patchBuilder,
+        SnapshotCache snapshotCache,
+        ObjectMapper objectMapper,
+        DeadlinePolicy deadlinePolicy,
+        @Value("${wrangler.batch.maxParallelism:4}") int maxBatchParallelism
     ) {
         this.polishingService = polishingService;
         this.repoScanner = repoScanner;
         this.patchBuilder = patchBuilder;
+        this.snapshotCache = snapshotCache;
+        this.objectMapper = objectMapper;
+        this.deadlinePolicy = deadlinePolicy;
+        this.maxBatchParallelism = Math.max(1, maxBatchParallelism);
     }
 
     /**
@@ -64,16 +98,10 @@ public class ReadmePolishingMcpTools {
             log.info("MCP Tool: Scanning repository at {}", repoPath);
 
             Path path = Paths.get(repoPath);
-            RepoSnapshot snapshot = repoScanner.scanRepository(path);
+            RepoSnapshot snapshot = snapshotCache.get(path);
 
-            Map<String, Object> result = new HashMap<>();
+            Map<String, Object> result = describeSnapshot(snapshot);
             result.put("repoPath", repoPath);
-            result.put("buildSystem", snapshot.build().name());
-            result.put("markdownFilesCount", snapshot.markdownFiles().size());
-            result.put("scriptsCount", snapshot.scripts().size());
-            result.put("markdownFiles", snapshot.markdownFiles().stream()
-                .map(Path::toString)
-                .toList());
 
             return result;
 
@@ -88,6 +116,8 @@ public class ReadmePolishingMcpTools {
      *
      * @param repoPath Absolute path to the repository
      * @param patchId Unique identifier for this patch
+     * @param stages Pipeline stages to run (all when omitted)
+     * @param timeoutSeconds Time budget for the call (configured default when omitted)
      * @return Patch bundle with proposed changes
      */
     @McpTool(
@@ -98,25 +128,31 @@ public class ReadmePolishingMcpTools {
         @McpToolParam(description = "Absolute path to the repository root", required = true)
         String repoPath,
         @McpToolParam(description = "Unique patch identifier for approval workflow", required = false)
-        String patchId
+        String patchId,
+        @McpToolParam(description = "Stages to run, e.g. [\"toc\", \"lint\"] (default: all)", required = false)
+        List<String> stages,
+        @McpToolParam(description = "Time budget in seconds; partial findings are returned if it runs out", required = false)
+        Integer timeoutSeconds
     ) {
         try {
             log.info("MCP Tool: Polishing README at {} with patchId={}", repoPath, patchId);
 
             Path path = Paths.get(repoPath);
-            PolishingConfig config = PolishingConfig.defaults();
+            PolishingConfig config = PolishingConfig.defaults().withStages(PolishingStage.parse(stages));
 
-            PatchBundle bundle = polishingService.polishRepository(path, config);
+            PatchBundle bundle = polishingService.polishRepository(path, config, startDeadline(timeoutSeconds));
 
             // Generate patch ID if not provided
             String actualPatchId = patchId != null ? patchId : generatePatchId(repoPath);
 
             // Store patch for later approval
-            pendingPatches.put(actualPatchId, bundle);
+            pendingPatches.put(actualPatchId, new PendingPatch(path, bundle));
 
             Map<String, Object> result = new HashMap<>();
             result.put("patchId", actualPatchId);
             result.put("hasChanges", bundle.hasChanges());
+            result.put("partial", bundle.isPartial());
+            result.put("truncated", bundle.isTruncated());
             result.put("summary", bundle.getSummaryLine());
             result.put("addedTestSection", bundle.summary().addedTestSection());
             result.put("fixedCodeBlocks", bundle.summary().fixedCodeBlocks());
@@ -126,9 +162,7 @@ public class ReadmePolishingMcpTools {
             result.put("diff", bundle.unifiedDiff());
             result.put("hasConsolidation", bundle.hasConsolidation());
             result.put("consolidationPatch", bundle.consolidationPatch());
-            result.put("filesToDelete", bundle.filesToDelete().stream()
-                .map(p -> p.getFileName().toString())
-                .toList());
+            result.put("filesToDelete", relativePaths(path, bundle.filesToDelete()));
 
             log.info("Generated patch {}: {}", actualPatchId, bundle.getSummaryLine());
 
@@ -137,6 +171,231 @@ public class ReadmePolishingMcpTools {
         } catch (IOException e) {
             log.error("Failed to polish README", e);
             return Map.of("error", "Failed to polish README: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid polish request", e);
+            return Map.of("error", "Invalid request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Polishes markdown content passed inline, without filesystem access.
+     *
+     * @param content Markdown text
+     * @param fileName File name for the diff header
+     * @param buildSystem Build system hint
+     * @param license License hint
+     * @param stages Pipeline stages to run (all when omitted)
+     * @param timeoutSeconds Time budget for the call (configured default when omitted)
+     * @return Diff and findings
+     */
+    @McpTool(
+        name = "polish_content",
+        description = "Polishes markdown text passed inline (no repository checkout needed) and returns a diff and findings"
+    )
+    public Map<String, Object> polishContent(
+        @McpToolParam(description = "Markdown content to polish", required = true)
+        String content,
+        @McpToolParam(description = "File name for the diff header (default README.md)", required = false)
+        String fileName,
+        @McpToolParam(description = "Build system hint: MAVEN, GRADLE, MAKEFILE or OTHER", required = false)
+        String buildSystem,
+        @McpToolParam(description = "License hint for the badge, e.g. MIT or Apache-2.0", required = false)
+        String license,
+        @McpToolParam(description = "Stages to run, e.g. [\"toc\", \"lint\"] (default: all)", required = false)
+        List<String> stages,
+        @McpToolParam(description = "Time budget in seconds; partial findings are returned if it runs out", required = false)
+        Integer timeoutSeconds
+    ) {
+        try {
+            log.debug("MCP Tool: Polishing inline content for {}", fileName);
+
+            BuildSystem build = buildSystem != null && !buildSystem.isBlank()
+                ? BuildSystem.valueOf(buildSystem.trim().toUpperCase())
+                : null;
+
+            PatchBundle bundle = polishingService.polishContent(
+                content, fileName, build, license, PolishingConfig.defaults().withStages(PolishingStage.parse(stages)),
+                startDeadline(timeoutSeconds));
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("hasChanges", bundle.hasChanges());
+            result.put("partial", bundle.isPartial());
+            result.put("truncated", bundle.isTruncated());
+            result.put("summary", bundle.getSummaryLine());
+            result.put("diff", bundle.unifiedDiff());
+            result.put("findings", bundle.summary().notes().stream()
+                .map(f -> Map.of(
+                    "id", f.id(),
+                    "message", f.message(),
+                    "severity", f.severity().name(),
+                    "line", f.lineStart()))
+                .toList());
+
+            return result;
+
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid content polish request", e);
+            return Map.of("error", "Invalid request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Polishes many repositories concurrently in a single call.
+     * Sends a progress and logging notification as each repository completes.
+     *
+     * @param exchange MCP server exchange used for notifications
+     * @param progressToken Client progress token (null if the client did not request progress)
+     * @param repoPaths Absolute paths to the repositories
+     * @param parallelism Requested number of concurrent polishes (capped by configuration)
+     * @param stages Pipeline stages to run (all when omitted)
+     * @param timeoutSeconds Time budget for the whole batch (configured default when omitted)
+     * @return Compact per-repository results with patch ids
+     */
+    @McpTool(
+        name = "polish_repositories",
+        description = "Polishes many repositories concurrently and returns a patch id per repository for review"
+    )
+    public Map<String, Object> polishRepositories(
+        McpSyncServerExchange exchange,
+        @McpProgressToken String progressToken,
+        @McpToolParam(description = "Absolute paths to the repository roots", required = true)
+        List<String> repoPaths,
+        @McpToolParam(description = "Maximum repositories polished at once", required = false)
+        Integer parallelism,
+        @McpToolParam(description = "Stages to run, e.g. [\"toc\", \"lint\"] (default: all)", required = false)
+        List<String> stages,
+        @McpToolParam(description = "Time budget in seconds for the whole batch", required = false)
+        Integer timeoutSeconds
+    ) {
+        if (repoPaths == null || repoPaths.isEmpty()) {
+            return Map.of("error", "No repository paths provided");
+        }
+
+        PolishingConfig config;
+        try {
+            config = PolishingConfig.defaults().withStages(PolishingStage.parse(stages));
+        } catch (IllegalArgumentException e) {
+            return Map.of("error", "Invalid request: " + e.getMessage());
+        }
+
+        int permits = parallelism != null && parallelism > 0
+            ? Math.min(parallelism, maxBatchParallelism)
+            : maxBatchParallelism;
+        log.info("MCP Tool: Polishing {} repositories with parallelism {}", repoPaths.size(), permits);
+
+        // One deadline for the batch: repositories still queued when it expires return at once
+        Deadline deadline = startDeadline(timeoutSeconds);
+        Semaphore slots = new Semaphore(permits);
+        List<Map<String, Object>> results = new ArrayList<>();
+        int failed = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Map<String, Object>> completions = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < repoPaths.size(); i++) {
+                String repoPath = repoPaths.get(i);
+                String patchId = generatePatchId(repoPath) + "-" + i;
+                completions.submit(() -> {
+                    slots.acquire();
+                    try {
+                        // Batch polishes yield model capacity to interactive tool calls
+                        return ModelCallScheduler.inLane(ModelCallScheduler.Lane.BATCH,
+                            () -> polishForBatch(repoPath, patchId, config, deadline));
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+
+            // Notifications are sent from this thread only, in completion order
+            for (int done = 1; done <= repoPaths.size(); done++) {
+                Map<String, Object> result = completions.take().get();
+                results.add(result);
+                if (result.containsKey("error")) {
+                    failed++;
+                }
+                notifyProgress(exchange, progressToken, done, repoPaths.size(), result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of("error", "Batch polish interrupted", "results", results);
+        } catch (ExecutionException e) {
+            log.error("Batch polish failed", e);
+            return Map.of("error", "Batch polish failed: " + e.getCause().getMessage(), "results", results);
+        }
+
+        log.info("Batch polish complete: {} repositories, {} failed", results.size(), failed);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("count", results.size());
+        summary.put("failed", failed);
+        summary.put("results", results);
+        return summary;
+    }
+
+    /**
+     * Polishes one repository of a batch and stores its patch for approval.
+     */
+    private Map<String, Object> polishForBatch(
+        String repoPath,
+        String patchId,
+        PolishingConfig config,
+        Deadline deadline
+    ) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("repoPath", repoPath);
+        try {
+            Path path = Paths.get(repoPath);
+            PatchBundle bundle = polishingService.polishRepository(path, config, deadline);
+            pendingPatches.put(patchId, new PendingPatch(path, bundle));
+            result.put("patchId", patchId);
+            result.put("hasChanges", bundle.hasChanges());
+            result.put("partial", bundle.isPartial());
+            result.put("truncated", bundle.isTruncated());
+            result.put("summary", bundle.getSummaryLine());
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to polish {}", repoPath, e);
+            result.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        return result;
+    }
+
+    /**
+     * Starts the deadline for a tool call from its optional timeout in seconds.
+     */
+    private Deadline startDeadline(Integer timeoutSeconds) {
+        return deadlinePolicy.start(timeoutSeconds != null ? Duration.ofSeconds(timeoutSeconds) : null);
+    }
+
+    /**
+     * Sends progress and logging notifications for a completed batch entry.
+     */
+    private void notifyProgress(
+        McpSyncServerExchange exchange,
+        String progressToken,
+        int done,
+        int total,
+        Map<String, Object> result
+    ) {
+        if (exchange == null) {
+            return;
+        }
+
+        String message = result.containsKey("error")
+            ? String.format("Failed %s: %s", result.get("repoPath"), result.get("error"))
+            : String.format("Polished %s: %s", result.get("repoPath"), result.get("summary"));
+
+        try {
+            if (progressToken != null) {
+                exchange.progressNotification(
+                    new McpSchema.ProgressNotification(progressToken, done, (double) total, message));
+            }
+            exchange.loggingNotification(new McpSchema.LoggingMessageNotification(
+                result.containsKey("error") ? McpSchema.LoggingLevel.WARNING : McpSchema.LoggingLevel.INFO,
+                "readme-wrangler",
+                message));
+        } catch (RuntimeException e) {
+            // A client that stopped listening should not abort the batch
+            log.debug("Failed to send batch notification: {}", e.getMessage());
         }
     }
 
@@ -161,10 +420,11 @@ public class ReadmePolishingMcpTools {
         try {
             log.info("MCP Tool: Approving patch {} to {}", patchId, outputPath);
 
-            PatchBundle bundle = pendingPatches.get(patchId);
-            if (bundle == null) {
+            PendingPatch pending = pendingPatches.get(patchId);
+            if (pending == null) {
                 return Map.of("error", "Patch not found: " + patchId);
             }
+            PatchBundle bundle = pending.bundle();
 
             if (!bundle.hasChanges()) {
                 return Map.of("error", "No changes in patch " + patchId);
@@ -195,9 +455,7 @@ public class ReadmePolishingMcpTools {
             instructions.append("Apply with: git apply ").append(outputPath);
             if (bundle.hasConsolidation()) {
                 instructions.append("\nThen delete files: ");
-                instructions.append(String.join(", ", bundle.filesToDelete().stream()
-                    .map(p -> p.getFileName().toString())
-                    .toList()));
+                instructions.append(String.join(", ", relativePaths(pending.repoRoot(), bundle.filesToDelete())));
             }
             result.put("instructions", instructions.toString());
 
@@ -224,8 +482,8 @@ public class ReadmePolishingMcpTools {
         log.info("MCP Tool: Listing {} pending patches", pendingPatches.size());
 
         Map<String, String> patches = new HashMap<>();
-        pendingPatches.forEach((id, bundle) ->
-            patches.put(id, bundle.getSummaryLine())
+        pendingPatches.forEach((id, pending) ->
+            patches.put(id, pending.bundle().getSummaryLine())
         );
 
         return Map.of(
@@ -250,7 +508,7 @@ public class ReadmePolishingMcpTools {
     ) {
         log.info("MCP Tool: Rejecting patch {}", patchId);
 
-        PatchBundle removed = pendingPatches.remove(patchId);
+        PendingPatch removed = pendingPatches.remove(patchId);
         if (removed == null) {
             return Map.of("error", "Patch not found: " + patchId);
         }
@@ -280,7 +538,7 @@ public class ReadmePolishingMcpTools {
             log.info("MCP Tool: Generating test command for {}", repoPath);
 
             Path path = Paths.get(repoPath);
-            RepoSnapshot snapshot = repoScanner.scanRepository(path);
+            RepoSnapshot snapshot = snapshotCache.get(path);
 
             String testSnippet = repoScanner.generateTestCommandSnippet(snapshot.build());
 
@@ -295,6 +553,90 @@ public class ReadmePolishingMcpTools {
         }
     }
 
+    /**
+     * Lists the repository snapshots currently held in the shared scan cache.
+     *
+     * @return JSON array of snapshot summaries
+     */
+    @McpResource(
+        uri = "snapshot://repos",
+        name = "cached_snapshots",
+        description = "Repository snapshots currently held in the scan cache",
+        mimeType = "application/json"
+    )
+    public String cachedSnapshots() {
+        log.info("MCP Resource: Listing cached snapshots");
+
+        List<Map<String, Object>> snapshots = snapshotCache.cachedSnapshots().stream()
+            .map(this::describeSnapshot)
+            .toList();
+
+        return toJson(snapshots);
+    }
+
+    /**
+     * Reads the cached snapshots for repositories with the given directory name.
+     *
+     * @param repoName Repository directory name
+     * @return JSON array of matching snapshot summaries
+     */
+    @McpResource(
+        uri = "snapshot://repos/{repoName}",
+        name = "repository_snapshot",
+        description = "Cached snapshot of a repository, looked up by its directory name",
+        mimeType = "application/json"
+    )
+    public String repositorySnapshot(String repoName) {
+        log.info("MCP Resource: Reading cached snapshot for {}", repoName);
+
+        List<Map<String, Object>> snapshots = snapshotCache.cachedSnapshots().stream()
+            .filter(s -> s.root().getFileName() != null
+                && s.root().getFileName().toString().equals(repoName))
+            .map(this::describeSnapshot)
+            .toList();
+
+        return toJson(snapshots);
+    }
+
+    /**
+     * Summarizes a snapshot for tool and resource responses.
+     */
+    private Map<String, Object> describeSnapshot(RepoSnapshot snapshot) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("repoPath", snapshot.root().toString());
+        result.put("buildSystem", snapshot.build().name());
+        result.put("markdownFilesCount", snapshot.markdownFiles().size());
+        result.put("scriptsCount", snapshot.scripts().size());
+        result.put("markdownFiles", snapshot.markdownFiles().stream()
+            .map(Path::toString)
+            .toList());
+        return result;
+    }
+
+    /**
+     * Serializes a resource payload to JSON.
+     */
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize resource", e);
+            return "{\"error\": \"Failed to serialize resource\"}";
+        }
+    }
+
+    /**
+     * Lists files relative to the repository root, so nested docs such as docs/API.md
+     * are told apart from a root API.md and can be found from the listing.
+     */
+    private static List<String> relativePaths(Path repoRoot, List<Path> files) {
+        Path root = repoRoot.toAbsolutePath().normalize();
+        return files.stream()
+            .map(p -> p.toAbsolutePath().normalize())
+            .map(p -> (p.startsWith(root) ? root.relativize(p) : p).toString().replace('\\', '/'))
+            .toList();
+    }
+
     /**
      * Generates a unique patch ID.
      */
@@ -304,4 +646,10 @@ public class ReadmePolishingMcpTools {
         long timestamp = System.currentTimeMillis();
         return String.format("%s-%d", repoName, timestamp);
     }
+
+    /**
+     * A patch awaiting approval, with the repository it was generated for.
+     */
+    private record PendingPatch(Path repoRoot, PatchBundle bundle) {
+    }
 }
@@ -0,0 +1,134 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.Deadline.DeadlineExceededException;
+import com.baskettecase.readmewrangler.domain.PatchBundle;
+import com.baskettecase.readmewrangler.domain.PolishingFinding;
+import com.baskettecase.readmewrangler.domain.ReadmeImprovements;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool.ArchiveLimits;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool.ExtractedArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Polishes repositories uploaded as archives, for callers that cannot share a filesystem
+ * with the service. The archive is extracted into memory and run through the regular pipeline.
+ */
+@Service
+public class ArchivePolishingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivePolishingService.class);
+
+    private final PolishingService polishingService;
+    private final SnapshotCache snapshotCache;
+    private final ArchiveExtractorTool extractor;
+    private final ArchiveLimits limits;
+
+    public ArchivePolishingService(
+        PolishingService polishingService,
+        SnapshotCache snapshotCache,
+        ArchiveExtractorTool extractor,
+        @Value("${wrangler.archive.maxUploadBytes:20971520}") long maxUploadBytes,
+        @Value("${wrangler.archive.maxInflatedBytes:209715200}") long maxInflatedBytes,
+        @Value("${wrangler.archive.maxExtractedBytes:20971520}") long maxExtractedBytes,
+        @Value("${wrangler.archive.maxEntryBytes:5242880}") long maxEntryBytes,
+        @Value("${wrangler.archive.maxEntries:10000}") int maxEntries
+    ) {
+        this.polishingService = polishingService;
+        this.snapshotCache = snapshotCache;
+        this.extractor = extractor;
+        this.limits = new ArchiveLimits(maxUploadBytes, maxInflatedBytes, maxExtractedBytes, maxEntryBytes, maxEntries);
+    }
+
+    /**
+     * Extracts an uploaded tar.gz or zip archive in memory and polishes it.
+     * Paths in the returned bundle are relative to the repository root.
+     *
+     * @param archive Archive stream
+     * @param repoName Repository name used as the in-memory root directory
+     * @param config Polishing configuration
+     * @return PatchBundle with proposed changes
+     * @throws IOException if reading the archive fails or a size limit is exceeded
+     */
+    public PatchBundle polishArchive(InputStream archive, String repoName, PolishingConfig config) throws IOException {
+        return polishArchive(archive, repoName, config, Deadline.none());
+    }
+
+    /**
+     * Extracts and polishes an uploaded archive under a request deadline, which covers both
+     * the extraction and the polish. If it expires, the bundle carries the findings gathered
+     * so far (see {@link PatchBundle#isPartial()}).
+     *
+     * @param archive Archive stream
+     * @param repoName Repository name used as the in-memory root directory
+     * @param config Polishing configuration
+     * @param deadline Request deadline
+     * @return PatchBundle with proposed changes, or partial findings if the deadline expired
+     * @throws IOException if reading the archive fails or a size limit is exceeded
+     */
+    public PatchBundle polishArchive(
+        InputStream archive,
+        String repoName,
+        PolishingConfig config,
+        Deadline deadline
+    ) throws IOException {
+        ExtractedArchive extracted;
+        try {
+            extracted = extractor.extract(archive, repoName, limits, deadline);
+        } catch (DeadlineExceededException e) {
+            log.warn("Extraction of uploaded archive {} stopped: deadline exceeded", repoName);
+            return PatchBundle.partial(Path.of(repoName), e.stage(), List.of());
+        }
+
+        try (extracted) {
+            log.info("Polishing uploaded archive {} ({} files)", repoName, extracted.filesExtracted());
+
+            Path root = extracted.root();
+            try {
+                return rehome(polishingService.polishRepository(root, config, deadline), root);
+            } finally {
+                snapshotCache.invalidate(root);
+            }
+        }
+    }
+
+    /**
+     * Rewrites in-memory paths as plain relative paths so the bundle outlives the filesystem.
+     */
+    private PatchBundle rehome(PatchBundle bundle, Path root) {
+        ReadmeImprovements summary = bundle.summary();
+        ReadmeImprovements rehomedSummary = new ReadmeImprovements(
+            summary.addedTestSection(),
+            summary.fixedCodeBlocks(),
+            summary.normalizedHeadings(),
+            summary.addedToc(),
+            summary.enhancedVisuals(),
+            summary.notes().stream()
+                .map(f -> new PolishingFinding(
+                    f.id(), f.message(), f.severity(), relative(root, f.file()), f.lineStart(), f.lineEnd()))
+                .toList()
+        );
+
+        return new PatchBundle(
+            bundle.unifiedDiff(),
+            rehomedSummary,
+            bundle.consolidationPatch(),
+            bundle.filesToDelete().stream().map(p -> relative(root, p)).toList()
+        );
+    }
+
+    private Path relative(Path root, Path file) {
+        if (file == null) {
+            return null;
+        }
+        return Path.of(file.startsWith(root) ? root.relativize(file).toString() : file.toString());
+    }
+}
@@ -0,0 +1,49 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Turns a caller's requested timeout into a request deadline for the REST API and MCP tools.
+ * Requests without a timeout get the configured default; no request may exceed the maximum.
+ */
+@Component
+public class DeadlinePolicy {
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public DeadlinePolicy(
+        @Value("${wrangler.deadline.default:60s}") Duration defaultTimeout,
+        @Value("${wrangler.deadline.max:5m}") Duration maxTimeout
+    ) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * Starts the deadline for a request.
+     *
+     * @param requested Timeout asked for by the caller (null or non-positive for the default)
+     * @return Deadline starting now
+     */
+    public Deadline start(Duration requested) {
+        Duration timeout = requested != null && !requested.isZero() && !requested.isNegative()
+            ? requested
+            : defaultTimeout;
+        if (maxTimeout != null && !maxTimeout.isZero() && timeout.compareTo(maxTimeout) > 0) {
+            timeout = maxTimeout;
+        }
+        return Deadline.after(timeout);
+    }
+
+    /**
+     * Starts the deadline for a request whose timeout is given in milliseconds.
+     */
+    public Deadline startMillis(Long requestedMillis) {
+        return start(requestedMillis != null ? Duration.ofMillis(requestedMillis) : null);
+    }
+}
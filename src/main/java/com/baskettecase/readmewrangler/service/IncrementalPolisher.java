@@ -0,0 +1,156 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.PatchBundle;
+import com.baskettecase.readmewrangler.domain.PolishingFinding;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.tool.BadgeTool;
+import com.baskettecase.readmewrangler.tool.MarkdownLinterTool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Re-polishes only the documents affected by a batch of file changes, for watch mode.
+ * The build system and license are kept between batches and refreshed only when a build
+ * descriptor or license file changes; other markdown files are re-linted individually and
+ * the root README is re-polished in memory.
+ */
+public class IncrementalPolisher {
+
+    private final Path root;
+    private final PolishingConfig config;
+    private final PolishingService polishingService;
+    private final MarkdownLinterTool linter;
+    private final BadgeTool badgeTool;
+    private final SnapshotCache snapshotCache;
+
+    private BuildSystem buildSystem;
+    private String license;
+
+    public IncrementalPolisher(
+        Path root,
+        PolishingConfig config,
+        PolishingService polishingService,
+        MarkdownLinterTool linter,
+        BadgeTool badgeTool,
+        SnapshotCache snapshotCache
+    ) {
+        this.root = root.toAbsolutePath().normalize();
+        this.config = config;
+        this.polishingService = polishingService;
+        this.linter = linter;
+        this.badgeTool = badgeTool;
+        this.snapshotCache = snapshotCache;
+    }
+
+    /**
+     * Scans the repository and processes every markdown file once.
+     *
+     * @return Results for all markdown files
+     * @throws IOException if scanning or reading fails
+     */
+    public Update initial() throws IOException {
+        long start = System.nanoTime();
+        RepoSnapshot snapshot = refreshContext();
+        return new Update(process(snapshot.markdownFiles()), true, System.nanoTime() - start);
+    }
+
+    /**
+     * Processes a batch of changed files.
+     *
+     * @param changed Absolute paths reported by the watcher
+     * @return Results for the affected markdown files
+     * @throws IOException if reading fails
+     */
+    public Update apply(Set<Path> changed) throws IOException {
+        long start = System.nanoTime();
+
+        boolean contextChanged = changed.stream()
+            .anyMatch(p -> RepoWatcher.CONTEXT_FILES.contains(p.getFileName().toString()) && root.equals(p.getParent()));
+
+        List<Path> documents = new ArrayList<>(changed.stream()
+            .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".md"))
+            .sorted()
+            .toList());
+
+        if (contextChanged) {
+            snapshotCache.invalidate(root);
+            refreshContext();
+            // Badges and the test section depend on the build system and license
+            Path readme = root.resolve("README.md");
+            if (Files.exists(readme) && !documents.contains(readme)) {
+                documents.add(0, readme);
+            }
+        }
+
+        return new Update(process(documents), contextChanged, System.nanoTime() - start);
+    }
+
+    public BuildSystem buildSystem() {
+        return buildSystem;
+    }
+
+    public String license() {
+        return license;
+    }
+
+    private RepoSnapshot refreshContext() throws IOException {
+        RepoSnapshot snapshot = snapshotCache.get(root);
+        buildSystem = snapshot.build();
+        // Only the badge stage needs the LICENSE file
+        license = config.badgesEnabled() && config.runs(PolishingStage.BADGES) ? badgeTool.detectLicense(root) : null;
+        return snapshot;
+    }
+
+    private List<FileUpdate> process(Collection<Path> documents) throws IOException {
+        List<FileUpdate> updates = new ArrayList<>();
+        for (Path file : documents) {
+            if (!Files.exists(file)) {
+                updates.add(new FileUpdate(file, List.of(), null, true));
+                continue;
+            }
+
+            String content = Files.readString(file);
+            if (isRootReadme(file)) {
+                PatchBundle bundle = polishingService.polishContent(
+                    content, file.toString(), buildSystem, license, config);
+                updates.add(new FileUpdate(file, bundle.summary().notes(), bundle, false));
+            } else {
+                List<PolishingFinding> findings = config.runs(PolishingStage.LINT) ? linter.lint(file, content) : List.of();
+                updates.add(new FileUpdate(file, findings, null, false));
+            }
+        }
+        return updates;
+    }
+
+    private boolean isRootReadme(Path file) {
+        return root.equals(file.getParent()) && file.getFileName().toString().equalsIgnoreCase("README.md");
+    }
+
+    /**
+     * Result of processing one batch.
+     *
+     * @param files Per-document results, in processing order
+     * @param contextChanged Whether the build system or license was re-detected
+     * @param elapsedNanos Time spent processing the batch
+     */
+    public record Update(List<FileUpdate> files, boolean contextChanged, long elapsedNanos) {
+    }
+
+    /**
+     * Result for one document.
+     *
+     * @param file Absolute path of the document
+     * @param findings Lint findings, plus polishing notes for the README
+     * @param bundle Proposed README patch, or null for other documents
+     * @param deleted Whether the document was removed
+     */
+    public record FileUpdate(Path file, List<PolishingFinding> findings, PatchBundle bundle, boolean deleted) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.baskettecase.readmewrangler.service;
 
+import java.util.Set;
+
 /**
  * Configuration for the polishing process.
  *
@@ -10,6 +12,7 @@ package com.baskettecase.readmewrangler.service;
  * @param jdkVersion JDK version for badge
  * @param maxChangesPerFile Maximum number of line changes per file
  * @param requireMcpApproval Whether MCP approval is required before applying patches
+ * @param stages Pipeline stages to run (null or empty for all)
  */
 public record PolishingConfig(
     int addTocThresholdHeadings,
@@ -18,8 +21,32 @@ public record PolishingConfig(
     boolean badgesEnabled,
     String jdkVersion,
     int maxChangesPerFile,
-    boolean requireMcpApproval
+    boolean requireMcpApproval,
+    Set<PolishingStage> stages
 ) {
+    /**
+     * Creates a configuration, defaulting to all stages.
+     */
+    public PolishingConfig {
+        stages = stages == null || stages.isEmpty() ? PolishingStage.ALL : Set.copyOf(stages);
+    }
+
+    /**
+     * Creates a configuration that runs every stage.
+     */
+    public PolishingConfig(
+        int addTocThresholdHeadings,
+        String headingStyle,
+        String defaultCodeLanguage,
+        boolean badgesEnabled,
+        String jdkVersion,
+        int maxChangesPerFile,
+        boolean requireMcpApproval
+    ) {
+        this(addTocThresholdHeadings, headingStyle, defaultCodeLanguage, badgesEnabled,
+            jdkVersion, maxChangesPerFile, requireMcpApproval, null);
+    }
+
     /**
      * Creates default configuration.
      */
@@ -34,4 +61,19 @@ public record PolishingConfig(
             true            // requireMcpApproval
         );
     }
+
+    /**
+     * Checks whether a pipeline stage is selected.
+     */
+    public boolean runs(PolishingStage stage) {
+        return stages.contains(stage);
+    }
+
+    /**
+     * Returns a copy of this configuration restricted to the given stages.
+     */
+    public PolishingConfig withStages(Set<PolishingStage> stages) {
+        return new PolishingConfig(addTocThresholdHeadings, headingStyle, defaultCodeLanguage, badgesEnabled,
+            jdkVersion, maxChangesPerFile, requireMcpApproval, stages);
+    }
 }
@@ -1,17 +1,17 @@
 package com.baskettecase.readmewrangler.service;
 
 import com.baskettecase.readmewrangler.agent.ReadmePolisherAgent;
-import com.baskettecase.readmewrangler.domain.*;
-import com.baskettecase.readmewrangler.tool.*;
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.CheckResult;
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.Deadline.DeadlineExceededException;
+import com.baskettecase.readmewrangler.domain.PatchBundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Core service that orchestrates the README polishing process.
@@ -23,34 +23,18 @@ public class PolishingService {
     private static final Logger log = LoggerFactory.getLogger(PolishingService.class);
 
     private final ReadmePolisherAgent agent;
-    private final RepoScannerTool repoScanner;
-    private final MarkdownLinterTool linter;
-    private final TextRewriteTool rewriter;
-    private final TocTool tocTool;
-    private final BadgeTool badgeTool;
-    private final PatchBuilderTool patchBuilder;
-
-    public PolishingService(
-        ReadmePolisherAgent agent,
-        RepoScannerTool repoScanner,
-        MarkdownLinterTool linter,
-        TextRewriteTool rewriter,
-        TocTool tocTool,
-        BadgeTool badgeTool,
-        PatchBuilderTool patchBuilder
-    ) {
+
+    // Coalesces concurrent polishes of the same repository and config
+    private final SingleFlight<PolishKey, PatchBundle> polishFlights = new SingleFlight<>();
+
+    public PolishingService(ReadmePolisherAgent agent) {
         this.agent = agent;
-        this.repoScanner = repoScanner;
-        this.linter = linter;
-        this.rewriter = rewriter;
-        this.tocTool = tocTool;
-        this.badgeTool = badgeTool;
-        this.patchBuilder = patchBuilder;
     }
 
     /**
      * Polishes a repository's documentation and generates a patch.
      * Delegates to Embabel agent for goal-oriented planning.
+     * Concurrent calls for the same repository and config share one in-flight computation.
      *
      * @param repoPath Path to repository root
      * @param config Polishing configuration
@@ -58,137 +42,111 @@ public class PolishingService {
      * @throws IOException if file operations fail
      */
     public PatchBundle polishRepository(Path repoPath, PolishingConfig config) throws IOException {
+        return polishRepository(repoPath, config, Deadline.none());
+    }
+
+    /**
+     * Polishes a repository's documentation under a request deadline.
+     * When the deadline expires the agent stops at its next check and the bundle carries
+     * the findings gathered so far (see {@link PatchBundle#isPartial()}).
+     * A caller joining an identical polish in flight waits only until its own deadline.
+     * A partial bundle is never shared: a caller with time left polishes again itself.
+     *
+     * @param repoPath Path to repository root
+     * @param config Polishing configuration
+     * @param deadline Request deadline
+     * @return PatchBundle with proposed changes, or partial findings if the deadline expired
+     * @throws IOException if file operations fail
+     */
+    public PatchBundle polishRepository(Path repoPath, PolishingConfig config, Deadline deadline) throws IOException {
+        PolishKey key = new PolishKey(repoPath.toAbsolutePath().normalize(), config);
+        try {
+            return polishFlights.execute(
+                key, deadline, () -> runPolish(repoPath, config, deadline), bundle -> !bundle.isPartial());
+        } catch (DeadlineExceededException e) {
+            log.warn("Polishing of {} stopped while waiting for an identical polish: deadline exceeded", repoPath);
+            return PatchBundle.partial(repoPath, e.stage(), e.partialFindings());
+        }
+    }
+
+    /**
+     * Runs the agent for a single (uncoalesced) polish.
+     */
+    private PatchBundle runPolish(Path repoPath, PolishingConfig config, Deadline deadline) throws IOException {
         log.info("Delegating polish process to Embabel agent for: {}", repoPath);
 
         // Create polishing context
         ReadmePolisherAgent.PolishingContext context =
-            new ReadmePolisherAgent.PolishingContext(repoPath, config);
+            new ReadmePolisherAgent.PolishingContext(repoPath, config, deadline);
 
         // Execute agent goal - uses GOAP planning
         return agent.polishReadmeGoal(context);
     }
 
     /**
-     * Polishes content by applying all transformations.
+     * Checks whether a repository's documentation is already polished, without building
+     * polished text or a diff.
+     *
+     * @param repoPath Path to repository root
+     * @param config Polishing configuration
+     * @param failFast Whether to stop at the first change polishing would make
+     * @return CheckResult listing the changes polishing would make
+     * @throws IOException if file operations fail
      */
-    private String polishContent(
-        String content,
-        RepoSnapshot snapshot,
-        PolishingConfig config,
-        List<PolishingFinding> findings,
-        Path file
-    ) {
-        String result = content;
-
-        // Fix code fences
-        result = rewriter.fixCodeFences(result, config.defaultCodeLanguage());
-
-        // Normalize headings
-        result = rewriter.normalizeHeadings(result);
-
-        // Remove trailing whitespace
-        result = rewriter.removeTrailingWhitespace(result);
-
-        // Add test section if missing
-        if (repoScanner.needsTestSection(result) && snapshot.build() != BuildSystem.OTHER) {
-            result = addTestSection(result, snapshot.build());
-            findings.add(PolishingFinding.forLine(
-                "added-test-section",
-                "Added 'How to Run Tests' section",
-                Severity.INFO,
-                file,
-                0
-            ));
-        }
-
-        // Add TOC if needed
-        if (config.addTocThresholdHeadings() > 0) {
-            int headingCount = linter.countHeadings(result);
-            if (headingCount >= config.addTocThresholdHeadings() && !tocTool.hasToc(result)) {
-                String toc = tocTool.generateToc(result);
-                result = tocTool.insertToc(result, toc);
-                findings.add(PolishingFinding.forLine(
-                    "added-toc",
-                    "Added table of contents",
-                    Severity.INFO,
-                    file,
-                    0
-                ));
-            }
-        }
-
-        // Add badges if enabled
-        if (config.badgesEnabled() && !badgeTool.hasBadges(result)) {
-            String badges = badgeTool.generateBadgeSection(
-                snapshot.root().getFileName().toString(),
-                snapshot.build(),
-                config.jdkVersion(),
-                snapshot.root()
-            );
-            result = badges + result;
-        }
-
-        return result;
+    public CheckResult checkRepository(Path repoPath, PolishingConfig config, boolean failFast) throws IOException {
+        return agent.checkReadmeGoal(new ReadmePolisherAgent.PolishingContext(repoPath, config), failFast);
     }
 
     /**
-     * Adds a test section to the README.
+     * Polishes markdown content in memory without touching the filesystem.
+     * Used by callers that have the README text but no checkout.
+     *
+     * @param content Markdown content
+     * @param fileName File name used in the diff header and findings (defaults to README.md)
+     * @param buildSystem Build system hint for the test section and badges (may be null)
+     * @param license License hint for the badge (may be null)
+     * @param config Polishing configuration
+     * @return PatchBundle with the proposed README changes
      */
-    private String addTestSection(String content, BuildSystem buildSystem) {
-        String testSection = repoScanner.generateTestCommandSnippet(buildSystem);
-
-        // Try to insert after "Installation" or "Usage" section
-        String[] sections = {"## Installation", "## Usage", "## Getting Started"};
-        for (String section : sections) {
-            if (content.contains(section)) {
-                int idx = content.indexOf(section);
-                int nextSection = content.indexOf("\n## ", idx + section.length());
-                if (nextSection > 0) {
-                    return content.substring(0, nextSection) + "\n" + testSection + "\n" + content.substring(nextSection);
-                }
-            }
-        }
-
-        // Append at end
-        return content + "\n\n" + testSection;
+    public PatchBundle polishContent(
+        String content,
+        String fileName,
+        BuildSystem buildSystem,
+        String license,
+        PolishingConfig config
+    ) {
+        return polishContent(content, fileName, buildSystem, license, config, Deadline.none());
     }
 
     /**
-     * Finds the README file in the snapshot.
+     * Polishes markdown content in memory under a request deadline.
+     *
+     * @param content Markdown content
+     * @param fileName File name used in the diff header and findings (defaults to README.md)
+     * @param buildSystem Build system hint for the test section and badges (may be null)
+     * @param license License hint for the badge (may be null)
+     * @param config Polishing configuration
+     * @param deadline Request deadline
+     * @return PatchBundle with the proposed README changes, or partial findings if the deadline expired
      */
-    private Path findReadme(RepoSnapshot snapshot) {
-        return snapshot.markdownFiles().stream()
-            .filter(p -> p.getFileName().toString().equalsIgnoreCase("README.md"))
-            .findFirst()
-            .orElse(null);
+    public PatchBundle polishContent(
+        String content,
+        String fileName,
+        BuildSystem buildSystem,
+        String license,
+        PolishingConfig config,
+        Deadline deadline
+    ) {
+        if (content == null) {
+            throw new IllegalArgumentException("Content cannot be null");
+        }
+        Path file = Path.of(fileName != null && !fileName.isBlank() ? fileName : "README.md");
+        return agent.polishContentGoal(content, file, buildSystem, license, config, deadline);
     }
 
     /**
-     * Builds the improvements summary.
+     * Coalescing key for in-flight polishes.
      */
-    private ReadmeImprovements buildImprovements(String original, String polished, List<PolishingFinding> findings) {
-        boolean addedTestSection = findings.stream()
-            .anyMatch(f -> f.id().equals("added-test-section"));
-
-        boolean fixedCodeBlocks = !original.contains("```bash") && polished.contains("```bash") ||
-                                  !original.contains("```java") && polished.contains("```java");
-
-        boolean normalizedHeadings = findings.stream()
-            .anyMatch(f -> f.id().equals("heading-skip-level"));
-
-        boolean addedToc = findings.stream()
-            .anyMatch(f -> f.id().equals("added-toc"));
-
-        boolean enhancedVisuals = findings.stream()
-            .anyMatch(f -> f.id().equals("enhanced-visuals"));
-
-        return new ReadmeImprovements(
-            addedTestSection,
-            fixedCodeBlocks,
-            normalizedHeadings,
-            addedToc,
-            enhancedVisuals,
-            findings
-        );
+    private record PolishKey(Path repoPath, PolishingConfig config) {
     }
 }
@@ -0,0 +1,66 @@
+package com.baskettecase.readmewrangler.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Individually selectable stages of the polishing pipeline.
+ * A stage that is not selected is skipped entirely, along with any I/O only it needs.
+ */
+public enum PolishingStage {
+    /** Merge extra root-level docs into DEVELOPMENT.md (lists the repository root). */
+    CONSOLIDATION,
+    /** Report code fence and heading findings. */
+    LINT,
+    /** Add language tags to unlabeled code fences. */
+    CODE_FENCES,
+    /** Convert setext headings to ATX. */
+    HEADINGS,
+    /** Strip trailing whitespace. */
+    WHITESPACE,
+    /** Rewrite weak prose paragraphs with the chat model (only when wrangler.prose.enabled). */
+    PROSE,
+    /** Add a "How to Run Tests" section for the detected build system. */
+    TEST_SECTION,
+    /** Insert a table of contents. */
+    TOC,
+    /** Add build, JDK and license badges (reads the LICENSE file). */
+    BADGES,
+    /** Add heading icons and visual formatting. */
+    VISUALS;
+
+    /** All stages, the default when none are selected. */
+    public static final Set<PolishingStage> ALL = Collections.unmodifiableSet(EnumSet.allOf(PolishingStage.class));
+
+    /**
+     * Parses stage names case-insensitively, accepting dashes for underscores (e.g. "test-section").
+     *
+     * @param names Stage names; null or empty selects all stages
+     * @return Selected stages
+     * @throws IllegalArgumentException if a name is not a known stage
+     */
+    public static Set<PolishingStage> parse(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return ALL;
+        }
+        Set<PolishingStage> stages = EnumSet.noneOf(PolishingStage.class);
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                stages.add(fromName(name));
+            }
+        }
+        return stages.isEmpty() ? ALL : Collections.unmodifiableSet(stages);
+    }
+
+    /**
+     * Parses one stage name case-insensitively, accepting dashes for underscores.
+     *
+     * @throws IllegalArgumentException if the name is not a known stage
+     */
+    public static PolishingStage fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
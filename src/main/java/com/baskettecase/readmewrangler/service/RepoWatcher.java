@@ -0,0 +1,165 @@
+package com.baskettecase.readmewrangler.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches a repository's markdown, build and license files and reports changes in debounced batches.
+ * Editors typically emit several events per save (truncate, write, rename), so events are collected
+ * until the tree has been quiet for the debounce interval and then delivered once.
+ */
+public class RepoWatcher implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RepoWatcher.class);
+
+    private static final Set<String> IGNORED_DIRS = Set.of(
+        "node_modules", ".git", "target", "build", ".idea", ".vscode"
+    );
+
+    /** Build descriptors and license files: changes affect badges and the test section. */
+    static final Set<String> CONTEXT_FILES = Set.of(
+        "pom.xml", "mvnw", "build.gradle", "build.gradle.kts", "gradlew", "Makefile",
+        "LICENSE", "LICENSE.txt", "LICENSE.md", "COPYING"
+    );
+
+    private final Path root;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the repository tree for change notifications.
+     *
+     * @param root Repository root
+     * @param debounce Quiet period that ends a batch of changes
+     * @throws IOException if the tree cannot be registered
+     */
+    public RepoWatcher(Path root, Duration debounce) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.debounceNanos = debounce.toNanos();
+        this.watchService = this.root.getFileSystem().newWatchService();
+        registerTree(this.root);
+    }
+
+    /**
+     * Checks whether a file is one the watcher reports: markdown, build descriptors and licenses.
+     */
+    public static boolean isWatchedFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.toLowerCase().endsWith(".md") || CONTEXT_FILES.contains(name);
+    }
+
+    /**
+     * Delivers batches of changed files until the watcher is closed. Blocks the calling thread.
+     *
+     * @param onChange Receives the absolute paths changed in each debounced batch
+     */
+    public void run(Consumer<Set<Path>> onChange) {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+
+                // Keep draining until nothing arrives for a full debounce interval
+                WatchKey next;
+                while ((next = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS)) != null) {
+                    collect(next, changed);
+                }
+
+                if (!changed.isEmpty()) {
+                    onChange.accept(Set.copyOf(changed));
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Watcher for {} closed", root);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                continue;
+            }
+
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                registerNewDirectory(path, changed);
+            } else if (isWatchedFile(path)) {
+                changed.add(path);
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+    }
+
+    /**
+     * Registers a directory created after startup and reports any watched files already inside it,
+     * since they may have been written before the registration took effect.
+     */
+    private void registerNewDirectory(Path dir, Set<Path> changed) {
+        try {
+            registerTree(dir);
+            try (var files = Files.walk(dir)) {
+                files.filter(Files::isRegularFile).filter(RepoWatcher::isWatchedFile).forEach(changed::add);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to watch new directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void registerTree(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && IGNORED_DIRS.contains(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                watchedDirs.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Lists the directories currently registered, for diagnostics.
+     */
+    public List<Path> watchedDirectories() {
+        return watchedDirs.values().stream().sorted().toList();
+    }
+}
@@ -0,0 +1,194 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.Deadline.DeadlineExceededException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Coalesces concurrent calls for the same key into a single in-flight computation.
+ * The first caller for a key runs the work; callers arriving while it is running
+ * wait for and share its result. Registration is guarded by striped locks so that
+ * unrelated keys never contend on one global lock.
+ * Each caller waits only as long as its own deadline allows. A result the caller may not
+ * share, such as one cut short by the first caller's deadline, is not handed on: a caller
+ * with time left runs the work itself.
+ *
+ * @param <K> Key type (must implement equals/hashCode)
+ * @param <V> Result type
+ */
+public class SingleFlight<K, V> {
+
+    private static final int DEFAULT_STRIPES = 32;
+
+    // Longest wait between checks of a follower's deadline, so cancellation is noticed
+    private static final Duration WAIT_SLICE = Duration.ofMillis(100);
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+
+    public SingleFlight() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public SingleFlight(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the computation for the key, or joins the one already in flight.
+     *
+     * @param key Coalescing key
+     * @param work Computation to run if no identical call is in flight
+     * @return Result shared by every caller of the same flight
+     * @throws IOException if the computation failed with an IOException
+     */
+    public V execute(K key, Work<V> work) throws IOException {
+        return execute(key, Deadline.none(), work, result -> true);
+    }
+
+    /**
+     * Runs the computation for the key, or joins the one already in flight for as long as
+     * the caller's deadline allows.
+     *
+     * @param key Coalescing key
+     * @param deadline This caller's deadline; bounds the wait for another caller's flight
+     * @param work Computation to run if no identical call is in flight; should honour the deadline
+     * @param shareable Whether a result may be handed to callers who joined its flight
+     * @return Result of this caller's flight, or a shareable result of another caller's
+     * @throws IOException if the computation failed with an IOException
+     * @throws DeadlineExceededException if the deadline expires while waiting for another caller's flight
+     */
+    public V execute(K key, Deadline deadline, Work<V> work, Predicate<V> shareable) throws IOException {
+        while (true) {
+            CompletableFuture<V> flight;
+            boolean leader = false;
+
+            ReentrantLock lock = stripeFor(key);
+            lock.lock();
+            try {
+                flight = inFlight.get(key);
+                if (flight == null) {
+                    flight = new CompletableFuture<>();
+                    inFlight.put(key, flight);
+                    leader = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (leader) {
+                return lead(key, flight, work);
+            }
+
+            try {
+                V result = await(flight, deadline);
+                if (shareable.test(result)) {
+                    return result;
+                }
+            } catch (DeadlineExceededException e) {
+                // The leader ran out of time; only our own expired deadline ends our wait
+                deadline.check("coalesced polish");
+            }
+            // Not ours to share: run again under our own deadline
+            deadline.check("coalesced polish");
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Work<V> work) throws IOException {
+        V result = null;
+        Throwable failure = null;
+        try {
+            result = work.run();
+        } catch (Throwable t) {
+            failure = t;
+        }
+
+        // Deregister before completing, so a follower retrying an unshareable result starts a new flight
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            inFlight.remove(key, flight);
+        } finally {
+            lock.unlock();
+        }
+
+        if (failure == null) {
+            flight.complete(result);
+            return result;
+        }
+        flight.completeExceptionally(failure);
+        throw rethrow(failure);
+    }
+
+    /**
+     * Number of computations currently in flight.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private ReentrantLock stripeFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+
+    /**
+     * Waits for another caller's flight, checking this caller's deadline at least every slice.
+     */
+    private V await(CompletableFuture<V> flight, Deadline deadline) throws IOException {
+        while (true) {
+            deadline.check("coalesced polish");
+            Duration remaining = deadline.remaining();
+            Duration wait = remaining == null || remaining.compareTo(WAIT_SLICE) > 0 ? WAIT_SLICE : remaining;
+            try {
+                return flight.get(wait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Check the deadline and keep waiting
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DeadlineExceededException("coalesced polish", List.of());
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException re) {
+            throw re;
+        }
+        if (cause instanceof Error err) {
+            throw err;
+        }
+        throw new IllegalStateException("Coalesced computation failed", cause);
+    }
+
+    /**
+     * Computation that may throw an IOException.
+     */
+    @FunctionalInterface
+    public interface Work<V> {
+        V run() throws IOException;
+    }
+}
@@ -0,0 +1,160 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.tool.DocConsolidationTool;
+import com.baskettecase.readmewrangler.tool.RepoScannerTool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Short-lived cache of repository snapshots shared by the MCP tools, the REST API and the agent.
+ * An entry is reused only while it is younger than the TTL and the modification times of the
+ * root, of every directory holding one of its markdown files and of every directory under the
+ * docs directories are unchanged, so back-to-back calls in one session scan the repository once.
+ * Docs to consolidate are never stale. A markdown file added elsewhere, in a directory that held
+ * none, goes unseen until the TTL expires.
+ */
+@Component
+public class SnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotCache.class);
+
+    private final RepoScannerTool repoScanner;
+    private final long ttlNanos;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    public SnapshotCache(
+        RepoScannerTool repoScanner,
+        @Value("${wrangler.snapshotCache.ttl:30s}") Duration ttl
+    ) {
+        this.repoScanner = repoScanner;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns a snapshot of the repository, scanning only if no valid cached entry exists.
+     *
+     * @param rootPath Root directory of the repository
+     * @return Cached or freshly scanned snapshot
+     * @throws IOException if scanning fails
+     */
+    public RepoSnapshot get(Path rootPath) throws IOException {
+        return get(rootPath, Deadline.none());
+    }
+
+    /**
+     * Returns a snapshot of the repository, scanning under the given deadline on a miss.
+     * A scan cut short by the deadline leaves the cache untouched.
+     *
+     * @param rootPath Root directory of the repository
+     * @param deadline Request deadline
+     * @return Cached or freshly scanned snapshot
+     * @throws IOException if scanning fails
+     */
+    public RepoSnapshot get(Path rootPath, Deadline deadline) throws IOException {
+        if (!Files.isDirectory(rootPath)) {
+            throw new IllegalArgumentException("Path must be a directory: " + rootPath);
+        }
+
+        Path key = rootPath.toAbsolutePath().normalize();
+        long now = System.nanoTime();
+
+        Entry cached = entries.get(key);
+        if (cached != null && cached.isValid(now, ttlNanos)) {
+            log.debug("Snapshot cache hit for {}", key);
+            return cached.snapshot();
+        }
+
+        FileTime rootModified = Files.getLastModifiedTime(key);
+        RepoSnapshot snapshot = repoScanner.scanRepository(rootPath, deadline);
+        entries.put(key, new Entry(snapshot, directoryTimes(key, rootModified, snapshot), now));
+        evictExpired(now);
+        return snapshot;
+    }
+
+    /**
+     * Drops any cached snapshot for the repository.
+     */
+    public void invalidate(Path rootPath) {
+        entries.remove(rootPath.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Lists the snapshots currently cached and not yet expired.
+     */
+    public List<RepoSnapshot> cachedSnapshots() {
+        long now = System.nanoTime();
+        return entries.values().stream()
+            .filter(e -> now - e.scannedAt() < ttlNanos)
+            .map(Entry::snapshot)
+            .toList();
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(e -> now - e.scannedAt() >= ttlNanos);
+    }
+
+    /**
+     * Modification times of the root, taken before the scan, of each directory holding
+     * a scanned markdown file, and of each directory under the docs directories.
+     */
+    private static Map<Path, FileTime> directoryTimes(Path root, FileTime rootModified, RepoSnapshot snapshot)
+        throws IOException {
+        Map<Path, FileTime> times = new HashMap<>();
+        times.put(root, rootModified);
+        for (Path file : snapshot.markdownFiles()) {
+            Path dir = file.toAbsolutePath().normalize().getParent();
+            if (dir != null && !times.containsKey(dir)) {
+                times.put(dir, Files.getLastModifiedTime(dir));
+            }
+        }
+        for (String name : DocConsolidationTool.DOC_DIRECTORIES) {
+            Path docs = root.resolve(name);
+            if (Files.isDirectory(docs)) {
+                try (Stream<Path> dirs = Files.walk(docs)) {
+                    for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                        times.putIfAbsent(dir, Files.getLastModifiedTime(dir));
+                    }
+                }
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Cached snapshot with the directory mtimes observed when it was taken.
+     */
+    private record Entry(RepoSnapshot snapshot, Map<Path, FileTime> directoryTimes, long scannedAt) {
+
+        boolean isValid(long now, long ttlNanos) throws IOException {
+            if (now - scannedAt >= ttlNanos) {
+                return false;
+            }
+            for (Map.Entry<Path, FileTime> directory : directoryTimes.entrySet()) {
+                try {
+                    if (!directory.getValue().equals(Files.getLastModifiedTime(directory.getKey()))) {
+                        return false;
+                    }
+                } catch (NoSuchFileException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
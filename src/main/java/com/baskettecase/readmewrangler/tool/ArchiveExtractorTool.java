@@ -0,0 +1,573 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts the documentation and build files of an uploaded repository archive
+ * into an in-memory filesystem, so the regular scanner and agent can run against it.
+ * Supports tar.gz and zip streams; irrelevant entries are discarded as they stream past
+ * and every size limit is enforced while reading, before anything is buffered.
+ */
+@Component
+public class ArchiveExtractorTool {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveExtractorTool.class);
+
+    private static final int TAR_BLOCK = 512;
+
+    // Build and wrapper files the scanner and badge detection look at
+    private static final Set<String> RELEVANT_FILES = Set.of(
+        "pom.xml",
+        "build.gradle",
+        "build.gradle.kts",
+        "settings.gradle",
+        "settings.gradle.kts",
+        "mvnw",
+        "mvnw.cmd",
+        "gradlew",
+        "gradlew.bat",
+        "Makefile",
+        "test.sh",
+        "build.sh",
+        "COPYING"
+    );
+
+    // Directories never worth extracting
+    private static final Set<String> IGNORED_DIRS = Set.of(
+        "node_modules",
+        ".git",
+        "target",
+        ".idea",
+        ".vscode"
+    );
+
+    /**
+     * Extracts relevant entries of a tar.gz or zip archive into an in-memory repository.
+     * The format is detected from the stream's magic bytes.
+     *
+     * @param archive Archive stream (not closed by this method)
+     * @param repoName Name of the repository root directory
+     * @param limits Size limits enforced while reading
+     * @return Extracted repository; close it to release the in-memory filesystem
+     * @throws IOException if reading fails or a limit is exceeded
+     */
+    public ExtractedArchive extract(InputStream archive, String repoName, ArchiveLimits limits) throws IOException {
+        return extract(archive, repoName, limits, Deadline.none());
+    }
+
+    /**
+     * Extracts relevant entries of an archive under a request deadline, checked before each entry.
+     *
+     * @param archive Archive stream (not closed by this method)
+     * @param repoName Name of the repository root directory
+     * @param limits Size limits enforced while reading
+     * @param deadline Request deadline
+     * @return Extracted repository; close it to release the in-memory filesystem
+     * @throws IOException if reading fails or a limit is exceeded
+     * @throws Deadline.DeadlineExceededException if the deadline expires mid-extraction
+     */
+    public ExtractedArchive extract(
+        InputStream archive,
+        String repoName,
+        ArchiveLimits limits,
+        Deadline deadline
+    ) throws IOException {
+        FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        Path root = fileSystem.getPath("/" + sanitizeName(repoName));
+        Files.createDirectories(root);
+
+        try {
+            InputStream upload = new BufferedInputStream(
+                new LimitedInputStream(archive, limits.maxUploadBytes(), "upload size"));
+            Counts counts = switch (detectFormat(upload)) {
+                case TAR_GZ -> extractTar(
+                    new LimitedInputStream(new GZIPInputStream(upload), limits.maxInflatedBytes(), "inflated size"),
+                    root, limits, deadline);
+                case ZIP -> extractZip(new ZipInputStream(upload), root, limits, deadline);
+            };
+
+            Path effectiveRoot = unwrapSingleDirectory(root);
+            log.info("Extracted archive into memory: {} files kept, {} entries skipped",
+                counts.kept, counts.skipped);
+
+            return new ExtractedArchive(fileSystem, effectiveRoot, counts.kept, counts.skipped);
+        } catch (ZipException | EOFException e) {
+            fileSystem.close();
+            throw new IllegalArgumentException("Malformed archive: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            fileSystem.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Determines whether an archive entry is needed for polishing.
+     *
+     * @param relativePath Entry path relative to the archive root
+     * @return true if the entry should be extracted
+     */
+    public boolean isRelevant(String relativePath) {
+        String[] segments = relativePath.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (IGNORED_DIRS.contains(segments[i])) {
+                return false;
+            }
+        }
+
+        String name = segments[segments.length - 1];
+        if (name.isEmpty()) {
+            return false;
+        }
+
+        return name.toLowerCase().endsWith(".md") ||
+               RELEVANT_FILES.contains(name) ||
+               name.startsWith("LICENSE") ||
+               isScript(segments);
+    }
+
+    /**
+     * Matches the scripts picked up by RepoScannerTool under scripts/.
+     */
+    private boolean isScript(String[] segments) {
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (segments[i].equals("scripts")) {
+                String name = segments[segments.length - 1].toLowerCase();
+                return name.startsWith("test") || name.startsWith("build") ||
+                       name.endsWith(".sh") || name.endsWith(".bat");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Detects the archive format from its magic bytes.
+     */
+    private ArchiveFormat detectFormat(InputStream in) throws IOException {
+        in.mark(4);
+        byte[] magic = in.readNBytes(4);
+        in.reset();
+
+        if (magic.length >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+            return ArchiveFormat.TAR_GZ;
+        }
+        if (magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+            return ArchiveFormat.ZIP;
+        }
+        throw new IllegalArgumentException("Unsupported archive format (expected tar.gz or zip)");
+    }
+
+    /**
+     * Streams a tar archive, keeping relevant regular files and skipping everything else.
+     */
+    private Counts extractTar(InputStream in, Path root, ArchiveLimits limits, Deadline deadline) throws IOException {
+        Counts counts = new Counts();
+        byte[] header = new byte[TAR_BLOCK];
+        String pendingName = null;
+
+        while (true) {
+            deadline.check("extraction");
+            if (in.readNBytes(header, 0, TAR_BLOCK) < TAR_BLOCK) {
+                throw new EOFException("Truncated tar header");
+            }
+            if (isZeroBlock(header)) {
+                break;
+            }
+
+            counts.entry(limits);
+            long size = parseOctal(header, 124, 12);
+            byte type = header[156];
+            String name = pendingName != null ? pendingName : tarName(header);
+            pendingName = null;
+
+            if (type == 'L' || type == 'x') {
+                // GNU long name or PAX extended header describing the next entry
+                if (size > limits.maxEntryBytes()) {
+                    throw new ArchiveLimitExceededException("Extended tar header exceeds entry size limit");
+                }
+                byte[] data = in.readNBytes((int) size);
+                skipFully(in, padding(size));
+                pendingName = type == 'L' ? cString(data, 0, data.length) : paxPath(data);
+                continue;
+            }
+
+            boolean regularFile = type == '0' || type == 0 || type == '7';
+            String relative = normalizeEntryName(name);
+            if (regularFile && relative != null && isRelevant(relative)) {
+                if (size > limits.maxEntryBytes()) {
+                    throw new ArchiveLimitExceededException("Archive entry exceeds size limit: " + relative);
+                }
+                counts.keep(size, limits);
+                writeEntry(root, relative, in, size);
+            } else {
+                counts.skipped++;
+                skipFully(in, size);
+            }
+            skipFully(in, padding(size));
+        }
+
+        return counts;
+    }
+
+    /**
+     * Streams a zip archive, keeping relevant files and draining everything else.
+     * Zip entries written with data descriptors have no size up front, so skipped entries
+     * are drained through the inflater (bounded by the inflated-size limit) rather than buffered.
+     */
+    private Counts extractZip(ZipInputStream zip, Path root, ArchiveLimits limits, Deadline deadline) throws IOException {
+        Counts counts = new Counts();
+        InputStream inflated = new LimitedInputStream(zip, limits.maxInflatedBytes(), "inflated size");
+        ZipEntry entry;
+
+        while ((entry = zip.getNextEntry()) != null) {
+            deadline.check("extraction");
+            counts.entry(limits);
+            String relative = normalizeEntryName(entry.getName());
+
+            if (!entry.isDirectory() && relative != null && isRelevant(relative)) {
+                if (entry.getSize() > limits.maxEntryBytes()) {
+                    throw new ArchiveLimitExceededException("Archive entry exceeds size limit: " + relative);
+                }
+                Path target = prepareTarget(root, relative);
+                try (OutputStream out = Files.newOutputStream(target)) {
+                    long written = copyBounded(inflated, out, limits.maxEntryBytes(), relative);
+                    counts.keep(written, limits);
+                }
+            } else {
+                counts.skipped++;
+                skipFully(inflated, Long.MAX_VALUE);
+            }
+        }
+
+        return counts;
+    }
+
+    private void writeEntry(Path root, String relative, InputStream in, long size) throws IOException {
+        Path target = prepareTarget(root, relative);
+        try (OutputStream out = Files.newOutputStream(target)) {
+            long remaining = size;
+            byte[] buffer = new byte[8192];
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Truncated tar entry: " + relative);
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private Path prepareTarget(Path root, String relative) throws IOException {
+        Path target = root.resolve(relative).normalize();
+        if (!target.startsWith(root)) {
+            throw new IllegalArgumentException("Archive entry escapes repository root: " + relative);
+        }
+        Files.createDirectories(target.getParent());
+        return target;
+    }
+
+    private long copyBounded(InputStream in, OutputStream out, long limit, String name) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            total += read;
+            if (total > limit) {
+                throw new ArchiveLimitExceededException("Archive entry exceeds size limit: " + name);
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    /**
+     * Skips bytes without retaining them; stops early at end of stream when count is unbounded.
+     */
+    private void skipFully(InputStream in, long count) throws IOException {
+        byte[] scratch = new byte[8192];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(scratch, 0, (int) Math.min(scratch.length, remaining));
+            if (read < 0) {
+                if (count == Long.MAX_VALUE) {
+                    return;
+                }
+                throw new EOFException("Truncated archive entry");
+            }
+            remaining -= read;
+        }
+    }
+
+    /**
+     * If the archive wrapped everything in one top-level directory (e.g. repo-main/), use it as root.
+     */
+    private Path unwrapSingleDirectory(Path root) throws IOException {
+        try (Stream<Path> children = Files.list(root)) {
+            List<Path> entries = children.toList();
+            if (entries.size() == 1 && Files.isDirectory(entries.get(0))) {
+                return entries.get(0);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Normalizes an entry name to a safe relative path, or null if it should be ignored.
+     */
+    private String normalizeEntryName(String name) {
+        String normalized = name.replace('\\', '/');
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        if (normalized.isEmpty() || normalized.startsWith("/")) {
+            return null;
+        }
+        for (String segment : normalized.split("/")) {
+            if (segment.equals("..")) {
+                return null;
+            }
+        }
+        return normalized;
+    }
+
+    private String sanitizeName(String repoName) {
+        if (repoName == null || repoName.isBlank()) {
+            return "repo";
+        }
+        String cleaned = repoName.replaceAll("[^A-Za-z0-9._-]", "-");
+        return cleaned.equals(".") || cleaned.equals("..") ? "repo" : cleaned;
+    }
+
+    private String tarName(byte[] header) {
+        String name = cString(header, 0, 100);
+        boolean ustar = new String(header, 257, 5, StandardCharsets.US_ASCII).equals("ustar");
+        String prefix = ustar ? cString(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    private String paxPath(byte[] data) {
+        // Records are "<length> <key>=<value>\n"
+        String records = new String(data, StandardCharsets.UTF_8);
+        for (String record : records.split("\n")) {
+            int space = record.indexOf(' ');
+            int eq = record.indexOf('=');
+            if (space > 0 && eq > space && record.substring(space + 1, eq).equals("path")) {
+                return record.substring(eq + 1);
+            }
+        }
+        return null;
+    }
+
+    private String cString(byte[] data, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && data[end] != 0) {
+            end++;
+        }
+        return new String(data, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private long parseOctal(byte[] header, int offset, int length) {
+        if ((header[offset] & 0x80) != 0) {
+            // Base-256 size: only used for entries far beyond any limit we accept
+            return Long.MAX_VALUE;
+        }
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b == 0 || b == ' ') {
+                if (value > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                throw new IllegalArgumentException("Malformed archive: invalid tar size field");
+            }
+            value = (value << 3) + (b - '0');
+        }
+        return value;
+    }
+
+    private long padding(long size) {
+        long remainder = size % TAR_BLOCK;
+        return remainder == 0 ? 0 : TAR_BLOCK - remainder;
+    }
+
+    private boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Supported archive formats.
+     */
+    private enum ArchiveFormat {
+        TAR_GZ,
+        ZIP
+    }
+
+    /**
+     * Running entry and byte counts checked against the limits.
+     */
+    private static final class Counts {
+        int entries;
+        int kept;
+        int skipped;
+        long keptBytes;
+
+        void entry(ArchiveLimits limits) throws ArchiveLimitExceededException {
+            if (++entries > limits.maxEntries()) {
+                throw new ArchiveLimitExceededException("Archive has more than " + limits.maxEntries() + " entries");
+            }
+        }
+
+        void keep(long size, ArchiveLimits limits) throws ArchiveLimitExceededException {
+            keptBytes += size;
+            if (keptBytes > limits.maxExtractedBytes()) {
+                throw new ArchiveLimitExceededException("Extracted files exceed " + limits.maxExtractedBytes() + " bytes");
+            }
+            kept++;
+        }
+    }
+
+    /**
+     * Input stream that fails as soon as more than a fixed number of bytes has been read or skipped.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private final String label;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit, String label) {
+            super(in);
+            this.limit = limit;
+            this.label = label;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                add(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                add(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            add(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void add(long bytes) throws ArchiveLimitExceededException {
+            count += bytes;
+            if (count > limit) {
+                throw new ArchiveLimitExceededException("Archive exceeds " + label + " limit of " + limit + " bytes");
+            }
+        }
+    }
+
+    /**
+     * Size limits applied while an archive is read.
+     *
+     * @param maxUploadBytes Maximum compressed bytes read from the upload
+     * @param maxInflatedBytes Maximum decompressed bytes streamed, including skipped entries
+     * @param maxExtractedBytes Maximum total bytes kept in memory
+     * @param maxEntryBytes Maximum size of a single kept entry
+     * @param maxEntries Maximum number of archive entries
+     */
+    public record ArchiveLimits(
+        long maxUploadBytes,
+        long maxInflatedBytes,
+        long maxExtractedBytes,
+        long maxEntryBytes,
+        int maxEntries
+    ) {
+        /**
+         * Creates default limits.
+         */
+        public static ArchiveLimits defaults() {
+            return new ArchiveLimits(
+                20L * 1024 * 1024,      // maxUploadBytes
+                200L * 1024 * 1024,     // maxInflatedBytes
+                20L * 1024 * 1024,      // maxExtractedBytes
+                5L * 1024 * 1024,       // maxEntryBytes
+                10_000                  // maxEntries
+            );
+        }
+    }
+
+    /**
+     * In-memory repository extracted from an archive.
+     *
+     * @param fileSystem In-memory filesystem holding the files
+     * @param root Repository root within the filesystem
+     * @param filesExtracted Number of files kept
+     * @param entriesSkipped Number of entries skipped
+     */
+    public record ExtractedArchive(
+        FileSystem fileSystem,
+        Path root,
+        int filesExtracted,
+        int entriesSkipped
+    ) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            fileSystem.close();
+        }
+    }
+
+    /**
+     * Raised when an archive exceeds one of the configured limits.
+     */
+    public static class ArchiveLimitExceededException extends IOException {
+        public ArchiveLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -25,6 +25,19 @@ public class BadgeTool {
      * @return Markdown badge section
      */
     public String generateBadgeSection(String repoName, BuildSystem buildSystem, String jdkVersion, Path repoPath) {
+        return generateBadgeSection(repoName, buildSystem, jdkVersion, detectLicense(repoPath));
+    }
+
+    /**
+     * Generates a badge section from a known license instead of reading the repository.
+     *
+     * @param repoName Repository name
+     * @param buildSystem Build system
+     * @param jdkVersion JDK version
+     * @param license License identifier (e.g., "MIT"), or null for no license badge
+     * @return Markdown badge section
+     */
+    public String generateBadgeSection(String repoName, BuildSystem buildSystem, String jdkVersion, String license) {
         List<String> badges = new ArrayList<>();
 
         // Build badge
@@ -40,8 +53,7 @@ public class BadgeTool {
         }
 
         // License badge
-        String license = detectLicense(repoPath);
-        if (license != null) {
+        if (license != null && !license.isBlank()) {
             badges.add(String.format("![License](https://img.shields.io/badge/license-%s-green)", license));
         }
 
@@ -54,8 +66,11 @@ public class BadgeTool {
 
     /**
      * Detects the license type from LICENSE file.
+     *
+     * @param repoPath Repository root
+     * @return License identifier, "Custom" for an unrecognized license, or null if there is none
      */
-    private String detectLicense(Path repoPath) {
+    public String detectLicense(Path repoPath) {
         if (repoPath == null) {
             return null;
         }
@@ -1,24 +1,49 @@
 package com.baskettecase.readmewrangler.tool;
 
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Tool for consolidating multiple documentation markdown files into a single DEVELOPMENT.md.
- * Excludes Code Assistant-specific files (CLAUDE.md) and README.md.
+ * Takes docs from the repository root and, recursively, from its docs directories (docs/,
+ * doc/, documentation/). Excludes Code Assistant-specific files (CLAUDE.md) and README.md.
+ * Each subdirectory gets its own heading, and a doc's headings are demoted one level per
+ * directory it is nested in. Links between consolidated docs become links to their sections.
+ * Docs are read and cleaned concurrently, a bounded number ahead of the writer, and written
+ * to the output in file-name order, so large doc trees consolidate in bounded memory.
+ * Paragraphs repeated within a doc are dropped, and so are prose paragraphs that nearly
+ * repeat one already written from any doc, such as setup steps copied between guides.
  */
 @Component
 public class DocConsolidationTool {
 
     private static final Logger log = LoggerFactory.getLogger(DocConsolidationTool.class);
 
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    // Shorter paragraphs are too generic to drop as near-duplicates of another doc
+    private static final int MIN_NEAR_DUPLICATE_WORDS = 8;
+
     // Files to exclude from consolidation
     private static final Set<String> EXCLUDED_FILES = Set.of(
         "CLAUDE.md",
@@ -26,6 +51,21 @@ public class DocConsolidationTool {
         "DEVELOPMENT.md"
     );
 
+    /** Root directories whose docs are consolidated along with the root-level docs. */
+    public static final Set<String> DOC_DIRECTORIES = Set.of("docs", "doc", "documentation");
+
+    // Docs read and cleaned ahead of the writer, at most
+    private final int parallelism;
+
+    public DocConsolidationTool() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    @Autowired
+    public DocConsolidationTool(@Value("${wrangler.consolidation.parallelism:4}") int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     /**
      * Consolidates all documentation markdown files into DEVELOPMENT.md.
      *
@@ -34,73 +74,310 @@ public class DocConsolidationTool {
      * @throws IOException if file operations fail
      */
     public ConsolidationResult consolidateDocumentation(Path repoRoot) throws IOException {
+        return consolidateDocumentation(new RepoScannerTool().scanRepository(repoRoot));
+    }
+
+    /**
+     * Consolidates the documentation files of a scanned repository into DEVELOPMENT.md.
+     *
+     * @param snapshot Repository snapshot
+     * @return ConsolidationResult with consolidated content and files to remove
+     * @throws IOException if file operations fail
+     */
+    public ConsolidationResult consolidateDocumentation(RepoSnapshot snapshot) throws IOException {
+        StringWriter consolidated = new StringWriter();
+        List<Path> docsToConsolidate = consolidateDocumentation(snapshot, consolidated, Deadline.none());
+
+        if (docsToConsolidate.isEmpty()) {
+            return new ConsolidationResult("", List.of(), false);
+        }
+
+        return new ConsolidationResult(
+            consolidated.toString(),
+            docsToConsolidate,
+            true
+        );
+    }
+
+    /**
+     * Consolidates all documentation markdown files, streaming DEVELOPMENT.md to a sink.
+     *
+     * @param repoRoot Repository root path
+     * @param sink Receives the consolidated document; nothing is written if there are no docs
+     * @param deadline Request deadline, checked while scanning and before each doc is written
+     * @return Consolidated files (to remove), in the order they were written
+     * @throws IOException if reading a doc or writing the sink fails
+     * @throws Deadline.DeadlineExceededException if the deadline expires mid-consolidation
+     */
+    public List<Path> consolidateDocumentation(Path repoRoot, Writer sink, Deadline deadline) throws IOException {
+        return consolidateDocumentation(new RepoScannerTool().scanRepository(repoRoot, deadline), sink, deadline);
+    }
+
+    /**
+     * Consolidates the documentation files of a scanned repository, streaming DEVELOPMENT.md
+     * to a sink. Each doc is read and cleaned on its own thread. Sections are written in
+     * directory order as they become ready, so only a few docs are held in memory at a time.
+     *
+     * @param snapshot Repository snapshot; its markdown files are the candidates
+     * @param sink Receives the consolidated document; nothing is written if there are no docs
+     * @param deadline Request deadline, checked before each doc is written
+     * @return Consolidated files (to remove), in the order they were written; a doc deleted
+     *         since the snapshot was taken is skipped and not listed
+     * @throws IOException if reading a doc or writing the sink fails
+     * @throws Deadline.DeadlineExceededException if the deadline expires mid-consolidation
+     */
+    public List<Path> consolidateDocumentation(RepoSnapshot snapshot, Writer sink, Deadline deadline) throws IOException {
+        Path repoRoot = snapshot.root();
         log.info("Consolidating documentation files in {}", repoRoot);
 
-        List<Path> docsToConsolidate = findDocumentationFiles(repoRoot);
+        List<Path> docsToConsolidate = findDocumentationFiles(snapshot);
 
         if (docsToConsolidate.isEmpty()) {
             log.info("No documentation files to consolidate");
-            return new ConsolidationResult("", List.of(), false);
+            return List.of();
+        }
+
+        List<Heading> outline = outline(repoRoot, docsToConsolidate);
+        Path absoluteRoot = repoRoot.toAbsolutePath().normalize();
+        Map<Path, String> anchors = new HashMap<>();
+        for (Heading heading : outline) {
+            if (heading.doc() != null) {
+                anchors.put(heading.doc().toAbsolutePath().normalize(), heading.anchor());
+            }
         }
 
-        StringBuilder consolidated = new StringBuilder();
-        consolidated.append("# Development Guide\n\n");
-        consolidated.append("This document consolidates all development and process documentation for README Wrangler.\n\n");
-        consolidated.append("---\n\n");
+        sink.write("# Development Guide\n\n");
+        sink.write("This document consolidates all development and process documentation for README Wrangler.\n\n");
+        sink.write("---\n\n");
 
         // Add table of contents
-        consolidated.append("## Table of Contents\n\n");
-        for (Path doc : docsToConsolidate) {
-            String fileName = doc.getFileName().toString();
-            String sectionName = fileNameToSectionName(fileName);
-            String anchor = sectionName.toLowerCase().replaceAll("[^a-z0-9]+", "-");
-            consolidated.append("- [").append(sectionName).append("](#").append(anchor).append(")\n");
+        sink.write("## Table of Contents\n\n");
+        for (Heading heading : outline) {
+            sink.write("  ".repeat(heading.level() - 2) + "- [" + heading.title() + "](#" + heading.anchor() + ")\n");
         }
-        consolidated.append("\n---\n\n");
+        sink.write("\n---\n\n");
 
-        // Consolidate content from each file
-        for (Path doc : docsToConsolidate) {
-            String fileName = doc.getFileName().toString();
-            String sectionName = fileNameToSectionName(fileName);
-            String content = Files.readString(doc);
+        // Clean docs concurrently, a bounded window ahead, and write them in order
+        NearDuplicateIndex written = new NearDuplicateIndex();
+        List<Path> consolidated = new ArrayList<>(docsToConsolidate.size());
+        int nearDuplicates = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Deque<Future<Section>> pending = new ArrayDeque<>();
+            int next = 0;
+            try {
+                for (Heading heading : outline) {
+                    if (heading.doc() == null) {
+                        sink.write("#".repeat(heading.level()) + " " + heading.title() + "\n\n");
+                        continue;
+                    }
+                    while (next < docsToConsolidate.size() && pending.size() < parallelism) {
+                        Path doc = docsToConsolidate.get(next++);
+                        int depth = repoRoot.relativize(doc).getNameCount() - 1;
+                        pending.addLast(executor.submit(() -> processDoc(absoluteRoot, doc, depth, anchors)));
+                    }
+                    Section section = awaitSection(pending.removeFirst());
+                    deadline.check("consolidation");
+                    if (section == null) {
+                        continue;
+                    }
 
-            log.info("  Consolidating: {}", fileName);
+                    consolidated.add(heading.doc());
+                    sink.write("#".repeat(heading.level()) + " " + heading.title() + "\n\n");
+                    nearDuplicates += writeParagraphs(section, written, sink);
+                    sink.write("\n\n---\n\n");
+                }
+            } finally {
+                pending.forEach(f -> f.cancel(true));
+            }
+        }
 
-            consolidated.append("## ").append(sectionName).append("\n\n");
+        log.info("Consolidated {} files into DEVELOPMENT.md ({} near-duplicate paragraphs dropped)",
+            consolidated.size(), nearDuplicates);
+        return consolidated;
+    }
 
-            // Remove existing top-level heading if present
-            String processedContent = removeTopLevelHeading(content);
+    /**
+     * Lays out the section headings: one per doc, plus one per subdirectory before its first doc.
+     * Headings start at level 2 and go one level deeper per directory. Anchors follow GitHub's
+     * rules, numbering repeated titles, so the TOC and rewritten links resolve.
+     */
+    private List<Heading> outline(Path repoRoot, List<Path> docs) {
+        List<Heading> outline = new ArrayList<>();
+        Map<String, Integer> anchorCounts = new HashMap<>();
+        Path previousDir = Path.of("");
 
-            // Deduplicate and clean content
-            processedContent = deduplicateSections(processedContent);
+        for (Path doc : docs) {
+            Path dir = parentOf(repoRoot.relativize(doc));
+            int shared = 0;
+            while (shared < Math.min(dir.getNameCount(), previousDir.getNameCount())
+                && dir.getName(shared).equals(previousDir.getName(shared))) {
+                shared++;
+            }
+            for (int i = shared; i < dir.getNameCount(); i++) {
+                String title = fileNameToSectionName(dir.getName(i).toString());
+                outline.add(new Heading(i + 2, title, anchor(title, anchorCounts), null));
+            }
+            previousDir = dir;
 
-            consolidated.append(processedContent);
-            consolidated.append("\n\n---\n\n");
+            String title = fileNameToSectionName(doc.getFileName().toString());
+            outline.add(new Heading(dir.getNameCount() + 2, title, anchor(title, anchorCounts), doc));
         }
+        return outline;
+    }
 
-        log.info("Consolidated {} files into DEVELOPMENT.md", docsToConsolidate.size());
+    private static String anchor(String title, Map<String, Integer> anchorCounts) {
+        String anchor = title.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+        int seen = anchorCounts.merge(anchor, 1, Integer::sum) - 1;
+        return seen == 0 ? anchor : anchor + "-" + seen;
+    }
 
-        return new ConsolidationResult(
-            consolidated.toString(),
-            docsToConsolidate,
-            true
-        );
+    private static Path parentOf(Path relative) {
+        Path parent = relative.getParent();
+        return parent != null ? parent : Path.of("");
+    }
+
+    /**
+     * Reads one doc and cleans it into its section of the consolidated document.
+     *
+     * @param repoRoot Absolute, normalized repository root
+     * @param depth Number of directories the doc is nested in below the repository root
+     * @param anchors Section anchor of each consolidated doc, by absolute normalized path
+     * @return The section, or null if the doc no longer exists
+     */
+    private Section processDoc(Path repoRoot, Path doc, int depth, Map<Path, String> anchors) throws IOException {
+        Path docPath = doc.toAbsolutePath().normalize();
+        log.info("  Consolidating: {}", repoRoot.relativize(docPath));
+
+        String content;
+        try {
+            content = Files.readString(doc);
+        } catch (NoSuchFileException e) {
+            log.warn("  Skipping {}: deleted since the repository was scanned", repoRoot.relativize(docPath));
+            return null;
+        }
+
+        // Remove existing top-level heading if present
+        String processedContent = removeTopLevelHeading(content);
+
+        // Nest headings under the section and point links at their new targets
+        processedContent = relocate(processedContent, repoRoot, docPath.getParent(), depth, anchors);
+
+        // Deduplicate and clean content
+        List<String> paragraphs = deduplicateSections(processedContent);
+
+        // Sign here, off the writer thread; the writer only compares signatures
+        long[] signatures = new long[paragraphs.size() * NearDuplicateIndex.SIGNATURE_LENGTH];
+        boolean[] comparable = new boolean[paragraphs.size()];
+        boolean inFence = false;
+        for (int i = 0; i < paragraphs.size(); i++) {
+            String para = paragraphs.get(i);
+            int fences = countFences(para);
+            comparable[i] = !inFence && fences % 2 == 0
+                && !para.stripLeading().startsWith("#")
+                && NearDuplicateIndex.wordCount(para, 0, para.length()) >= MIN_NEAR_DUPLICATE_WORDS;
+            if (comparable[i]) {
+                NearDuplicateIndex.minHash(para, 0, para.length(), signatures, i * NearDuplicateIndex.SIGNATURE_LENGTH);
+            }
+            inFence ^= fences % 2 == 1;
+        }
+
+        return new Section(paragraphs, signatures, comparable);
+    }
+
+    /**
+     * Writes a section's paragraphs, skipping those that nearly repeat one already written.
+     *
+     * @return Number of paragraphs skipped
+     */
+    private static int writeParagraphs(Section section, NearDuplicateIndex written, Writer sink) throws IOException {
+        int skipped = 0;
+        boolean first = true;
+        for (int i = 0; i < section.paragraphs().size(); i++) {
+            if (section.comparable()[i]) {
+                int offset = i * NearDuplicateIndex.SIGNATURE_LENGTH;
+                if (written.containsNear(section.signatures(), offset)) {
+                    skipped++;
+                    continue;
+                }
+                written.add(section.signatures(), offset);
+            }
+            if (!first) {
+                sink.write("\n\n");
+            }
+            sink.write(section.paragraphs().get(i));
+            first = false;
+        }
+        return skipped;
     }
 
     /**
-     * Finds all documentation markdown files to consolidate.
+     * Counts code fence lines (```) in a paragraph, so paragraphs inside fenced code are left alone.
      */
-    private List<Path> findDocumentationFiles(Path repoRoot) throws IOException {
+    private static int countFences(String para) {
+        int fences = 0;
+        int lineStart = 0;
+        while (lineStart <= para.length()) {
+            int lineEnd = para.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = para.length();
+            }
+            int i = lineStart;
+            while (i < lineEnd && Character.isWhitespace(para.charAt(i))) {
+                i++;
+            }
+            if (para.startsWith("```", i)) {
+                fences++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return fences;
+    }
+
+    private static Section awaitSection(Future<Section> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while consolidating documentation");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Failed to consolidate documentation", cause);
+        }
+    }
+
+    /**
+     * Finds the documentation markdown files to consolidate among a snapshot's markdown files:
+     * those at the root and those anywhere under a docs directory.
+     * Docs in a directory come after the docs of its parent, each group in file-name order.
+     *
+     * @param snapshot Repository snapshot
+     * @return Docs to consolidate, in the order they are written
+     */
+    public List<Path> findDocumentationFiles(RepoSnapshot snapshot) {
+        Path repoRoot = snapshot.root();
         List<Path> docs = new ArrayList<>();
 
-        try (Stream<Path> stream = Files.list(repoRoot)) {
-            stream.filter(p -> p.getFileName().toString().endsWith(".md"))
-                .filter(p -> !EXCLUDED_FILES.contains(p.getFileName().toString()))
-                .filter(Files::isRegularFile)
-                .sorted()
-                .forEach(docs::add);
+        for (Path file : snapshot.markdownFiles()) {
+            Path relative = repoRoot.relativize(file);
+            String name = relative.getFileName().toString();
+            if (name.endsWith(".md") && !EXCLUDED_FILES.contains(name)
+                && (relative.getNameCount() == 1 || DOC_DIRECTORIES.contains(relative.getName(0).toString()))) {
+                docs.add(file);
+            }
         }
 
+        docs.sort(Comparator
+            .comparing((Path doc) -> parentOf(repoRoot.relativize(doc)).toString())
+            .thenComparing(doc -> doc.getFileName().toString()));
         return docs;
     }
 
@@ -144,24 +421,171 @@ public class DocConsolidationTool {
     }
 
     /**
-     * Basic deduplication: removes consecutive duplicate paragraphs.
+     * Moves a doc's text to its place in DEVELOPMENT.md at the repository root. Headings are
+     * demoted by the doc's depth, links to other consolidated docs become links to their
+     * sections, and other relative links are rebased onto the root. Fenced code is left as is.
+     */
+    private String relocate(String content, Path repoRoot, Path docDir, int depth, Map<Path, String> anchors) {
+        StringBuilder relocated = new StringBuilder(content.length() + 16);
+        boolean inFence = false;
+        int lineStart = 0;
+
+        while (lineStart <= content.length()) {
+            int lineEnd = content.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            String line = content.substring(lineStart, lineEnd);
+            String trimmed = line.stripLeading();
+
+            if (trimmed.startsWith("```") || trimmed.startsWith("~~~")) {
+                inFence = !inFence;
+            } else if (!inFence) {
+                line = rewriteLinks(line, repoRoot, docDir, anchors);
+                int level = 0;
+                while (level < line.length() && line.charAt(level) == '#') {
+                    level++;
+                }
+                if (depth > 0 && level > 0 && level <= 6 && (level == line.length() || line.charAt(level) == ' ')) {
+                    line = "#".repeat(Math.min(6, level + depth)) + line.substring(level);
+                }
+            }
+
+            relocated.append(line);
+            if (lineEnd < content.length()) {
+                relocated.append('\n');
+            }
+            lineStart = lineEnd + 1;
+        }
+        return relocated.toString();
+    }
+
+    /**
+     * Rewrites the relative link targets on one line.
+     */
+    private String rewriteLinks(String line, Path repoRoot, Path docDir, Map<Path, String> anchors) {
+        if (line.indexOf("](") < 0) {
+            return line;
+        }
+        StringBuilder rewritten = new StringBuilder(line.length());
+        int copied = 0;
+        for (MarkdownScanner.LinkTarget link = MarkdownScanner.findLinkTarget(line, 0); link != null;
+             link = MarkdownScanner.findLinkTarget(line, link.close())) {
+            String target = line.substring(link.start(), link.end());
+            rewritten.append(line, copied, link.start())
+                .append(relocateTarget(target, repoRoot, docDir, anchors));
+            copied = link.end();
+        }
+        return rewritten.append(line, copied, line.length()).toString();
+    }
+
+    private String relocateTarget(String target, Path repoRoot, Path docDir, Map<Path, String> anchors) {
+        if (target.startsWith("#") || target.startsWith("/") || target.contains(":")) {
+            return target;
+        }
+        int hash = target.indexOf('#');
+        String path = hash >= 0 ? target.substring(0, hash) : target;
+        String fragment = hash >= 0 ? target.substring(hash + 1) : "";
+
+        Path resolved;
+        try {
+            resolved = docDir.resolve(path).normalize();
+        } catch (InvalidPathException e) {
+            return target;
+        }
+
+        String section = anchors.get(resolved);
+        if (section != null) {
+            return "#" + (fragment.isEmpty() ? section : fragment);
+        }
+        if (docDir.equals(repoRoot) || !resolved.startsWith(repoRoot)) {
+            return target;
+        }
+        String rebased = repoRoot.relativize(resolved).toString().replace('\\', '/');
+        return hash >= 0 ? rebased + "#" + fragment : rebased;
+    }
+
+    /**
+     * Basic deduplication: removes blank paragraphs and paragraphs repeated within the doc,
+     * ignoring case and surrounding whitespace. Remembers a 64-bit hash per paragraph
+     * rather than a normalized copy of it.
      */
-    private String deduplicateSections(String content) {
+    private List<String> deduplicateSections(String content) {
         String[] paragraphs = content.split("\n\n");
         List<String> deduplicated = new ArrayList<>();
-        Set<String> seen = new HashSet<>();
+        long[] seen = new long[Integer.highestOneBit(Math.max(1, paragraphs.length)) * 4];
+        boolean seenZero = false;
 
         for (String para : paragraphs) {
-            String normalized = para.trim().toLowerCase();
-            if (!normalized.isEmpty() && !seen.contains(normalized)) {
+            int from = 0;
+            int to = para.length();
+            while (from < to && Character.isWhitespace(para.charAt(from))) {
+                from++;
+            }
+            while (to > from && Character.isWhitespace(para.charAt(to - 1))) {
+                to--;
+            }
+            if (from == to) {
+                continue;
+            }
+
+            long hash = normalizedHash(para, from, to);
+            boolean added;
+            if (hash == 0) {
+                added = !seenZero;
+                seenZero = true;
+            } else {
+                added = addHash(seen, hash);
+            }
+            if (added) {
                 deduplicated.add(para);
-                seen.add(normalized);
             }
         }
 
-        return String.join("\n\n", deduplicated);
+        return deduplicated;
     }
 
+    /**
+     * 64-bit FNV-1a hash of a span of text, lowercased.
+     */
+    private static long normalizedHash(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ Character.toLowerCase(text.charAt(i))) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Adds a non-zero hash to an open-addressed table at most half full.
+     *
+     * @return Whether the hash was absent
+     */
+    private static boolean addHash(long[] table, long hash) {
+        int mask = table.length - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == hash) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = hash;
+        return true;
+    }
+
+    /**
+     * One doc, cleaned and ready to write under its section heading. Paragraphs that may be
+     * dropped as near-duplicates are marked comparable; their MinHash signatures are stored
+     * back to back in one array.
+     */
+    private record Section(List<String> paragraphs, long[] signatures, boolean[] comparable) {}
+
+    /**
+     * A section heading in DEVELOPMENT.md, for a doc or (with a null doc) a directory of docs.
+     */
+    private record Heading(int level, String title, String anchor, Path doc) {}
+
     /**
      * Result of documentation consolidation.
      */
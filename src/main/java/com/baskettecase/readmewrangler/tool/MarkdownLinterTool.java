@@ -1,5 +1,7 @@
 package com.baskettecase.readmewrangler.tool;
 
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.Deadline.DeadlineExceededException;
 import com.baskettecase.readmewrangler.domain.PolishingFinding;
 import com.baskettecase.readmewrangler.domain.Severity;
 import org.springframework.stereotype.Component;
@@ -7,7 +9,7 @@ import org.springframework.stereotype.Component;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 /**
@@ -18,7 +20,18 @@ import java.util.regex.Pattern;
 public class MarkdownLinterTool {
 
     private static final Pattern CODE_FENCE_PATTERN = Pattern.compile("^```(.*)$", Pattern.MULTILINE);
-    private static final Pattern HEADING_PATTERN = Pattern.compile("^(#{1,6})\\s+(.*)$", Pattern.MULTILINE);
+
+    // Lines scanned between deadline checks
+    private static final int CHECK_INTERVAL = 1024;
+
+    // A sentence longer than this reads as a run-on
+    private static final int LONG_SENTENCE_WORDS = 35;
+
+    // Filler words that, used often enough, weaken a paragraph
+    private static final List<String> FILLER_WORDS = List.of(
+        "very", "really", "just", "basically", "simply", "actually", "obviously",
+        "quite", "extremely", "literally", "clearly", "easily");
+    private static final int FILLER_THRESHOLD = 3;
 
     /**
      * Lints a markdown file and returns findings.
@@ -28,10 +41,28 @@ public class MarkdownLinterTool {
      * @return List of polishing findings
      */
     public List<PolishingFinding> lint(Path file, String content) {
+        return lint(file, content, Deadline.none());
+    }
+
+    /**
+     * Lints a markdown file, stopping early if the deadline expires.
+     *
+     * @param file Path to the markdown file
+     * @param content Content of the markdown file
+     * @param deadline Request deadline checked while scanning lines
+     * @return List of polishing findings
+     * @throws DeadlineExceededException carrying the findings gathered so far
+     */
+    public List<PolishingFinding> lint(Path file, String content, Deadline deadline) {
         List<PolishingFinding> findings = new ArrayList<>();
 
-        findings.addAll(checkCodeFences(file, content));
-        findings.addAll(checkHeadings(file, content));
+        try {
+            checkCodeFences(file, content, deadline, findings);
+            checkHeadings(file, content, deadline, findings);
+            checkProse(file, content, deadline, findings);
+        } catch (DeadlineExceededException e) {
+            throw e.withPartialFindings(findings);
+        }
 
         return findings;
     }
@@ -39,12 +70,14 @@ public class MarkdownLinterTool {
     /**
      * Checks code fences for language tags.
      */
-    private List<PolishingFinding> checkCodeFences(Path file, String content) {
-        List<PolishingFinding> findings = new ArrayList<>();
+    private void checkCodeFences(Path file, String content, Deadline deadline, List<PolishingFinding> findings) {
         String[] lines = content.split("\n");
 
         boolean inCodeBlock = false;
         for (int i = 0; i < lines.length; i++) {
+            if (i % CHECK_INTERVAL == 0) {
+                deadline.check("lint");
+            }
             String line = lines[i].trim();
             if (line.startsWith("```")) {
                 if (!inCodeBlock) {
@@ -66,24 +99,23 @@ public class MarkdownLinterTool {
                 }
             }
         }
-
-        return findings;
     }
 
     /**
      * Checks heading hierarchy for consistency.
      */
-    private List<PolishingFinding> checkHeadings(Path file, String content) {
-        List<PolishingFinding> findings = new ArrayList<>();
+    private void checkHeadings(Path file, String content, Deadline deadline, List<PolishingFinding> findings) {
         String[] lines = content.split("\n");
 
         int previousLevel = 0;
         for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            Matcher matcher = HEADING_PATTERN.matcher(line);
+            if (i % CHECK_INTERVAL == 0) {
+                deadline.check("lint");
+            }
+            MarkdownScanner.AtxHeading heading = MarkdownScanner.parseAtxHeading(lines[i]);
 
-            if (matcher.matches()) {
-                int level = matcher.group(1).length();
+            if (heading != null) {
+                int level = heading.level();
 
                 if (previousLevel > 0 && level > previousLevel + 1) {
                     findings.add(PolishingFinding.forLine(
@@ -98,19 +130,232 @@ public class MarkdownLinterTool {
                 previousLevel = level;
             }
         }
+    }
 
-        return findings;
+    /**
+     * Reports paragraphs whose prose is weak (run-on sentences, filler words, repeated words).
+     */
+    private void checkProse(Path file, String content, Deadline deadline, List<PolishingFinding> findings) {
+        deadline.check("lint");
+        for (WeakParagraph paragraph : findWeakParagraphs(content)) {
+            findings.add(new PolishingFinding(
+                "weak-prose",
+                "Paragraph could be clearer: " + paragraph.reason(),
+                Severity.INFO,
+                file,
+                paragraph.startLine(),
+                paragraph.endLine()
+            ));
+        }
+    }
+
+    /**
+     * Finds prose paragraphs that read poorly, with their character spans in the content.
+     * Only plain paragraphs are considered: headings, lists, tables, quotes, HTML, images,
+     * indented code and fenced code are never flagged. Scans by index without copying lines.
+     *
+     * @param content Markdown content
+     * @return Weak paragraphs in document order
+     */
+    public List<WeakParagraph> findWeakParagraphs(String content) {
+        List<WeakParagraph> weak = new ArrayList<>();
+
+        boolean inFence = false;
+        int paragraphStart = -1;
+        int paragraphEnd = -1;
+        int paragraphLine = 0;
+        int lineNumber = 0;
+        int pos = 0;
+
+        while (pos <= content.length()) {
+            int end = content.indexOf('\n', pos);
+            if (end < 0) {
+                end = content.length();
+            }
+            lineNumber++;
+
+            // Bounds of the line without surrounding whitespace (including a CR)
+            int textStart = pos;
+            while (textStart < end && Character.isWhitespace(content.charAt(textStart))) {
+                textStart++;
+            }
+            int textEnd = end;
+            while (textEnd > textStart && Character.isWhitespace(content.charAt(textEnd - 1))) {
+                textEnd--;
+            }
+            boolean fence = content.startsWith("```", textStart) || content.startsWith("~~~", textStart);
+
+            if (!inFence && !fence && isProseLine(content, pos, textStart, textEnd)) {
+                if (paragraphStart < 0) {
+                    paragraphStart = pos;
+                    paragraphLine = lineNumber;
+                }
+                paragraphEnd = content.charAt(end - 1) == '\r' ? end - 1 : end;
+            } else {
+                if (paragraphStart >= 0) {
+                    addIfWeak(content, paragraphStart, paragraphEnd, paragraphLine, lineNumber - 1, weak);
+                    paragraphStart = -1;
+                }
+                if (fence) {
+                    inFence = !inFence;
+                }
+            }
+
+            if (end == content.length()) {
+                break;
+            }
+            pos = end + 1;
+        }
+        if (paragraphStart >= 0) {
+            addIfWeak(content, paragraphStart, paragraphEnd, paragraphLine, lineNumber, weak);
+        }
+
+        return weak;
+    }
+
+    private static void addIfWeak(String content, int start, int end, int startLine, int endLine,
+                                  List<WeakParagraph> weak) {
+        String reason = proseWeakness(content, start, end);
+        if (reason != null) {
+            weak.add(new WeakParagraph(start, end, startLine, endLine, reason));
+        }
+    }
+
+    /**
+     * Checks whether a line can belong to a plain prose paragraph.
+     *
+     * @param content Document content
+     * @param lineStart Offset of the line
+     * @param textStart Offset of its first non-whitespace character
+     * @param textEnd Offset just past its last non-whitespace character
+     */
+    private static boolean isProseLine(String content, int lineStart, int textStart, int textEnd) {
+        if (textStart == textEnd || content.startsWith("    ", lineStart) || content.charAt(lineStart) == '\t') {
+            return false;
+        }
+        char first = content.charAt(textStart);
+        if (first == '#' || first == '|' || first == '>' || first == '<' || first == '!'
+            || first == '=' || content.startsWith("[![", textStart)) {
+            return false;
+        }
+        // Bullets, thematic breaks and setext underlines
+        if ((first == '-' || first == '*' || first == '+')
+            && (textEnd - textStart == 1
+                || content.charAt(textStart + 1) == ' ' || content.charAt(textStart + 1) == first)) {
+            return false;
+        }
+        // Ordered list items
+        int digits = textStart;
+        while (digits < textEnd && Character.isDigit(content.charAt(digits))) {
+            digits++;
+        }
+        return !(digits > textStart && digits < textEnd
+            && (content.charAt(digits) == '.' || content.charAt(digits) == ')'));
+    }
+
+    /**
+     * Describes why a paragraph reads poorly, or returns null if it reads fine.
+     * Words are compared in place, so only a flagged paragraph allocates.
+     */
+    private static String proseWeakness(String text, int from, int to) {
+        int sentenceWords = 0;
+        int longest = 0;
+        int fillers = 0;
+        int previousStart = -1;
+        int previousEnd = -1;
+        int repeatedStart = -1;
+        int repeatedEnd = -1;
+
+        int i = from;
+        while (i < to) {
+            while (i < to && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int tokenStart = i;
+            while (i < to && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (tokenStart == i) {
+                break;
+            }
+
+            // The word is the token without leading and trailing punctuation
+            int wordStart = tokenStart;
+            int wordEnd = i;
+            while (wordStart < wordEnd && !Character.isLetterOrDigit(text.charAt(wordStart))) {
+                wordStart++;
+            }
+            while (wordEnd > wordStart && !Character.isLetterOrDigit(text.charAt(wordEnd - 1))) {
+                wordEnd--;
+            }
+            int length = wordEnd - wordStart;
+
+            sentenceWords++;
+            if (isFillerWord(text, wordStart, length)) {
+                fillers++;
+            }
+            if (repeatedStart < 0 && length > 0 && Character.isLetter(text.charAt(wordStart))
+                && previousEnd - previousStart == length
+                && text.regionMatches(true, previousStart, text, wordStart, length)) {
+                repeatedStart = wordStart;
+                repeatedEnd = wordEnd;
+            }
+            previousStart = wordStart;
+            previousEnd = wordEnd;
+
+            char last = text.charAt(i - 1);
+            if (last == '.' || last == '!' || last == '?') {
+                longest = Math.max(longest, sentenceWords);
+                sentenceWords = 0;
+                previousStart = -1;
+                previousEnd = -1;
+            }
+        }
+        longest = Math.max(longest, sentenceWords);
+
+        if (longest > LONG_SENTENCE_WORDS) {
+            return "sentence of " + longest + " words";
+        }
+        if (fillers >= FILLER_THRESHOLD) {
+            return fillers + " filler words";
+        }
+        if (repeatedStart >= 0) {
+            return "repeated word '" + text.substring(repeatedStart, repeatedEnd).toLowerCase(Locale.ROOT) + "'";
+        }
+        return null;
+    }
+
+    private static boolean isFillerWord(String text, int start, int length) {
+        for (String filler : FILLER_WORDS) {
+            if (filler.length() == length && text.regionMatches(true, start, filler, 0, length)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Counts headings in content.
      */
     public int countHeadings(String content) {
-        Matcher matcher = HEADING_PATTERN.matcher(content);
         int count = 0;
-        while (matcher.find()) {
-            count++;
+        for (String line : content.split("\n", -1)) {
+            if (MarkdownScanner.parseAtxHeading(line) != null) {
+                count++;
+            }
         }
         return count;
     }
+
+    /**
+     * A prose paragraph flagged as weak.
+     *
+     * @param startOffset Offset of the paragraph's first character
+     * @param endOffset Offset just past its last character (excluding the line break)
+     * @param startLine First line (1-indexed)
+     * @param endLine Last line (1-indexed)
+     * @param reason Why the paragraph was flagged
+     */
+    public record WeakParagraph(int startOffset, int endOffset, int startLine, int endLine, String reason) {
+    }
 }
@@ -0,0 +1,245 @@
+package com.baskettecase.readmewrangler.tool;
+
+/**
+ * Linear-time scanners for the markdown constructs the tools rewrite on every document.
+ * These replace backtracking regexes on user-supplied text: each method looks at every
+ * character a bounded number of times, so run time grows with input size only and a
+ * crafted README cannot pin a CPU.
+ */
+final class MarkdownScanner {
+
+    /** Deepest ATX heading level. */
+    static final int MAX_HEADING_LEVEL = 6;
+
+    private static final String TOC_TITLE = "Table of Contents";
+
+    private static final char LINE_SEPARATOR = (char) 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = (char) 0x2029;
+
+    private MarkdownScanner() {
+    }
+
+    /**
+     * Parses a single line as an ATX heading: one to six '#' at the start of the line, then at
+     * least one space or tab, then the title. Matches what {@code ^(#{1,6})\s+(.*)$} accepts
+     * for one line.
+     *
+     * @param line A line without its terminator
+     * @return The heading, or null if the line is not one
+     */
+    static AtxHeading parseAtxHeading(String line) {
+        int level = 0;
+        while (level < line.length() && line.charAt(level) == '#') {
+            level++;
+        }
+        if (level == 0 || level > MAX_HEADING_LEVEL || level == line.length() || !isSpaceOrTab(line.charAt(level))) {
+            return null;
+        }
+        return new AtxHeading(level, line.substring(level + 1).trim());
+    }
+
+    /**
+     * Checks whether a line is a setext underline: two or more of the marker and nothing else.
+     */
+    static boolean isUnderline(String line, char marker) {
+        if (line.length() < 2) {
+            return false;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) != marker) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a line is a setext underline of either '=' or '-'.
+     */
+    static boolean isUnderline(String line) {
+        return !line.isEmpty() && isUnderline(line, line.charAt(0)) && (line.charAt(0) == '=' || line.charAt(0) == '-');
+    }
+
+    /**
+     * Removes spaces and tabs at the end of every line. Equivalent to {@code (?m)[ \t]+$}, which
+     * backtracks quadratically on a long run of blanks that is not at the end of a line.
+     */
+    static String stripTrailingBlanks(String content) {
+        StringBuilder result = null;
+        int copied = 0;
+        int i = 0;
+        while (i < content.length()) {
+            char c = content.charAt(i);
+            if (!isSpaceOrTab(c)) {
+                i++;
+                continue;
+            }
+            int runStart = i;
+            while (i < content.length() && isSpaceOrTab(content.charAt(i))) {
+                i++;
+            }
+            if (i == content.length() || isLineTerminator(content.charAt(i))) {
+                if (result == null) {
+                    result = new StringBuilder(content.length());
+                }
+                result.append(content, copied, runStart);
+                copied = i;
+            }
+        }
+        if (result == null) {
+            return content;
+        }
+        return result.append(content, copied, content.length()).toString();
+    }
+
+    /**
+     * Creates a GitHub-style anchor: lowercase letters and digits, with each run of whitespace
+     * and hyphens collapsed to one hyphen and no hyphen at either end. Other characters are dropped.
+     */
+    static String slug(String heading) {
+        String lower = heading.toLowerCase();
+        StringBuilder anchor = new StringBuilder(lower.length());
+        boolean pendingHyphen = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingHyphen && !anchor.isEmpty()) {
+                    anchor.append('-');
+                }
+                pendingHyphen = false;
+                anchor.append(c);
+            } else if (c == '-' || isRegexWhitespace(c)) {
+                pendingHyphen = true;
+            }
+        }
+        return anchor.toString();
+    }
+
+    /**
+     * Finds a TOC marker anywhere in the content: {@code <!-- toc -->} or {@code ## Table of Contents},
+     * case-insensitive and with optional whitespace inside. Equivalent to
+     * {@code (?i)<!--\s*toc\s*-->|##\s*Table of Contents}.
+     */
+    static boolean containsTocMarker(String content) {
+        for (int i = content.indexOf('<'); i >= 0; i = content.indexOf('<', i + 1)) {
+            if (content.startsWith("<!--", i)) {
+                int toc = skipWhitespace(content, i + 4);
+                if (content.regionMatches(true, toc, "toc", 0, 3)
+                    && content.startsWith("-->", skipWhitespace(content, toc + 3))) {
+                    return true;
+                }
+            }
+        }
+        for (int i = content.indexOf("##"); i >= 0; i = content.indexOf("##", i + 1)) {
+            if (content.regionMatches(true, skipWhitespace(content, i + 2), TOC_TITLE, 0, TOC_TITLE.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the next inline link target at or after {@code from}: "](", one or more characters
+     * other than ')' and whitespace, an optional whitespace-separated "title", then ')'. Finds what
+     * {@code \]\(([^)\s]+)(?:\s+"[^"]*")?\)} finds. That regex rescans the rest of the line from
+     * every "](" that is not closed; this scan stops at the first whitespace or ')', reuses that
+     * stop for every "](" before it, and gives up once no ')' is left.
+     *
+     * @param content Text to search
+     * @param from Index to search from
+     * @return The link target, or null if there are no more links
+     */
+    static LinkTarget findLinkTarget(String content, int from) {
+        int nextClose = -1;
+        int stop = -1;
+        int close = -1;
+        for (int i = content.indexOf("](", from); i >= 0; i = content.indexOf("](", i + 2)) {
+            int start = i + 2;
+            if (nextClose < start) {
+                nextClose = content.indexOf(')', start);
+                if (nextClose < 0) {
+                    return null;
+                }
+            }
+            if (start > stop) {
+                stop = start;
+                while (stop < content.length() && content.charAt(stop) != ')' && !isRegexWhitespace(content.charAt(stop))) {
+                    stop++;
+                }
+                close = closeLink(content, stop);
+            }
+            if (stop > start && close >= 0) {
+                return new LinkTarget(start, stop, close);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Matches the optional title and the ')' after a link target ending at {@code stop}.
+     *
+     * @return Index after the ')', or -1 if the link is not closed there
+     */
+    private static int closeLink(String content, int stop) {
+        if (stop == content.length()) {
+            return -1;
+        }
+        if (content.charAt(stop) == ')') {
+            return stop + 1;
+        }
+        int quote = skipWhitespace(content, stop);
+        if (quote == content.length() || content.charAt(quote) != '"') {
+            return -1;
+        }
+        int endQuote = content.indexOf('"', quote + 1);
+        if (endQuote < 0 || endQuote + 1 == content.length() || content.charAt(endQuote + 1) != ')') {
+            return -1;
+        }
+        return endQuote + 2;
+    }
+
+    private static int skipWhitespace(String content, int from) {
+        int i = from;
+        while (i < content.length() && isRegexWhitespace(content.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static boolean isSpaceOrTab(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    /**
+     * Characters matched by {@code \s} without UNICODE_CHARACTER_CLASS.
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Characters before which a MULTILINE {@code $} matches.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR;
+    }
+
+    /**
+     * An ATX heading line.
+     *
+     * @param level Number of leading '#' (1-6)
+     * @param title Heading text, trimmed
+     */
+    record AtxHeading(int level, String title) {
+    }
+
+    /**
+     * An inline link target.
+     *
+     * @param start Index of the target's first character
+     * @param end Index after the target's last character
+     * @param close Index after the link's closing ')'
+     */
+    record LinkTarget(int start, int end, int close) {
+    }
+}
@@ -0,0 +1,457 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits model calls under the provider's limits, so batch runs slow down instead of failing.
+ * Each model has its own gate. A gate allows a bounded number of calls in flight and meters
+ * estimated tokens through a tokens-per-minute bucket. It queues callers in two lanes, and
+ * interactive callers are always admitted before batch callers. A 429 response halves the
+ * model's concurrency, pauses the gate with exponential backoff (or the server's Retry-After)
+ * and retries the call. Each success after that raises the concurrency by one, up to the
+ * configured cap. Waiting callers give up as soon as their request deadline expires.
+ */
+@Component
+public class ModelCallScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelCallScheduler.class);
+
+    // Longest wait between admission checks, so cancelled callers leave the queue promptly
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final ThreadLocal<Lane> CURRENT_LANE = ThreadLocal.withInitial(() -> Lane.INTERACTIVE);
+
+    /**
+     * Queue a model call waits in. Interactive calls are admitted ahead of any batch call.
+     */
+    public enum Lane {
+        INTERACTIVE,
+        BATCH
+    }
+
+    private final int maxConcurrentPerModel;
+    private final long tokensPerMinute;
+    private final int maxRetries;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Map<String, ModelGate> gates = new ConcurrentHashMap<>();
+    private final AtomicLong throttled = new AtomicLong();
+    private final Map<Lane, Timer> waitTimers = new EnumMap<>(Lane.class);
+
+    @Autowired
+    public ModelCallScheduler(
+        @Value("${wrangler.llm.maxConcurrentPerModel:4}") int maxConcurrentPerModel,
+        @Value("${wrangler.llm.tokensPerMinute:30000}") long tokensPerMinute,
+        @Value("${wrangler.llm.maxRetries:4}") int maxRetries,
+        @Value("${wrangler.llm.backoff.initial:1s}") Duration initialBackoff,
+        @Value("${wrangler.llm.backoff.max:30s}") Duration maxBackoff,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(maxConcurrentPerModel, tokensPerMinute, maxRetries, initialBackoff, maxBackoff);
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * Creates a scheduler with explicit limits.
+     *
+     * @param maxConcurrentPerModel Calls in flight per model (at least 1)
+     * @param tokensPerMinute Estimated tokens admitted per model per minute (0 or less for no limit)
+     * @param maxRetries Retries of a rate-limited call before its 429 is rethrown
+     * @param initialBackoff First pause after a 429
+     * @param maxBackoff Longest pause after repeated 429s
+     */
+    public ModelCallScheduler(
+        int maxConcurrentPerModel,
+        long tokensPerMinute,
+        int maxRetries,
+        Duration initialBackoff,
+        Duration maxBackoff
+    ) {
+        this.maxConcurrentPerModel = Math.max(1, maxConcurrentPerModel);
+        this.tokensPerMinute = tokensPerMinute;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialBackoffNanos = Math.max(1, initialBackoff.toNanos());
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Creates a scheduler that admits every call at once and never retries.
+     */
+    public static ModelCallScheduler unlimited() {
+        return new ModelCallScheduler(Integer.MAX_VALUE, 0, 0, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    /**
+     * Runs work with its model calls queued in the given lane. Work that fans out to other
+     * threads must call this on each of them.
+     *
+     * @param lane Lane for model calls made by this thread while the work runs
+     * @param work Work to run
+     * @return The work's result
+     * @throws Exception if the work fails
+     */
+    public static <T> T inLane(Lane lane, Callable<T> work) throws Exception {
+        Lane previous = CURRENT_LANE.get();
+        CURRENT_LANE.set(lane);
+        try {
+            return work.call();
+        } finally {
+            CURRENT_LANE.set(previous);
+        }
+    }
+
+    /**
+     * Lane of model calls made by the current thread.
+     */
+    public static Lane currentLane() {
+        return CURRENT_LANE.get();
+    }
+
+    /**
+     * Calls a model once admitted by its gate, retrying while the provider rate-limits.
+     *
+     * @param model Chat model
+     * @param prompt Prompt to send
+     * @param estimatedTokens Prompt plus completion tokens the call is expected to use
+     * @param deadline Request deadline, checked while the call waits for admission
+     * @return Model response
+     * @throws Deadline.DeadlineExceededException if the deadline expires while waiting
+     * @throws RuntimeException the model's error, or its last 429 once retries are exhausted
+     */
+    public ChatResponse call(ChatModel model, Prompt prompt, int estimatedTokens, Deadline deadline) {
+        ModelGate gate = gates.computeIfAbsent(modelName(model), ModelGate::new);
+        Lane lane = currentLane();
+
+        for (int attempt = 0; ; attempt++) {
+            long queuedAt = System.nanoTime();
+            gate.acquire(lane, estimatedTokens, deadline);
+            Timer timer = waitTimers.get(lane);
+            if (timer != null) {
+                timer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            }
+
+            ChatResponse response;
+            try {
+                response = model.call(prompt);
+            } catch (RuntimeException e) {
+                Duration retryAfter = rateLimitDelay(e);
+                if (retryAfter == null) {
+                    gate.release(false, estimatedTokens, estimatedTokens);
+                    throw e;
+                }
+                throttled.incrementAndGet();
+                gate.throttle(retryAfter.toNanos(), estimatedTokens);
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.debug("Model {} rate limited; retry {} of {}", gate.model, attempt + 1, maxRetries);
+                continue;
+            }
+
+            gate.release(true, usedTokens(response, estimatedTokens), estimatedTokens);
+            return response;
+        }
+    }
+
+    /**
+     * Name a model's calls are gated under: its configured model, or its class.
+     */
+    static String modelName(ChatModel model) {
+        ChatOptions options = model.getDefaultOptions();
+        if (options != null && options.getModel() != null) {
+            return options.getModel();
+        }
+        return model.getClass().getName();
+    }
+
+    private static int usedTokens(ChatResponse response, int estimatedTokens) {
+        Usage usage = response != null && response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+        Integer total = usage != null ? usage.getTotalTokens() : null;
+        return total != null && total > 0 ? total : estimatedTokens;
+    }
+
+    /**
+     * Returns the pause a 429 asks for (zero when it names none), or null if the error is not a 429.
+     * Spring AI reports provider errors as "429 - body" messages; raw HTTP errors carry Retry-After.
+     */
+    static Duration rateLimitDelay(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RestClientResponseException http && http.getStatusCode().value() == 429) {
+                String retryAfter = http.getResponseHeaders() != null
+                    ? http.getResponseHeaders().getFirst("Retry-After")
+                    : null;
+                return parseRetryAfter(retryAfter);
+            }
+            String message = t.getMessage();
+            if (message != null && (message.startsWith("429 ") || message.contains("429 Too Many Requests"))) {
+                return Duration.ZERO;
+            }
+        }
+        return null;
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        if (value == null) {
+            return Duration.ZERO;
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            // HTTP-date form: fall back to the gate's own backoff
+            return Duration.ZERO;
+        }
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("wrangler.llm.throttled", throttled, AtomicLong::get)
+            .description("Model calls rejected with 429 by the provider")
+            .register(registry);
+        for (Lane lane : Lane.values()) {
+            waitTimers.put(lane, Timer.builder("wrangler.llm.queue.wait")
+                .tag("lane", lane.name().toLowerCase())
+                .description("Time model calls waited for admission")
+                .register(registry));
+        }
+    }
+
+    /**
+     * Number of calls the provider rejected with 429.
+     */
+    public long throttledCalls() {
+        return throttled.get();
+    }
+
+    /**
+     * Current concurrency limit of a model, which drops after 429s and recovers on success.
+     */
+    public int concurrencyLimit(String model) {
+        ModelGate gate = gates.get(model);
+        return gate != null ? gate.currentLimit() : maxConcurrentPerModel;
+    }
+
+    /**
+     * Number of calls waiting for admission to a model in a lane.
+     */
+    int waiting(String model, Lane lane) {
+        ModelGate gate = gates.get(model);
+        return gate != null ? gate.waiting(lane) : 0;
+    }
+
+    /**
+     * Number of calls to a model currently in flight.
+     */
+    int inFlight(String model) {
+        ModelGate gate = gates.get(model);
+        return gate != null ? gate.inFlight() : 0;
+    }
+
+    /**
+     * Admission state of one model.
+     */
+    private final class ModelGate {
+
+        private final String model;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Map<Lane, ArrayDeque<Object>> queues = new EnumMap<>(Lane.class);
+        private final TokenBucket bucket;
+        private int limit = maxConcurrentPerModel;
+        private int inFlight;
+        private long pausedUntil;
+        private long backoffNanos = initialBackoffNanos;
+
+        ModelGate(String model) {
+            this.model = model;
+            for (Lane lane : Lane.values()) {
+                queues.put(lane, new ArrayDeque<>());
+            }
+            this.bucket = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute, System.nanoTime()) : null;
+        }
+
+        void acquire(Lane lane, int tokens, Deadline deadline) {
+            Object ticket = new Object();
+            lock.lock();
+            try {
+                queues.get(lane).addLast(ticket);
+                while (true) {
+                    deadline.check("model-queue");
+                    long now = System.nanoTime();
+                    long delay = admissionDelay(lane, ticket, tokens, now);
+                    if (delay == 0) {
+                        inFlight++;
+                        if (bucket != null) {
+                            bucket.take(tokens, now);
+                        }
+                        return;
+                    }
+                    try {
+                        changed.awaitNanos(Math.min(delay, POLL_NANOS));
+                    } catch (InterruptedException e) {
+                        // Restore the flag; the deadline check treats interruption as cancellation
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } finally {
+                queues.get(lane).remove(ticket);
+                changed.signalAll();
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Nanoseconds until the ticket might be admitted, or 0 to admit it now.
+         */
+        private long admissionDelay(Lane lane, Object ticket, int tokens, long now) {
+            if (queues.get(lane).peekFirst() != ticket
+                || lane != Lane.INTERACTIVE && !queues.get(Lane.INTERACTIVE).isEmpty()
+                || inFlight >= limit) {
+                return POLL_NANOS;
+            }
+            if (now - pausedUntil < 0) {
+                return pausedUntil - now;
+            }
+            return bucket != null ? bucket.delayNanos(tokens, now) : 0;
+        }
+
+        void release(boolean succeeded, int usedTokens, int estimatedTokens) {
+            lock.lock();
+            try {
+                inFlight--;
+                if (bucket != null) {
+                    bucket.adjust(usedTokens - estimatedTokens);
+                }
+                if (succeeded) {
+                    if (limit < maxConcurrentPerModel) {
+                        limit++;
+                    }
+                    backoffNanos = initialBackoffNanos;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void throttle(long retryAfterNanos, int estimatedTokens) {
+            lock.lock();
+            try {
+                inFlight--;
+                if (bucket != null) {
+                    // The provider rejected the call, so its tokens were not spent
+                    bucket.adjust(-estimatedTokens);
+                }
+                limit = Math.max(1, limit / 2);
+                long pause = Math.max(retryAfterNanos, backoffNanos);
+                pausedUntil = Math.max(pausedUntil, System.nanoTime() + pause);
+                backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+                log.warn("Model {} rate limited: pausing {} ms, concurrency limit now {}",
+                    model, TimeUnit.NANOSECONDS.toMillis(pause), limit);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int waiting(Lane lane) {
+            lock.lock();
+            try {
+                return queues.get(lane).size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int inFlight() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int currentLimit() {
+            lock.lock();
+            try {
+                return limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously at a per-minute rate, holding at most one minute of tokens.
+     * A call larger than the bucket waits for a full bucket and drives it negative, so calls after
+     * it wait out the overdraft. Not thread-safe; guarded by its gate's lock.
+     */
+    static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long updatedAt;
+
+        TokenBucket(long tokensPerMinute, long now) {
+            this.capacity = tokensPerMinute;
+            this.tokensPerNano = tokensPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        /**
+         * Nanoseconds until the bucket can admit a call of the given size.
+         */
+        long delayNanos(long cost, long now) {
+            refill(now);
+            double needed = Math.min(cost, capacity);
+            if (tokens >= needed) {
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((needed - tokens) / tokensPerNano));
+        }
+
+        void take(long cost, long now) {
+            refill(now);
+            tokens -= cost;
+        }
+
+        /**
+         * Corrects the bucket once a call's actual use is known (positive when it used more).
+         */
+        void adjust(long extra) {
+            tokens = Math.min(capacity, tokens - extra);
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+            updatedAt = now;
+        }
+    }
+}
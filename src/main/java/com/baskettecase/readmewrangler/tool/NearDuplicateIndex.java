@@ -0,0 +1,210 @@
+package com.baskettecase.readmewrangler.tool;
+
+import java.util.Arrays;
+
+/**
+ * Finds near-duplicate paragraphs by MinHash, using primitive arrays only.
+ * A paragraph's signature is {@value #SIGNATURE_LENGTH} minimum hashes over its lowercased words
+ * and adjacent word pairs; the share of equal minimums estimates how much two paragraphs overlap.
+ * Paragraphs overlapping by at least {@value #SIMILARITY_PERCENT}% are near-duplicates.
+ * Signatures are split into bands of a few hashes, and each band indexes signatures by value,
+ * so a lookup only compares signatures that share a band and a whole docs tree is checked in
+ * roughly linear time. Signatures live in one flat {@code long[]}, not per-paragraph objects.
+ * Not thread-safe; signatures can be computed anywhere, but one thread owns the index.
+ */
+public final class NearDuplicateIndex {
+
+    /** Number of hashes in a paragraph's signature. */
+    public static final int SIGNATURE_LENGTH = 32;
+
+    /** Least estimated overlap, in percent, between near-duplicate paragraphs. */
+    public static final int SIMILARITY_PERCENT = 70;
+
+    // 8 bands of 4 hashes: pairs overlapping by 70% share a band about 9 times in 10, by 80% 99 in 100
+    private static final int ROWS = 4;
+    private static final int BANDS = SIGNATURE_LENGTH / ROWS;
+    private static final int MIN_EQUAL = (SIGNATURE_LENGTH * SIMILARITY_PERCENT + 99) / 100;
+    private static final int MAX_TABLE_BITS = 20;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed += 0x9e3779b97f4a7c15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    private long[] signatures = new long[64 * SIGNATURE_LENGTH];
+    private int size;
+
+    // Per band: bucket heads by band hash, and the next signature in the same bucket
+    private int tableBits = 8;
+    private int[][] heads = newHeads(tableBits);
+    private int[][] next = new int[BANDS][64];
+
+    /**
+     * Checks whether a near-duplicate of a signature has been added.
+     *
+     * @param signature Array holding the signature
+     * @param offset Index of the signature's first hash
+     */
+    public boolean containsNear(long[] signature, int offset) {
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bucket(bandHash(signature, offset, band));
+            for (int i = heads[band][bucket]; i >= 0; i = next[band][i]) {
+                if (equalHashes(signature, offset, i * SIGNATURE_LENGTH) >= MIN_EQUAL) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a signature to the index.
+     *
+     * @param signature Array holding the signature
+     * @param offset Index of the signature's first hash
+     */
+    public void add(long[] signature, int offset) {
+        if ((size + 1) * SIGNATURE_LENGTH > signatures.length) {
+            signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            for (int band = 0; band < BANDS; band++) {
+                next[band] = Arrays.copyOf(next[band], next[band].length * 2);
+            }
+        }
+        System.arraycopy(signature, offset, signatures, size * SIGNATURE_LENGTH, SIGNATURE_LENGTH);
+        link(size);
+        size++;
+
+        // Keep buckets short by growing the tables with the index
+        if (size > (1 << tableBits) && tableBits < MAX_TABLE_BITS) {
+            tableBits++;
+            heads = newHeads(tableBits);
+            for (int i = 0; i < size; i++) {
+                link(i);
+            }
+        }
+    }
+
+    /**
+     * Number of signatures added.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void link(int index) {
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bucket(bandHash(signatures, index * SIGNATURE_LENGTH, band));
+            next[band][index] = heads[band][bucket];
+            heads[band][bucket] = index;
+        }
+    }
+
+    private int equalHashes(long[] signature, int offset, int stored) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (signature[offset + i] == signatures[stored + i]) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    private int bucket(long bandHash) {
+        return (int) (bandHash ^ (bandHash >>> 32)) & ((1 << tableBits) - 1);
+    }
+
+    private static long bandHash(long[] signature, int offset, int band) {
+        long hash = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = mix(hash * 31 + signature[offset + i]);
+        }
+        return hash;
+    }
+
+    private static int[][] newHeads(int bits) {
+        int[][] heads = new int[BANDS][1 << bits];
+        for (int[] band : heads) {
+            Arrays.fill(band, -1);
+        }
+        return heads;
+    }
+
+    /**
+     * Computes the MinHash signature of a span of text over its lowercased words and adjacent
+     * word pairs, ignoring punctuation and whitespace. Scans in place without allocating per word.
+     *
+     * @param text Text to sign
+     * @param from Start offset (inclusive)
+     * @param to End offset (exclusive)
+     * @param signature Receives {@value #SIGNATURE_LENGTH} hashes
+     * @param offset Index in {@code signature} of the first hash
+     */
+    public static void minHash(CharSequence text, int from, int to, long[] signature, int offset) {
+        Arrays.fill(signature, offset, offset + SIGNATURE_LENGTH, Long.MAX_VALUE);
+        long word = FNV_OFFSET;
+        boolean inWord = false;
+        long previous = 0;
+        boolean hasPrevious = false;
+
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word = (word ^ Character.toLowerCase(c)) * FNV_PRIME;
+                inWord = true;
+            } else if (inWord) {
+                long feature = mix(word);
+                addFeature(signature, offset, feature);
+                if (hasPrevious) {
+                    addFeature(signature, offset, mix(previous * 31 + feature));
+                }
+                previous = feature;
+                hasPrevious = true;
+                word = FNV_OFFSET;
+                inWord = false;
+            }
+        }
+    }
+
+    /**
+     * Counts the words in a span of text, as {@link #minHash} splits them.
+     */
+    public static int wordCount(CharSequence text, int from, int to) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = from; i < to; i++) {
+            boolean letter = Character.isLetterOrDigit(text.charAt(i));
+            if (letter && !inWord) {
+                words++;
+            }
+            inWord = letter;
+        }
+        return words;
+    }
+
+    private static void addFeature(long[] signature, int offset, long feature) {
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            long hash = mix(feature ^ SEEDS[i]);
+            if (hash < signature[offset + i]) {
+                signature[offset + i] = hash;
+            }
+        }
+    }
+
+    // MurmurHash3 finalizer, so similar inputs get unrelated hashes
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,8 +1,10 @@
 package com.baskettecase.readmewrangler.tool;
 
+import com.baskettecase.readmewrangler.domain.Deadline;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -19,6 +21,9 @@ public class PatchBuilderTool {
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z")
             .withZone(ZoneId.systemDefault());
 
+    // Lines diffed between deadline checks
+    private static final int CHECK_INTERVAL = 256;
+
     /**
      * Creates a unified diff between original and modified content.
      *
@@ -28,6 +33,42 @@ public class PatchBuilderTool {
      * @return Unified diff string
      */
     public String createUnifiedDiff(Path filePath, String original, String modified) {
+        return createUnifiedDiff(filePath, original, modified, Deadline.none());
+    }
+
+    /**
+     * Creates a unified diff, checking the deadline while comparing lines.
+     *
+     * @param filePath Path to the file being patched
+     * @param original Original content
+     * @param modified Modified content
+     * @param deadline Request deadline
+     * @return Unified diff string
+     * @throws Deadline.DeadlineExceededException if the deadline expires mid-diff
+     */
+    public String createUnifiedDiff(Path filePath, String original, String modified, Deadline deadline) {
+        return createUnifiedDiff(filePath, original, modified, deadline, 0);
+    }
+
+    /**
+     * Creates a unified diff, stopping as soon as it has emitted more changed lines than allowed.
+     *
+     * @param filePath Path to the file being patched
+     * @param original Original content
+     * @param modified Modified content
+     * @param deadline Request deadline
+     * @param maxChanges Maximum added plus removed lines (0 or less for no limit)
+     * @return Unified diff string
+     * @throws ChangeLimitExceededException if the diff exceeds maxChanges
+     * @throws Deadline.DeadlineExceededException if the deadline expires mid-diff
+     */
+    public String createUnifiedDiff(
+        Path filePath,
+        String original,
+        String modified,
+        Deadline deadline,
+        int maxChanges
+    ) {
         if (original.equals(modified)) {
             return "";
         }
@@ -43,7 +84,8 @@ public class PatchBuilderTool {
         String[] modifiedLines = modified.split("\n", -1);
 
         // Simple line-by-line diff (for production, use a proper diff library)
-        diff.append(createSimpleDiff(originalLines, modifiedLines));
+        diff.append(createSimpleDiff(originalLines, modifiedLines, deadline,
+            maxChanges > 0 ? maxChanges : Integer.MAX_VALUE));
 
         return diff.toString();
     }
@@ -52,24 +94,37 @@ public class PatchBuilderTool {
      * Creates a simple line-by-line diff.
      * For production use, integrate with a proper diff library like java-diff-utils.
      */
-    private String createSimpleDiff(String[] original, String[] modified) {
+    private String createSimpleDiff(String[] original, String[] modified, Deadline deadline, int maxChanges) {
         StringBuilder result = new StringBuilder();
+        int changes = 0;
 
         result.append("@@ -1,").append(original.length)
               .append(" +1,").append(modified.length)
               .append(" @@\n");
 
         // Show removed lines
-        for (String line : original) {
-            if (!contains(modified, line)) {
-                result.append("-").append(line).append("\n");
+        for (int i = 0; i < original.length; i++) {
+            if (i % CHECK_INTERVAL == 0) {
+                deadline.check("diff");
+            }
+            if (!contains(modified, original[i])) {
+                if (++changes > maxChanges) {
+                    throw new ChangeLimitExceededException("diff", maxChanges);
+                }
+                result.append("-").append(original[i]).append("\n");
             }
         }
 
         // Show added lines
-        for (String line : modified) {
-            if (!contains(original, line)) {
-                result.append("+").append(line).append("\n");
+        for (int i = 0; i < modified.length; i++) {
+            if (i % CHECK_INTERVAL == 0) {
+                deadline.check("diff");
+            }
+            if (!contains(original, modified[i])) {
+                if (++changes > maxChanges) {
+                    throw new ChangeLimitExceededException("diff", maxChanges);
+                }
+                result.append("+").append(modified[i]).append("\n");
             }
         }
 
@@ -96,6 +151,101 @@ public class PatchBuilderTool {
         return false;
     }
 
+    /**
+     * Estimates the changed lines (removed plus added) between two versions of a document
+     * in one linear pass, without splitting either into lines. Common leading and trailing
+     * lines are skipped; if the remaining regions have the same number of lines they are
+     * compared line by line, otherwise every line in both regions counts as changed.
+     * Used by the rewrite passes to enforce the change budget before a diff is built.
+     *
+     * @param original Original content
+     * @param modified Modified content
+     * @return Estimated number of added plus removed lines
+     */
+    public int estimateChanges(String original, String modified) {
+        if (original.equals(modified)) {
+            return 0;
+        }
+
+        // Common prefix, backed off to the start of the line it ends in
+        int limit = Math.min(original.length(), modified.length());
+        int start = 0;
+        while (start < limit && original.charAt(start) == modified.charAt(start)) {
+            start++;
+        }
+        start = original.lastIndexOf('\n', start - 1) + 1;
+
+        // Common suffix, ending just after a line break and never overlapping the prefix
+        int endOriginal = original.length();
+        int endModified = modified.length();
+        while (endOriginal > start && endModified > start
+            && original.charAt(endOriginal - 1) == modified.charAt(endModified - 1)) {
+            endOriginal--;
+            endModified--;
+        }
+        while (endOriginal < original.length()
+            && !(isLineStart(original, endOriginal) && isLineStart(modified, endModified))) {
+            endOriginal++;
+            endModified++;
+        }
+
+        int originalLines = countLines(original, start, endOriginal);
+        int modifiedLines = countLines(modified, start, endModified);
+        if (originalLines != modifiedLines) {
+            return originalLines + modifiedLines;
+        }
+
+        // Same shape: count the lines that differ in place, each as one removal and one addition
+        int changes = 0;
+        int i = start;
+        int j = start;
+        while (i < endOriginal && j < endModified) {
+            int lineEndOriginal = lineEnd(original, i, endOriginal);
+            int lineEndModified = lineEnd(modified, j, endModified);
+            int length = lineEndOriginal - i;
+            if (length != lineEndModified - j || !original.regionMatches(i, modified, j, length)) {
+                changes += 2;
+            }
+            i = lineEndOriginal + 1;
+            j = lineEndModified + 1;
+        }
+        return changes;
+    }
+
+    private static int countLines(String text, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int lines = 1;
+        for (int i = from; i < to - 1; i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static boolean isLineStart(String text, int index) {
+        return index == 0 || text.charAt(index - 1) == '\n';
+    }
+
+    private static int lineEnd(String text, int from, int to) {
+        int end = text.indexOf('\n', from);
+        return end < 0 || end >= to ? to : end;
+    }
+
+    /**
+     * Starts a patch that creates a new file, built incrementally as the file's content is written.
+     * Used when the new content is produced as a stream, so it never has to be held, split
+     * and diffed against an empty original.
+     *
+     * @param filePath Path of the file the patch creates
+     * @return Writer that receives the new file's content
+     */
+    public NewFilePatchWriter newFilePatch(Path filePath) {
+        return new NewFilePatchWriter(filePath != null ? filePath.toString() : "unknown");
+    }
+
     /**
      * Writes patch to a file.
      *
@@ -106,4 +256,104 @@ public class PatchBuilderTool {
     public void writePatchToFile(String patch, Path outputPath) throws IOException {
         Files.writeString(outputPath, patch);
     }
+
+    /**
+     * Builds a unified diff that adds every line written to it, as one hunk against /dev/null.
+     * Lines are prefixed as they arrive; the hunk header is added once the line count is known.
+     */
+    public static class NewFilePatchWriter extends Writer {
+
+        private final String fileName;
+        private final StringBuilder hunk = new StringBuilder();
+        private int lines;
+        private boolean atLineStart = true;
+
+        NewFilePatchWriter(String fileName) {
+            this.fileName = fileName;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(text.charAt(i));
+            }
+        }
+
+        @Override
+        public void write(int c) {
+            if (atLineStart) {
+                hunk.append('+');
+                lines++;
+                atLineStart = false;
+            }
+            hunk.append((char) c);
+            if (c == '\n') {
+                atLineStart = true;
+            }
+        }
+
+        /**
+         * Number of lines the patch adds so far.
+         */
+        public int lines() {
+            return lines;
+        }
+
+        /**
+         * Returns the finished patch, or an empty string if nothing was written.
+         */
+        public String toPatch() {
+            if (lines == 0) {
+                return "";
+            }
+            StringBuilder patch = new StringBuilder(hunk.length() + fileName.length() + 64);
+            patch.append("--- /dev/null\n");
+            patch.append("+++ b/").append(fileName).append("\t")
+                .append(TIMESTAMP_FORMAT.format(Instant.now())).append("\n");
+            patch.append("@@ -0,0 +1,").append(lines).append(" @@\n");
+            patch.append(hunk);
+            if (!atLineStart) {
+                patch.append("\n\\ No newline at end of file\n");
+            }
+            return patch.toString();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Raised when a file's changes exceed the configured maxChangesPerFile guardrail.
+     */
+    public static class ChangeLimitExceededException extends RuntimeException {
+
+        private final String stage;
+        private final int maxChanges;
+
+        public ChangeLimitExceededException(String stage, int maxChanges) {
+            super("More than " + maxChanges + " changed lines during " + stage);
+            this.stage = stage;
+            this.maxChanges = maxChanges;
+        }
+
+        public String stage() {
+            return stage;
+        }
+
+        public int maxChanges() {
+            return maxChanges;
+        }
+    }
 }
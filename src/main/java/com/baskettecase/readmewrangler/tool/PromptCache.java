@@ -0,0 +1,272 @@
+package com.baskettecase.readmewrangler.tool;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of model replies, kept on local disk so it survives restarts.
+ * Keys are SHA-256 digests of the model, its options and the normalized prompt, so the same
+ * paragraph polished in any repository costs one model call. Each entry is one file named
+ * by its key; when the store grows past its byte limit the least recently used entries are
+ * deleted. A failing store is logged and treated as a miss, never as a polishing error.
+ */
+@Component
+public class PromptCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptCache.class);
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Key to entry size, in access order; loaded from disk on first use
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean loaded;
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    @Autowired
+    public PromptCache(
+        @Value("${wrangler.prose.cache.enabled:true}") boolean enabled,
+        @Value("${wrangler.prose.cache.dir:${user.home}/.readme-wrangler/prompt-cache}") Path directory,
+        @Value("${wrangler.prose.cache.maxBytes:67108864}") long maxBytes,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(enabled ? directory : null, maxBytes);
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * Creates a cache stored in the given directory; a null directory disables it.
+     */
+    public PromptCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Creates a cache that stores nothing, for callers without a cache directory.
+     */
+    public static PromptCache disabled() {
+        return new PromptCache(null, 0);
+    }
+
+    /**
+     * Checks whether replies are being stored.
+     */
+    public boolean isEnabled() {
+        return directory != null && maxBytes > 0;
+    }
+
+    /**
+     * Computes the cache key for a prompt sent to a model. Runs of whitespace in the prompt
+     * are collapsed first, so re-wrapped copies of the same text share an entry.
+     *
+     * @param model Model name and options, as reported by the chat model
+     * @param prompt Prompt text
+     * @return Hex SHA-256 key
+     */
+    public static String key(String model, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(prompt).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String normalize(String prompt) {
+        StringBuilder normalized = new StringBuilder(prompt.length());
+        boolean space = false;
+        for (int i = 0; i < prompt.length(); i++) {
+            char c = prompt.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Looks up a cached reply, marking it as recently used.
+     *
+     * @param key Key from {@link #key(String, String)}
+     * @return Cached reply, or null on a miss
+     */
+    public synchronized String get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        load();
+        if (index.get(key) == null) {
+            misses++;
+            return null;
+        }
+        Path file = directory.resolve(key);
+        try {
+            String reply = Files.readString(file, StandardCharsets.UTF_8);
+            // The file time carries recency across restarts
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits++;
+            return reply;
+        } catch (IOException e) {
+            log.warn("Dropping unreadable prompt cache entry {}: {}", key, e.getMessage());
+            totalBytes -= index.remove(key);
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * Stores a reply, evicting least recently used entries to stay within the byte limit.
+     * A reply larger than the whole limit is not stored.
+     *
+     * @param key Key from {@link #key(String, String)}
+     * @param reply Model reply
+     */
+    public synchronized void put(String key, String reply) {
+        if (!isEnabled()) {
+            return;
+        }
+        byte[] bytes = reply.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        load();
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, directory.resolve(key),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write prompt cache entry {}: {}", key, e.getMessage());
+            return;
+        }
+        Long previous = index.put(key, (long) bytes.length);
+        totalBytes += bytes.length - (previous != null ? previous : 0);
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Could not evict prompt cache entry {}: {}", entry.getKey(), e.getMessage());
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the directory, oldest entries first.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Stored> stored = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (Files.isRegularFile(file)) {
+                    stored.add(new Stored(name, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read prompt cache directory {}: {}", directory, e.getMessage());
+        }
+
+        stored.sort((a, b) -> Long.compare(a.lastUsed(), b.lastUsed()));
+        for (Stored entry : stored) {
+            index.put(entry.key(), entry.bytes());
+            totalBytes += entry.bytes();
+        }
+        evict();
+        log.debug("Loaded {} prompt cache entries ({} bytes) from {}", index.size(), totalBytes, directory);
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("wrangler.prose.cache.requests", this, PromptCache::hits)
+            .tag("result", "hit")
+            .description("Prompt cache lookups")
+            .register(registry);
+        FunctionCounter.builder("wrangler.prose.cache.requests", this, PromptCache::misses)
+            .tag("result", "miss")
+            .description("Prompt cache lookups")
+            .register(registry);
+        Gauge.builder("wrangler.prose.cache.hit.ratio", this, PromptCache::hitRatio)
+            .description("Share of prompt cache lookups answered from the cache")
+            .register(registry);
+        Gauge.builder("wrangler.prose.cache.size", this, PromptCache::sizeBytes)
+            .baseUnit("bytes")
+            .description("Bytes of model replies held in the prompt cache")
+            .register(registry);
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Share of lookups that were hits, or 0 before the first lookup.
+     */
+    public synchronized double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    private record Stored(String key, long bytes, long lastUsed) {
+    }
+}
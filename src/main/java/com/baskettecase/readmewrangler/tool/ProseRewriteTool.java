@@ -0,0 +1,383 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Improves weak prose paragraphs with a chat model, after the deterministic passes have run.
+ * Only paragraphs the linter flags as weak are sent. They are packed into as few prompts as
+ * the token budget allows, and each rewrite is merged back into its source span. A rewrite
+ * that drops inline code or links, or comes back missing, leaves the original paragraph in place.
+ * Accepted rewrites are cached per paragraph, so a paragraph seen before is never sent again.
+ * Model calls go through the {@link ModelCallScheduler}, which enforces the provider's limits.
+ */
+@Component
+public class ProseRewriteTool {
+
+    private static final Logger log = LoggerFactory.getLogger(ProseRewriteTool.class);
+
+    // Rough characters per token, for budgeting prompts without a tokenizer
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private static final String SYSTEM_PROMPT = """
+        You edit README documentation for clarity. Rewrite each numbered paragraph to be clear and \
+        concise: split run-on sentences, drop filler words, fix repeated words. Keep the meaning, \
+        the markdown, every link and every `inline code` span exactly. Reply with every paragraph, \
+        in the same order, each preceded by its marker line exactly as given (for example [[P1]]), \
+        and nothing else.""";
+
+    private final ChatModel chatModel;
+    private final MarkdownLinterTool linter;
+    private final PromptCache cache;
+    private final ModelCallScheduler scheduler;
+    private final int maxPromptTokens;
+
+    @Autowired
+    public ProseRewriteTool(
+        ObjectProvider<ChatModel> chatModels,
+        MarkdownLinterTool linter,
+        PromptCache cache,
+        ModelCallScheduler scheduler,
+        @Value("${wrangler.prose.enabled:false}") boolean enabled,
+        @Value("${wrangler.prose.maxPromptTokens:3000}") int maxPromptTokens
+    ) {
+        this(enabled ? resolveModel(chatModels) : null, linter, cache, scheduler, maxPromptTokens);
+    }
+
+    private static ChatModel resolveModel(ObjectProvider<ChatModel> chatModels) {
+        ChatModel model = chatModels.getIfUnique();
+        if (model == null) {
+            log.warn("Prose rewriting is enabled but no single ChatModel is available; the prose stage will be skipped");
+        }
+        return model;
+    }
+
+    /**
+     * Creates the tool with an explicit model and no cache; a null model disables the stage.
+     */
+    public ProseRewriteTool(ChatModel chatModel, MarkdownLinterTool linter, int maxPromptTokens) {
+        this(chatModel, linter, PromptCache.disabled(), maxPromptTokens);
+    }
+
+    /**
+     * Creates the tool with an explicit model and reply cache, calling the model without limits.
+     */
+    public ProseRewriteTool(ChatModel chatModel, MarkdownLinterTool linter, PromptCache cache, int maxPromptTokens) {
+        this(chatModel, linter, cache, ModelCallScheduler.unlimited(), maxPromptTokens);
+    }
+
+    /**
+     * Creates the tool with an explicit model, reply cache and call scheduler; a null model disables the stage.
+     */
+    public ProseRewriteTool(
+        ChatModel chatModel,
+        MarkdownLinterTool linter,
+        PromptCache cache,
+        ModelCallScheduler scheduler,
+        int maxPromptTokens
+    ) {
+        this.chatModel = chatModel;
+        this.linter = linter;
+        this.cache = cache;
+        this.scheduler = scheduler;
+        this.maxPromptTokens = Math.max(1, maxPromptTokens);
+    }
+
+    /**
+     * Creates a disabled tool, for callers without a chat model.
+     */
+    public static ProseRewriteTool disabled() {
+        return new ProseRewriteTool(null, new MarkdownLinterTool(), 1);
+    }
+
+    /**
+     * Checks whether a chat model is available and the stage is enabled.
+     */
+    public boolean isEnabled() {
+        return chatModel != null;
+    }
+
+    /**
+     * Rewrites the weak paragraphs in content.
+     *
+     * @param content Markdown content
+     * @param deadline Request deadline, checked before and while waiting for each model call
+     * @return Rewritten content with call, cache and token counts
+     */
+    public ProseResult rewrite(String content, Deadline deadline) {
+        List<MarkdownLinterTool.WeakParagraph> weak = linter.findWeakParagraphs(content);
+        if (!isEnabled() || weak.isEmpty()) {
+            return new ProseResult(content, weak.size(), 0, 0, 0, 0, 0);
+        }
+
+        Map<MarkdownLinterTool.WeakParagraph, String> rewrites = new HashMap<>();
+        Map<MarkdownLinterTool.WeakParagraph, String> keys = new HashMap<>();
+        List<MarkdownLinterTool.WeakParagraph> uncached = new ArrayList<>();
+        int calls = 0;
+        long promptTokens = 0;
+        long completionTokens = 0;
+
+        // Each paragraph is keyed as if sent alone, so its entry is reusable whatever batch it lands in
+        if (cache.isEnabled()) {
+            String model = modelIdentity(chatModel);
+            for (MarkdownLinterTool.WeakParagraph paragraph : weak) {
+                String key = PromptCache.key(model,
+                    SYSTEM_PROMPT + "\n" + content.substring(paragraph.startOffset(), paragraph.endOffset()));
+                String cached = cache.get(key);
+                if (cached != null) {
+                    rewrites.put(paragraph, cached);
+                } else {
+                    keys.put(paragraph, key);
+                    uncached.add(paragraph);
+                }
+            }
+        } else {
+            uncached.addAll(weak);
+        }
+        int cacheHits = rewrites.size();
+
+        for (List<MarkdownLinterTool.WeakParagraph> batch : batches(uncached)) {
+            deadline.check("prose");
+
+            Prompt prompt = buildPrompt(content, batch);
+            // Replies are about as long as the paragraphs sent
+            int estimate = estimateTokens(prompt.getContents()) + estimateTokens(prompt.getUserMessage().getText());
+            ChatResponse response = scheduler.call(chatModel, prompt, estimate, deadline);
+            calls++;
+
+            String reply = responseText(response);
+            Usage usage = response != null && response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+            promptTokens += tokens(usage != null ? usage.getPromptTokens() : null, prompt.getContents());
+            completionTokens += tokens(usage != null ? usage.getCompletionTokens() : null, reply);
+
+            Map<Integer, String> parsed = parseReply(reply);
+            for (int i = 0; i < batch.size(); i++) {
+                MarkdownLinterTool.WeakParagraph paragraph = batch.get(i);
+                String original = content.substring(paragraph.startOffset(), paragraph.endOffset());
+                String candidate = parsed.get(i + 1);
+                if (candidate != null && preservesMarkup(original, candidate)) {
+                    rewrites.put(paragraph, candidate);
+                    if (keys.containsKey(paragraph)) {
+                        cache.put(keys.get(paragraph), candidate);
+                    }
+                }
+            }
+        }
+
+        String merged = merge(content, weak, rewrites);
+        log.debug("Prose rewrite: {} of {} weak paragraphs ({} cached) in {} calls, {} prompt + {} completion tokens",
+            rewrites.size(), weak.size(), cacheHits, calls, promptTokens, completionTokens);
+
+        return new ProseResult(merged, weak.size(), rewrites.size(), cacheHits, calls, promptTokens, completionTokens);
+    }
+
+    /**
+     * Describes the model and the options that shape its replies, for cache keys.
+     */
+    static String modelIdentity(ChatModel model) {
+        ChatOptions options = model.getDefaultOptions();
+        if (options == null) {
+            return model.getClass().getName();
+        }
+        return String.join("|",
+            model.getClass().getName(),
+            String.valueOf(options.getModel()),
+            String.valueOf(options.getTemperature()),
+            String.valueOf(options.getTopP()),
+            String.valueOf(options.getTopK()),
+            String.valueOf(options.getMaxTokens()),
+            String.valueOf(options.getFrequencyPenalty()),
+            String.valueOf(options.getPresencePenalty()),
+            String.valueOf(options.getStopSequences()));
+    }
+
+    /**
+     * Packs paragraphs, in document order, into as few prompts as fit the token budget.
+     * A paragraph larger than the budget gets a prompt of its own.
+     */
+    private List<List<MarkdownLinterTool.WeakParagraph>> batches(List<MarkdownLinterTool.WeakParagraph> weak) {
+        List<List<MarkdownLinterTool.WeakParagraph>> batches = new ArrayList<>();
+        List<MarkdownLinterTool.WeakParagraph> current = new ArrayList<>();
+        int budget = maxPromptTokens - estimateTokens(SYSTEM_PROMPT);
+        int used = 0;
+
+        for (MarkdownLinterTool.WeakParagraph paragraph : weak) {
+            int cost = (paragraph.endOffset() - paragraph.startOffset()) / CHARS_PER_TOKEN + 4;
+            if (!current.isEmpty() && used + cost > budget) {
+                batches.add(current);
+                current = new ArrayList<>();
+                used = 0;
+            }
+            current.add(paragraph);
+            used += cost;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private static Prompt buildPrompt(String content, List<MarkdownLinterTool.WeakParagraph> batch) {
+        StringBuilder user = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            MarkdownLinterTool.WeakParagraph paragraph = batch.get(i);
+            user.append("[[P").append(i + 1).append("]]\n")
+                .append(content, paragraph.startOffset(), paragraph.endOffset())
+                .append("\n\n");
+        }
+        return new Prompt(List.of(new SystemMessage(SYSTEM_PROMPT), new UserMessage(user.toString())));
+    }
+
+    private static String responseText(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return "";
+        }
+        String text = response.getResult().getOutput().getText();
+        return text != null ? text : "";
+    }
+
+    /**
+     * Splits a reply into paragraphs by their [[Pn]] marker lines.
+     */
+    static Map<Integer, String> parseReply(String reply) {
+        Map<Integer, String> paragraphs = new HashMap<>();
+        int current = -1;
+        StringBuilder text = new StringBuilder();
+
+        for (String line : reply.split("\n", -1)) {
+            int marker = markerNumber(line.strip());
+            if (marker > 0) {
+                if (current > 0) {
+                    paragraphs.put(current, text.toString().strip());
+                }
+                current = marker;
+                text.setLength(0);
+            } else if (current > 0) {
+                text.append(line).append('\n');
+            }
+        }
+        if (current > 0) {
+            paragraphs.put(current, text.toString().strip());
+        }
+
+        paragraphs.values().removeIf(String::isEmpty);
+        return paragraphs;
+    }
+
+    private static int markerNumber(String line) {
+        if (!line.startsWith("[[P") || !line.endsWith("]]") || line.length() < 6) {
+            return -1;
+        }
+        String digits = line.substring(3, line.length() - 2);
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return -1;
+            }
+        }
+        return digits.length() <= 6 ? Integer.parseInt(digits) : -1;
+    }
+
+    /**
+     * Checks that a rewrite kept every inline code span and link target of the original.
+     */
+    static boolean preservesMarkup(String original, String rewrite) {
+        for (String span : delimited(original, "`", "`")) {
+            if (!rewrite.contains(span)) {
+                return false;
+            }
+        }
+        for (String target : delimited(original, "](", ")")) {
+            if (!rewrite.contains(target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> delimited(String text, String open, String close) {
+        List<String> spans = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int start = text.indexOf(open, from);
+            if (start < 0) {
+                return spans;
+            }
+            int end = text.indexOf(close, start + open.length());
+            if (end < 0) {
+                return spans;
+            }
+            spans.add(text.substring(start, end + close.length()));
+            from = end + close.length();
+        }
+    }
+
+    /**
+     * Replaces each rewritten paragraph's span, leaving everything between spans untouched.
+     */
+    private static String merge(
+        String content,
+        List<MarkdownLinterTool.WeakParagraph> weak,
+        Map<MarkdownLinterTool.WeakParagraph, String> rewrites
+    ) {
+        if (rewrites.isEmpty()) {
+            return content;
+        }
+        StringBuilder merged = new StringBuilder(content.length());
+        int pos = 0;
+        for (MarkdownLinterTool.WeakParagraph paragraph : weak) {
+            String rewrite = rewrites.get(paragraph);
+            if (rewrite != null) {
+                merged.append(content, pos, paragraph.startOffset()).append(rewrite);
+                pos = paragraph.endOffset();
+            }
+        }
+        return merged.append(content, pos, content.length()).toString();
+    }
+
+    private static long tokens(Integer reported, String text) {
+        return reported != null ? reported : estimateTokens(text);
+    }
+
+    private static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Outcome of a prose rewrite for one document.
+     *
+     * @param content Content with rewritten paragraphs merged in
+     * @param weakParagraphs Paragraphs flagged as weak
+     * @param rewrittenParagraphs Paragraphs replaced by a model rewrite
+     * @param cachedParagraphs Rewrites taken from the prompt cache instead of the model
+     * @param calls Model calls made
+     * @param promptTokens Prompt tokens (reported by the model, else estimated)
+     * @param completionTokens Completion tokens (reported by the model, else estimated)
+     */
+    public record ProseResult(
+        String content,
+        int weakParagraphs,
+        int rewrittenParagraphs,
+        int cachedParagraphs,
+        int calls,
+        long promptTokens,
+        long completionTokens
+    ) {
+    }
+}
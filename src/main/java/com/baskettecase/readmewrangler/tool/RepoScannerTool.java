@@ -1,6 +1,7 @@
 package com.baskettecase.readmewrangler.tool;
 
 import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.Deadline;
 import com.baskettecase.readmewrangler.domain.RepoSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +12,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -22,6 +24,9 @@ public class RepoScannerTool {
 
     private static final Logger log = LoggerFactory.getLogger(RepoScannerTool.class);
 
+    private static final Set<String> IGNORED_DIRECTORIES = Set.of(
+        "node_modules", ".git", "target", "build", ".idea", ".vscode");
+
     /**
      * Scans a repository and creates a snapshot with detected metadata.
      *
@@ -30,12 +35,25 @@ public class RepoScannerTool {
      * @throws IOException if scanning fails
      */
     public RepoSnapshot scanRepository(Path rootPath) throws IOException {
+        return scanRepository(rootPath, Deadline.none());
+    }
+
+    /**
+     * Scans a repository, checking the deadline for every path visited by the walk.
+     *
+     * @param rootPath Root directory of the repository
+     * @param deadline Request deadline
+     * @return RepoSnapshot containing detected files and metadata
+     * @throws IOException if scanning fails
+     * @throws Deadline.DeadlineExceededException if the deadline expires mid-walk
+     */
+    public RepoSnapshot scanRepository(Path rootPath, Deadline deadline) throws IOException {
         if (!Files.isDirectory(rootPath)) {
             throw new IllegalArgumentException("Path must be a directory: " + rootPath);
         }
 
         BuildSystem buildSystem = detectBuildSystem(rootPath);
-        List<Path> markdownFiles = findMarkdownFiles(rootPath);
+        List<Path> markdownFiles = findMarkdownFiles(rootPath, deadline);
         List<Path> scripts = findScripts(rootPath);
 
         log.info("Scanned repository at {}: {} markdown files, build system: {}",
@@ -65,11 +83,12 @@ public class RepoScannerTool {
     /**
      * Finds all markdown files in the repository.
      */
-    private List<Path> findMarkdownFiles(Path root) throws IOException {
+    private List<Path> findMarkdownFiles(Path root, Deadline deadline) throws IOException {
         List<Path> markdownFiles = new ArrayList<>();
 
         try (Stream<Path> paths = Files.walk(root)) {
-            paths.filter(Files::isRegularFile)
+            paths.peek(p -> deadline.check("scan"))
+                .filter(Files::isRegularFile)
                 .filter(p -> {
                     String name = p.getFileName().toString().toLowerCase();
                     return name.endsWith(".md");
@@ -114,17 +133,15 @@ public class RepoScannerTool {
 
     /**
      * Determines if a path should be ignored (e.g., node_modules, .git, target).
+     * Compares whole path segments, so files such as build-notes.md are kept.
      */
     private boolean isIgnoredPath(Path root, Path file) {
-        Path relative = root.relativize(file);
-        String pathStr = relative.toString();
-
-        return pathStr.contains("node_modules") ||
-               pathStr.contains(".git") ||
-               pathStr.contains("target") ||
-               pathStr.contains("build") ||
-               pathStr.contains(".idea") ||
-               pathStr.contains(".vscode");
+        for (Path segment : root.relativize(file)) {
+            if (IGNORED_DIRECTORIES.contains(segment.toString())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -80,16 +80,71 @@ public class TextRewriteTool {
      * @return Content with normalized headings
      */
     public String normalizeHeadings(String content) {
-        // Convert setext headings (underlines) to ATX (hashes)
-        String result = content;
+        // Convert setext headings (underlines) to ATX (hashes), H1 first so "---" under
+        // a converted H1 line behaves as before
+        String result = convertSetext(content, '=', "# ");
+        return convertSetext(result, '-', "## ");
+    }
+
+    /**
+     * Replaces each non-empty line followed by an underline of the marker with the prefixed line,
+     * dropping the underline. A single pass over the lines, equivalent to replacing
+     * {@code (?m)^(.+)\n={2,}$} without the regex backtracking.
+     */
+    private String convertSetext(String content, char marker, String prefix) {
+        String[] lines = content.split("\n", -1);
+        StringBuilder result = new StringBuilder(content.length() + 16);
+
+        for (int i = 0; i < lines.length; i++) {
+            if (i + 1 < lines.length && isTitleLine(lines[i]) && MarkdownScanner.isUnderline(lines[i + 1], marker)) {
+                result.append(prefix).append(lines[i]);
+                i++;
+            } else {
+                result.append(lines[i]);
+            }
+            if (i + 1 < lines.length) {
+                result.append('\n');
+            }
+        }
 
-        // H1: ===
-        result = result.replaceAll("(?m)^(.+)\\n={2,}$", "# $1");
+        return result.toString();
+    }
+
+    private boolean isTitleLine(String line) {
+        return !line.isEmpty() && line.indexOf('\r') < 0;
+    }
 
-        // H2: ---
-        result = result.replaceAll("(?m)^(.+)\\n-{2,}$", "## $1");
+    /**
+     * Checks whether {@link #normalizeHeadings} would convert any setext heading.
+     * A single pass over the lines, for check-only runs.
+     *
+     * @param content Markdown content
+     * @return true if a non-empty line is followed by a line of two or more '=' or '-'
+     */
+    public boolean hasSetextHeadings(String content) {
+        String[] lines = content.split("\n", -1);
+        for (int i = 1; i < lines.length; i++) {
+            if (isTitleLine(lines[i - 1]) && MarkdownScanner.isUnderline(lines[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return result;
+    /**
+     * Checks whether {@link #removeTrailingWhitespace} would change any line.
+     *
+     * @param content Markdown content
+     * @return true if a line ends in a space or tab
+     */
+    public boolean hasTrailingWhitespace(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if ((c == ' ' || c == '\t') && (i + 1 == content.length() || content.charAt(i + 1) == '\n')) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -99,7 +154,7 @@ public class TextRewriteTool {
      * @return Content with trailing whitespace removed
      */
     public String removeTrailingWhitespace(String content) {
-        return content.replaceAll("(?m)[ \\t]+$", "");
+        return MarkdownScanner.stripTrailingBlanks(content);
     }
 
     /**
@@ -109,6 +164,6 @@ public class TextRewriteTool {
      * @return Content with consistent line endings
      */
     public String normalizeLineEndings(String content) {
-        return content.replaceAll("\\r\\n", "\n");
+        return content.replace("\r\n", "\n");
     }
 }
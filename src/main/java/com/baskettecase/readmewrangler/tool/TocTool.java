@@ -4,8 +4,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Generates and manages table of contents for markdown documents.
@@ -13,9 +11,6 @@ import java.util.regex.Pattern;
 @Component
 public class TocTool {
 
-    private static final Pattern HEADING_PATTERN = Pattern.compile("^(#{1,6})\\s+(.*)$", Pattern.MULTILINE);
-    private static final Pattern TOC_MARKER = Pattern.compile("(?i)<!--\\s*toc\\s*-->|##\\s*Table of Contents");
-
     /**
      * Generates a table of contents from markdown content.
      *
@@ -24,16 +19,13 @@ public class TocTool {
      */
     public String generateToc(String content) {
         List<TocEntry> entries = new ArrayList<>();
-        Matcher matcher = HEADING_PATTERN.matcher(content);
 
-        while (matcher.find()) {
-            int level = matcher.group(1).length();
-            String title = matcher.group(2).trim();
+        for (String line : content.split("\n", -1)) {
+            MarkdownScanner.AtxHeading heading = MarkdownScanner.parseAtxHeading(line);
 
             // Skip the TOC heading itself
-            if (!title.equalsIgnoreCase("Table of Contents")) {
-                String anchor = createAnchor(title);
-                entries.add(new TocEntry(level, title, anchor));
+            if (heading != null && !heading.title().isEmpty() && !heading.title().equalsIgnoreCase("Table of Contents")) {
+                entries.add(new TocEntry(heading.level(), heading.title(), createAnchor(heading.title())));
             }
         }
 
@@ -69,18 +61,14 @@ public class TocTool {
      * Creates a GitHub-style anchor from a heading.
      */
     private String createAnchor(String heading) {
-        return heading.toLowerCase()
-            .replaceAll("[^a-z0-9\\s-]", "")
-            .replaceAll("\\s+", "-")
-            .replaceAll("-+", "-")
-            .replaceAll("^-|-$", "");
+        return MarkdownScanner.slug(heading);
     }
 
     /**
      * Checks if content already has a TOC.
      */
     public boolean hasToc(String content) {
-        return TOC_MARKER.matcher(content).find();
+        return MarkdownScanner.containsTocMarker(content);
     }
 
     /**
@@ -3,9 +3,8 @@ package com.baskettecase.readmewrangler.tool;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Enhances README visual appeal with icons, emojis, and varied text sizes.
@@ -14,7 +13,16 @@ import java.util.regex.Pattern;
 @Component
 public class VisualEnhancementTool {
 
-    private static final Pattern HEADING_PATTERN = Pattern.compile("^(#{1,6})\\s+(.*)$", Pattern.MULTILINE);
+    // Callout keywords emphasized at the start of a line, with their icons
+    private static final Map<String, String> CALLOUT_ICONS = new LinkedHashMap<>();
+
+    static {
+        CALLOUT_ICONS.put("Important", "⚠️");
+        CALLOUT_ICONS.put("Note", "📝");
+        CALLOUT_ICONS.put("Warning", "⚠️");
+        CALLOUT_ICONS.put("Tip", "💡");
+        CALLOUT_ICONS.put("Info", "ℹ️");
+    }
 
     // Common section icons mapping
     private static final Map<String, String> SECTION_ICONS = new HashMap<>();
@@ -118,14 +126,14 @@ public class VisualEnhancementTool {
      * Adds an appropriate icon to a heading if it doesn't already have one.
      */
     private String addIconToHeading(String heading) {
-        Matcher matcher = HEADING_PATTERN.matcher(heading);
+        MarkdownScanner.AtxHeading parsed = MarkdownScanner.parseAtxHeading(heading);
 
-        if (!matcher.matches()) {
+        if (parsed == null) {
             return heading;
         }
 
-        String hashes = matcher.group(1);
-        String title = matcher.group(2).trim();
+        String hashes = "#".repeat(parsed.level());
+        String title = parsed.title();
 
         // Skip if already has an emoji/icon
         if (hasEmoji(title)) {
@@ -136,7 +144,8 @@ public class VisualEnhancementTool {
         String icon = findIconForTitle(title);
 
         if (icon != null) {
-            return hashes + " " + icon + " " + title;
+            // Keep a CRLF line ending intact
+            return hashes + " " + icon + " " + title + (heading.endsWith("\r") ? "\r" : "");
         }
 
         return heading;
@@ -222,17 +231,26 @@ public class VisualEnhancementTool {
      * Emphasizes key phrases like "Important", "Note", "Warning", etc.
      */
     private String emphasizeKeyPhrases(String content) {
-        // Bold important keywords at start of lines
-        content = content.replaceAll("(?m)^(Important:|Note:|Warning:|Tip:|Info:)", "**$1**");
+        String[] lines = content.split("\n", -1);
 
-        // Add emoji to common callouts
-        content = content.replaceAll("(?m)^\\*\\*Important:\\*\\*", "⚠️ **Important:**");
-        content = content.replaceAll("(?m)^\\*\\*Note:\\*\\*", "📝 **Note:**");
-        content = content.replaceAll("(?m)^\\*\\*Warning:\\*\\*", "⚠️ **Warning:**");
-        content = content.replaceAll("(?m)^\\*\\*Tip:\\*\\*", "💡 **Tip:**");
-        content = content.replaceAll("(?m)^\\*\\*Info:\\*\\*", "ℹ️ **Info:**");
+        for (int i = 0; i < lines.length; i++) {
+            for (Map.Entry<String, String> callout : CALLOUT_ICONS.entrySet()) {
+                String plain = callout.getKey() + ":";
+                String bold = "**" + plain + "**";
+
+                // Bold the keyword and add its emoji, or just add the emoji if already bold
+                if (lines[i].startsWith(plain)) {
+                    lines[i] = callout.getValue() + " " + bold + lines[i].substring(plain.length());
+                    break;
+                }
+                if (lines[i].startsWith(bold)) {
+                    lines[i] = callout.getValue() + " " + lines[i];
+                    break;
+                }
+            }
+        }
 
-        return content;
+        return String.join("\n", lines);
     }
 
     /**
@@ -245,7 +263,7 @@ public class VisualEnhancementTool {
 
         String[] lines = content.split("\n");
         for (String line : lines) {
-            if (line.trim().matches("^##+ .*")) { // H2 or lower
+            if (isH2OrLower(line.trim())) {
                 h2OrLowerCount++;
                 if (hasEmoji(line)) {
                     h2WithIconCount++;
@@ -262,6 +280,29 @@ public class VisualEnhancementTool {
         return false;
     }
 
+    /**
+     * Checks for two or more '#' followed by a space.
+     */
+    private boolean isH2OrLower(String line) {
+        int hashes = 0;
+        while (hashes < line.length() && line.charAt(hashes) == '#') {
+            hashes++;
+        }
+        return hashes >= 2 && hashes < line.length() && line.charAt(hashes) == ' ';
+    }
+
+    /**
+     * Checks whether a line contains a bold callout keyword such as "**Note:".
+     */
+    private boolean hasEmphasizedCallout(String line) {
+        for (String keyword : CALLOUT_ICONS.keySet()) {
+            if (line.contains("**" + keyword + ":")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets statistics about visual elements in content.
      */
@@ -286,7 +327,7 @@ public class VisualEnhancementTool {
                 dividers++;
             }
 
-            if (trimmed.matches(".*\\*\\*(Important|Note|Warning|Tip|Info):.*")) {
+            if (hasEmphasizedCallout(trimmed)) {
                 emphasisCount++;
             }
         }
@@ -0,0 +1,259 @@
+package com.baskettecase.readmewrangler.agent;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.CheckResult;
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.PatchBundle;
+import com.baskettecase.readmewrangler.domain.PolishingFinding;
+import com.baskettecase.readmewrangler.service.PolishingConfig;
+import com.baskettecase.readmewrangler.service.PolishingStage;
+import com.baskettecase.readmewrangler.service.SnapshotCache;
+import com.baskettecase.readmewrangler.tool.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReadmePolisherAgent.
+ */
+class ReadmePolisherAgentTest {
+
+    private final RepoScannerTool scanner = new RepoScannerTool();
+
+    private final ReadmePolisherAgent agent = new ReadmePolisherAgent(
+        scanner,
+        new MarkdownLinterTool(),
+        new TextRewriteTool(),
+        new TocTool(),
+        new BadgeTool(),
+        new PatchBuilderTool(),
+        new VisualEnhancementTool(),
+        new DocConsolidationTool(),
+        ProseRewriteTool.disabled(),
+        new SnapshotCache(scanner, Duration.ofSeconds(30))
+    );
+
+    @Test
+    void shouldPolishContentWithoutFilesystem() {
+        Path file = Path.of("no-such-checkout", "README.md");
+        String content = """
+            # Demo
+
+            ## Usage
+
+            ```
+            mvn package
+            ```
+            """;
+
+        PatchBundle bundle = agent.polishContentGoal(
+            content, file, BuildSystem.MAVEN, "MIT", PolishingConfig.defaults());
+
+        assertFalse(Files.exists(file));
+        assertTrue(bundle.hasChanges());
+        assertTrue(bundle.unifiedDiff().contains("+++ b/no-such-checkout/README.md"));
+        assertTrue(bundle.unifiedDiff().contains("```bash"));
+        assertTrue(bundle.unifiedDiff().contains("license-MIT"));
+        assertTrue(bundle.summary().addedTestSection());
+        assertTrue(bundle.summary().notes().stream()
+            .anyMatch(f -> f.id().equals("missing-code-fence-language")));
+    }
+
+    @Test
+    void shouldSkipTestSectionWithoutBuildHint() {
+        PatchBundle bundle = agent.polishContentGoal(
+            "# Demo\n\nText.", Path.of("README.md"), null, null, PolishingConfig.defaults());
+
+        assertFalse(bundle.summary().addedTestSection());
+        assertFalse(bundle.unifiedDiff().contains("license-"));
+    }
+
+    @Test
+    void shouldReturnPartialBundleWhenDeadlineExpires(@TempDir Path repo) throws IOException {
+        Files.createFile(repo.resolve("pom.xml"));
+        Files.writeString(repo.resolve("README.md"), "# Demo\n\n```\nmvn test\n```\n");
+        Deadline deadline = Deadline.none();
+        deadline.cancel();
+
+        PatchBundle bundle = agent.polishReadmeGoal(
+            new ReadmePolisherAgent.PolishingContext(repo, PolishingConfig.defaults(), deadline));
+
+        assertTrue(bundle.isPartial());
+        assertFalse(bundle.hasChanges());
+        assertTrue(bundle.summary().notes().stream()
+            .anyMatch(f -> f.id().equals("deadline-exceeded") && f.message().contains("scan")));
+    }
+
+    @Test
+    void shouldKeepLintFindingsWhenDeadlineExpiresDuringRewrite() {
+        Deadline deadline = Deadline.none();
+        // Expires the deadline midway through the rewrite passes
+        BadgeTool expiringBadges = new BadgeTool() {
+            @Override
+            public String generateBadgeSection(String repoName, BuildSystem build, String jdk, String license) {
+                deadline.cancel();
+                return super.generateBadgeSection(repoName, build, jdk, license);
+            }
+        };
+        ReadmePolisherAgent expiring = new ReadmePolisherAgent(
+            scanner, new MarkdownLinterTool(), new TextRewriteTool(), new TocTool(), expiringBadges,
+            new PatchBuilderTool(), new VisualEnhancementTool(), new DocConsolidationTool(),
+            ProseRewriteTool.disabled(),
+            new SnapshotCache(scanner, Duration.ofSeconds(30)));
+
+        PatchBundle bundle = expiring.polishContentGoal(
+            "# Demo\n\n## Usage\n\n```\nmvn test\n```\n", Path.of("README.md"),
+            BuildSystem.MAVEN, "MIT", PolishingConfig.defaults(), deadline);
+
+        assertTrue(bundle.isPartial());
+        assertEquals("", bundle.unifiedDiff());
+        assertTrue(bundle.summary().notes().stream()
+            .anyMatch(f -> f.id().equals("missing-code-fence-language")));
+        assertTrue(bundle.summary().notes().stream()
+            .anyMatch(f -> f.id().equals("deadline-exceeded") && f.message().contains("visuals")));
+    }
+
+    @Test
+    void shouldTruncateRewriteAtChangeLimit() {
+        StringBuilder content = new StringBuilder("# Demo\n\n");
+        for (int i = 0; i < 50; i++) {
+            content.append("```\necho ").append(i).append("\n```\n\n");
+        }
+        PolishingConfig config = new PolishingConfig(4, "atx", "bash", true, "21", 20, true);
+
+        PatchBundle bundle = agent.polishContentGoal(
+            content.toString(), Path.of("README.md"), BuildSystem.MAVEN, "MIT", config);
+
+        assertTrue(bundle.isTruncated());
+        assertFalse(bundle.hasChanges(), "The code fence pass alone exceeds the limit");
+        assertTrue(bundle.summary().notes().stream()
+            .anyMatch(f -> f.id().equals("max-changes-exceeded") && f.message().contains("code-fences")));
+    }
+
+    @Test
+    void shouldChargeEachPassOnlyForTheLinesItChanges() {
+        StringBuilder content = new StringBuilder("# Demo\n\n");
+        for (int i = 0; i < 160; i++) {
+            content.append("Line ").append(i).append(" of the usage notes.\n");
+        }
+        content.append("Last line with trailing whitespace.   \n");
+        PolishingConfig config = PolishingConfig.defaults().withStages(
+            PolishingStage.parse(List.of("whitespace", "badges")));
+
+        PatchBundle bundle = agent.polishContentGoal(
+            content.toString(), Path.of("README.md"), BuildSystem.MAVEN, "MIT", config);
+
+        assertFalse(bundle.isTruncated());
+        assertTrue(bundle.summary().notes().stream().noneMatch(f -> f.id().equals("max-changes-exceeded")));
+        assertTrue(bundle.unifiedDiff().contains("+Last line with trailing whitespace.\n"));
+        assertTrue(bundle.unifiedDiff().contains("img.shields.io"));
+    }
+
+    @Test
+    void shouldPassCheckForPolishedReadme(@TempDir Path repo) throws IOException {
+        Files.createFile(repo.resolve("pom.xml"));
+        Files.writeString(repo.resolve("README.md"), """
+            ![Maven Build](https://img.shields.io/badge/build-maven-blue)
+
+            # Demo
+
+            ## 🧪 Running Tests
+
+            ```bash
+            mvn test
+            ```
+            """);
+
+        CheckResult result = agent.checkReadmeGoal(
+            new ReadmePolisherAgent.PolishingContext(repo, PolishingConfig.defaults()), true);
+
+        assertTrue(result.polished(), () -> "Unexpected reasons: " + result.reasons());
+    }
+
+    @Test
+    void shouldStopCheckAtFirstNeededChange(@TempDir Path repo) throws IOException {
+        Files.createFile(repo.resolve("pom.xml"));
+        Files.writeString(repo.resolve("README.md"), "Demo\n====\n\n```\nmvn test\n```\n");
+        ReadmePolisherAgent.PolishingContext context =
+            new ReadmePolisherAgent.PolishingContext(repo, PolishingConfig.defaults());
+
+        CheckResult failFast = agent.checkReadmeGoal(context, true);
+        CheckResult all = agent.checkReadmeGoal(context, false);
+
+        assertFalse(failFast.polished());
+        assertEquals(1, failFast.reasons().size());
+        assertEquals("missing-badges", failFast.reasons().get(0).id());
+        assertTrue(all.reasons().stream().map(PolishingFinding::id).toList()
+            .containsAll(List.of("missing-badges", "setext-heading", "missing-code-fence-language", "missing-test-section")));
+    }
+
+    @Test
+    void shouldConsolidateDocsDirectory() throws IOException {
+        Path repo = Path.of("fixtures/docs-split");
+        PolishingConfig config = PolishingConfig.defaults()
+            .withStages(PolishingStage.parse(List.of("consolidation")));
+
+        PatchBundle bundle = agent.polishReadmeGoal(new ReadmePolisherAgent.PolishingContext(repo, config));
+
+        assertEquals(List.of("API.md", "SETUP.md"),
+            bundle.filesToDelete().stream().map(p -> p.getFileName().toString()).toList());
+        assertTrue(bundle.consolidationPatch().contains("\n+## Docs\n+\n+### Api\n"));
+        assertTrue(bundle.consolidationPatch().contains("\n+### Installation Steps\n"));
+    }
+
+    @Test
+    void shouldRunOnlySelectedStages(@TempDir Path repo) throws IOException {
+        Files.writeString(repo.resolve("LICENSE"), "MIT License");
+        Files.createFile(repo.resolve("pom.xml"));
+        Files.writeString(repo.resolve("README.md"), """
+            Demo
+            ====
+
+            ## Install
+
+            ```
+            mvn install
+            ```
+
+            ## Usage
+
+            ## Config
+
+            ## FAQ
+            """);
+
+        AtomicInteger licenseReads = new AtomicInteger();
+        BadgeTool countingBadgeTool = new BadgeTool() {
+            @Override
+            public String detectLicense(Path repoPath) {
+                licenseReads.incrementAndGet();
+                return super.detectLicense(repoPath);
+            }
+        };
+        ReadmePolisherAgent tocOnly = new ReadmePolisherAgent(
+            scanner, new MarkdownLinterTool(), new TextRewriteTool(), new TocTool(), countingBadgeTool,
+            new PatchBuilderTool(), new VisualEnhancementTool(), new DocConsolidationTool(),
+            ProseRewriteTool.disabled(),
+            new SnapshotCache(scanner, Duration.ofSeconds(30)));
+        PolishingConfig config = PolishingConfig.defaults().withStages(PolishingStage.parse(List.of("toc")));
+
+        PatchBundle bundle = tocOnly.polishReadmeGoal(new ReadmePolisherAgent.PolishingContext(repo, config));
+
+        assertTrue(bundle.summary().addedToc());
+        assertFalse(bundle.unifiedDiff().contains("```bash"));
+        assertFalse(bundle.unifiedDiff().contains("shields.io"));
+        assertFalse(bundle.summary().addedTestSection());
+        assertTrue(bundle.summary().notes().stream().noneMatch(f -> f.id().equals("missing-code-fence-language")));
+        assertEquals(0, licenseReads.get());
+        assertEquals(Set.of(PolishingStage.TEST_SECTION), PolishingStage.parse(List.of("Test-Section")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.baskettecase.readmewrangler.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RepoPathResolver.
+ */
+class RepoPathResolverTest {
+
+    @Test
+    void shouldExpandGlobToMatchingDirectories(@TempDir Path tempDir) throws IOException {
+        Files.createDirectories(tempDir.resolve("repos/alpha"));
+        Files.createDirectories(tempDir.resolve("repos/beta/nested"));
+        Files.writeString(tempDir.resolve("repos/notes.md"), "# not a repo");
+
+        List<Path> repos = RepoPathResolver.resolve(List.of(tempDir + "/repos/*"), null);
+
+        assertEquals(List.of(tempDir.resolve("repos/alpha"), tempDir.resolve("repos/beta")), repos);
+    }
+
+    @Test
+    void shouldExpandDoubleStarToRepositoryRootsOnly(@TempDir Path tempDir) throws IOException {
+        Path alpha = Files.createDirectories(tempDir.resolve("repos/alpha"));
+        Files.createFile(alpha.resolve("pom.xml"));
+        Files.createDirectories(alpha.resolve("src/main/java"));
+        Files.createFile(Files.createDirectories(alpha.resolve("module")).resolve("pom.xml"));
+        Path beta = Files.createDirectories(tempDir.resolve("repos/team/beta"));
+        Files.writeString(beta.resolve("README.md"), "# Beta");
+        Files.createFile(Files.createDirectories(beta.resolve("node_modules/lib")).resolve("README.md"));
+        Files.createFile(Files.createDirectories(tempDir.resolve("repos/.git/hooks")).resolve("README.md"));
+
+        List<Path> repos = RepoPathResolver.resolve(List.of(tempDir + "/repos/**"), null);
+
+        assertEquals(List.of(alpha, beta), repos);
+    }
+
+    @Test
+    void shouldExpandHomeDirectoryInListFile(@TempDir Path tempDir) throws IOException {
+        Path listFile = tempDir.resolve("repos.txt");
+        Files.writeString(listFile, "~\n~/src\n");
+
+        List<Path> repos = RepoPathResolver.resolve(List.of(), listFile);
+
+        Path home = Path.of(System.getProperty("user.home")).toAbsolutePath().normalize();
+        assertEquals(List.of(home, home.resolve("src")), repos);
+    }
+
+    @Test
+    void shouldMergeListFileWithArgumentsWithoutDuplicates(@TempDir Path tempDir) throws IOException {
+        Path alpha = Files.createDirectories(tempDir.resolve("alpha"));
+        Path beta = Files.createDirectories(tempDir.resolve("beta"));
+        Path listFile = tempDir.resolve("repos.txt");
+        Files.writeString(listFile, "# fleet\n" + beta + "\n\n" + alpha + "\n");
+
+        List<Path> repos = RepoPathResolver.resolve(List.of(alpha.toString()), listFile);
+
+        assertEquals(List.of(alpha, beta), repos);
+    }
+}
@@ -0,0 +1,85 @@
+package com.baskettecase.readmewrangler.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StandaloneCli.
+ */
+class StandaloneCliTest {
+
+    @Test
+    void shouldRecognizeSubcommands() {
+        assertTrue(StandaloneCli.handles(new String[] {"polish", "."}));
+        assertTrue(StandaloneCli.handles(new String[] {"apply", "--patch", "x.diff"}));
+        assertFalse(StandaloneCli.handles(new String[] {"--server.port=9090"}));
+        assertFalse(StandaloneCli.handles(new String[] {}));
+    }
+
+    @Test
+    void shouldPolishWithoutSpringContext(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("README.md"), "# Demo\n\n```\nmvn test\n```\n");
+        Files.createFile(tempDir.resolve("pom.xml"));
+        Path patch = tempDir.resolve("out.diff");
+
+        int exitCode = StandaloneCli.run(new String[] {
+            "polish", tempDir.toString(), "--write-patch", patch.toString()
+        });
+
+        assertEquals(0, exitCode);
+        assertTrue(Files.readString(patch).contains("```bash"));
+    }
+
+    @Test
+    void shouldStreamNdjsonRecordPerRepository(@TempDir Path tempDir) throws Exception {
+        for (String name : List.of("alpha", "beta")) {
+            Path repo = Files.createDirectories(tempDir.resolve(name));
+            Files.writeString(repo.resolve("README.md"), "# " + name + "\n\n```\nmvn test\n```\n");
+            Files.createFile(repo.resolve("pom.xml"));
+        }
+        Path patchDir = tempDir.resolve("patches");
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        int exitCode;
+        try {
+            System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            exitCode = StandaloneCli.run(new String[] {
+                "polish", tempDir + "/*a", "--jobs", "2", "--ndjson", "--patch-dir", patchDir.toString()
+            });
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(0, exitCode);
+        // Logging may already be initialized for stdout by earlier tests in this JVM
+        List<String> lines = captured.toString(StandardCharsets.UTF_8).lines()
+            .filter(line -> line.startsWith("{"))
+            .toList();
+        assertEquals(2, lines.size());
+
+        ObjectMapper mapper = new ObjectMapper();
+        for (String line : lines) {
+            JsonNode record = mapper.readTree(line);
+            assertEquals("ok", record.get("status").asText());
+            assertTrue(record.get("summary").get("fixedCodeBlocks").asBoolean());
+            assertTrue(record.get("findings").isArray());
+            assertTrue(record.get("timings").has("polishMs"));
+            assertTrue(Files.exists(Path.of(record.get("patchPath").asText())));
+        }
+        assertTrue(Files.exists(patchDir.resolve("alpha.diff")));
+        assertTrue(Files.exists(patchDir.resolve("beta.diff")));
+    }
+}
@@ -0,0 +1,197 @@
+package com.baskettecase.readmewrangler.corpus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Generates deterministic synthetic markdown for benchmarks and scale tests.
+ * The same spec and seed always produce the same text. Output is ASCII, so characters equal bytes.
+ * Use {@link #write} for large documents (up to hundreds of MB): it streams to disk without
+ * holding the document in memory.
+ */
+public final class MarkdownGenerator {
+
+    private static final String[] WORDS = {
+        "build", "install", "configure", "repository", "service", "agent", "patch", "review",
+        "markdown", "heading", "release", "deploy", "cluster", "profile", "module", "test",
+        "the", "and", "with", "for", "each", "when", "from", "into"
+    };
+
+    private static final String[] COMMANDS = {
+        "mvn clean install", "./gradlew test", "npm run build", "make test", "cd docs", "ls -la",
+        "import java.util.List;", "public class Example {", "<dependency>", "key: value"
+    };
+
+    private static final String[] CALLOUTS = {
+        "> **Note:** ", "> **Warning:** ", "> **Tip:** ", "> [!NOTE]\n> ", "> [!WARNING]\n> "
+    };
+
+    private MarkdownGenerator() {
+    }
+
+    /**
+     * Generates a document in memory.
+     *
+     * @param spec Size and block mix
+     * @param seed Random seed
+     * @return Markdown content
+     */
+    public static String generate(MarkdownSpec spec, long seed) {
+        if (spec.targetBytes() > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Document too large to build in memory; use write()");
+        }
+        StringBuilder doc = new StringBuilder((int) spec.targetBytes() + 1024);
+        try {
+            generate(spec, seed, doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return doc.toString();
+    }
+
+    /**
+     * Streams a document to a file.
+     *
+     * @param spec Size and block mix
+     * @param seed Random seed
+     * @param file Destination file, replaced if it exists
+     * @return Number of bytes written
+     * @throws IOException if writing fails
+     */
+    public static long write(MarkdownSpec spec, long seed, Path file) throws IOException {
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.US_ASCII), 1 << 16)) {
+            return generate(spec, seed, writer);
+        }
+    }
+
+    /**
+     * Generates a document into any appendable.
+     *
+     * @return Number of characters appended
+     */
+    public static long generate(MarkdownSpec spec, long seed, Appendable out) throws IOException {
+        Random random = new Random(seed);
+        Block block = new Block();
+        int totalWeight = spec.headingWeight() + spec.paragraphWeight() + spec.fenceWeight()
+            + spec.tableWeight() + spec.calloutWeight();
+
+        block.append("# Project ").append(capitalize(word(random))).append("\n\n");
+        long written = block.flushTo(out);
+
+        int section = 0;
+        while (written < spec.targetBytes()) {
+            int pick = random.nextInt(totalWeight);
+            if ((pick -= spec.headingWeight()) < 0) {
+                appendHeading(block, random, spec, section++);
+            } else if ((pick -= spec.paragraphWeight()) < 0) {
+                appendParagraph(block, random);
+            } else if ((pick -= spec.fenceWeight()) < 0) {
+                appendFence(block, random, spec);
+            } else if ((pick -= spec.tableWeight()) < 0) {
+                appendTable(block, random);
+            } else {
+                appendCallout(block, random);
+            }
+            written += block.flushTo(out);
+        }
+        return written;
+    }
+
+    private static void appendHeading(Block block, Random random, MarkdownSpec spec, int section) {
+        String title = capitalize(word(random)) + " " + word(random) + " " + section;
+        int level = 2 + random.nextInt(3);
+        if (random.nextDouble() < spec.setextRatio()) {
+            // Setext only exists for levels 1 and 2
+            block.append(title).append('\n').append(random.nextInt(4) == 0 ? "=====" : "-----").append("\n\n");
+        } else {
+            block.append("#".repeat(level)).append(' ').append(title).append("\n\n");
+        }
+    }
+
+    private static void appendParagraph(Block block, Random random) {
+        int words = 20 + random.nextInt(60);
+        for (int i = 0; i < words; i++) {
+            block.append(word(random)).append(i % 12 == 11 ? "\n" : " ");
+        }
+        // Some paragraphs end in trailing whitespace for the rewrite passes
+        block.append(random.nextInt(4) == 0 ? "  \n\n" : "\n\n");
+    }
+
+    private static void appendFence(Block block, Random random, MarkdownSpec spec) {
+        boolean unlabeled = random.nextDouble() < spec.unlabeledFenceRatio();
+        block.append(unlabeled ? "```\n" : "```bash\n");
+        int lines = 1 + random.nextInt(6);
+        for (int i = 0; i < lines; i++) {
+            block.append(COMMANDS[random.nextInt(COMMANDS.length)]).append('\n');
+        }
+        block.append("```\n\n");
+    }
+
+    private static void appendTable(Block block, Random random) {
+        int columns = 2 + random.nextInt(3);
+        int rows = 2 + random.nextInt(6);
+        block.append('|');
+        for (int c = 0; c < columns; c++) {
+            block.append(' ').append(capitalize(word(random))).append(" |");
+        }
+        block.append("\n|");
+        for (int c = 0; c < columns; c++) {
+            block.append(" --- |");
+        }
+        block.append('\n');
+        for (int r = 0; r < rows; r++) {
+            block.append('|');
+            for (int c = 0; c < columns; c++) {
+                block.append(' ').append(word(random)).append(" |");
+            }
+            block.append('\n');
+        }
+        block.append('\n');
+    }
+
+    private static void appendCallout(Block block, Random random) {
+        block.append(CALLOUTS[random.nextInt(CALLOUTS.length)]);
+        int words = 8 + random.nextInt(20);
+        for (int i = 0; i < words; i++) {
+            block.append(word(random)).append(i + 1 < words ? " " : "\n\n");
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /**
+     * Reusable buffer for one block, so the generation loop can count what it writes.
+     */
+    private static final class Block {
+        private final StringBuilder text = new StringBuilder(512);
+
+        Block append(String s) {
+            text.append(s);
+            return this;
+        }
+
+        Block append(char c) {
+            text.append(c);
+            return this;
+        }
+
+        int flushTo(Appendable out) throws IOException {
+            int length = text.length();
+            out.append(text);
+            text.setLength(0);
+            return length;
+        }
+    }
+}
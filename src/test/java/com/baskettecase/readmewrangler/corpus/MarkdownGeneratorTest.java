@@ -0,0 +1,70 @@
+package com.baskettecase.readmewrangler.corpus;
+
+import com.baskettecase.readmewrangler.tool.MarkdownLinterTool;
+import com.baskettecase.readmewrangler.tool.TextRewriteTool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MarkdownGenerator.
+ */
+class MarkdownGeneratorTest {
+
+    @Test
+    void shouldBeDeterministicForSeed() {
+        MarkdownSpec spec = MarkdownSpec.mixed(16 * 1024);
+
+        assertEquals(MarkdownGenerator.generate(spec, 7), MarkdownGenerator.generate(spec, 7));
+        assertNotEquals(MarkdownGenerator.generate(spec, 7), MarkdownGenerator.generate(spec, 8));
+    }
+
+    @Test
+    void shouldStopCloseToTargetSize() {
+        for (long target : new long[] {1024, 64 * 1024, 1024 * 1024}) {
+            String doc = MarkdownGenerator.generate(MarkdownSpec.prose(target), 1);
+
+            assertTrue(doc.length() >= target);
+            // Overshoot is at most one block
+            assertTrue(doc.length() < target + 4096, "size " + doc.length() + " for target " + target);
+        }
+    }
+
+    @Test
+    void shouldHonourBlockMix() {
+        String mixed = MarkdownGenerator.generate(MarkdownSpec.mixed(64 * 1024), 3);
+        assertTrue(mixed.contains("| --- |"));
+        assertTrue(mixed.contains("> "));
+        assertTrue(mixed.contains("```\n"));
+        assertTrue(new TextRewriteTool().hasSetextHeadings(mixed));
+
+        MarkdownSpec labeledOnly = new MarkdownSpec(64 * 1024, 1, 1, 4, 0, 0, 0.0, 0.0);
+        String doc = MarkdownGenerator.generate(labeledOnly, 3);
+        assertFalse(doc.contains("| --- |"));
+        assertFalse(new TextRewriteTool().hasSetextHeadings(doc));
+        assertTrue(new MarkdownLinterTool().lint(Path.of("README.md"), doc).stream()
+            .noneMatch(f -> f.id().equals("missing-code-fence-language")));
+    }
+
+    @Test
+    void shouldStreamSameContentToFile(@TempDir Path tempDir) throws Exception {
+        MarkdownSpec spec = MarkdownSpec.codeHeavy(256 * 1024);
+        Path file = tempDir.resolve("README.md");
+
+        long written = MarkdownGenerator.write(spec, 11, file);
+
+        assertEquals(Files.size(file), written);
+        assertEquals(MarkdownGenerator.generate(spec, 11), Files.readString(file));
+    }
+
+    @Test
+    void shouldRejectInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> new MarkdownSpec(1024, 0, 0, 0, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MarkdownSpec(1024, 1, 1, 1, 1, 1, 1.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> MarkdownSpec.preset("unknown", 1024));
+    }
+}
@@ -0,0 +1,90 @@
+package com.baskettecase.readmewrangler.corpus;
+
+import java.util.Locale;
+
+/**
+ * Controls the size and block mix of a generated markdown document.
+ * Weights are relative: a block kind with weight 0 never appears.
+ *
+ * @param targetBytes Approximate document size; generation stops after the block that reaches it
+ * @param headingWeight Relative frequency of section headings
+ * @param paragraphWeight Relative frequency of prose paragraphs
+ * @param fenceWeight Relative frequency of fenced code blocks
+ * @param tableWeight Relative frequency of pipe tables
+ * @param calloutWeight Relative frequency of blockquote callouts ({@code > **Note:**}, {@code > [!WARNING]})
+ * @param unlabeledFenceRatio Share of code fences without a language tag (0.0 - 1.0)
+ * @param setextRatio Share of level 1-2 headings written in setext style (0.0 - 1.0)
+ */
+public record MarkdownSpec(
+    long targetBytes,
+    int headingWeight,
+    int paragraphWeight,
+    int fenceWeight,
+    int tableWeight,
+    int calloutWeight,
+    double unlabeledFenceRatio,
+    double setextRatio
+) {
+    /**
+     * Creates a spec with validation.
+     */
+    public MarkdownSpec {
+        if (targetBytes < 0) {
+            throw new IllegalArgumentException("Target size cannot be negative");
+        }
+        if (headingWeight < 0 || paragraphWeight < 0 || fenceWeight < 0 || tableWeight < 0 || calloutWeight < 0) {
+            throw new IllegalArgumentException("Weights cannot be negative");
+        }
+        if (headingWeight + paragraphWeight + fenceWeight + tableWeight + calloutWeight == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        if (unlabeledFenceRatio < 0 || unlabeledFenceRatio > 1 || setextRatio < 0 || setextRatio > 1) {
+            throw new IllegalArgumentException("Ratios must be between 0 and 1");
+        }
+    }
+
+    /** Mostly paragraphs, occasional headings. */
+    public static MarkdownSpec prose(long targetBytes) {
+        return new MarkdownSpec(targetBytes, 2, 10, 1, 0, 1, 0.5, 0.1);
+    }
+
+    /** Frequent code blocks, most of them unlabeled. */
+    public static MarkdownSpec codeHeavy(long targetBytes) {
+        return new MarkdownSpec(targetBytes, 2, 3, 8, 0, 0, 0.7, 0.0);
+    }
+
+    /** Many short sections with a high share of setext headings. */
+    public static MarkdownSpec headingHeavy(long targetBytes) {
+        return new MarkdownSpec(targetBytes, 8, 3, 1, 0, 0, 0.5, 0.4);
+    }
+
+    /** Every block kind, including tables and callouts. */
+    public static MarkdownSpec mixed(long targetBytes) {
+        return new MarkdownSpec(targetBytes, 3, 5, 3, 2, 2, 0.5, 0.2);
+    }
+
+    /**
+     * Looks up a preset by name (prose, code_heavy, heading_heavy, mixed), case-insensitively.
+     *
+     * @param name Preset name
+     * @param targetBytes Approximate document size
+     * @return The preset spec
+     */
+    public static MarkdownSpec preset(String name, long targetBytes) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "prose" -> prose(targetBytes);
+            case "code_heavy" -> codeHeavy(targetBytes);
+            case "heading_heavy" -> headingHeavy(targetBytes);
+            case "mixed" -> mixed(targetBytes);
+            default -> throw new IllegalArgumentException("Unknown markdown preset: " + name);
+        };
+    }
+
+    /**
+     * Returns a copy with a different target size.
+     */
+    public MarkdownSpec withTargetBytes(long targetBytes) {
+        return new MarkdownSpec(targetBytes, headingWeight, paragraphWeight, fenceWeight,
+            tableWeight, calloutWeight, unlabeledFenceRatio, setextRatio);
+    }
+}
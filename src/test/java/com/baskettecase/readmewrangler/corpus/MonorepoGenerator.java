@@ -0,0 +1,141 @@
+package com.baskettecase.readmewrangler.corpus;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes deterministic synthetic monorepos for benchmarks and scale tests.
+ * Each module gets a build descriptor, a README, extra docs, source files, and node_modules and
+ * target directories full of noise (including markdown) that scanners should ignore.
+ */
+public final class MonorepoGenerator {
+
+    private MonorepoGenerator() {
+    }
+
+    /**
+     * Generates a monorepo under the given root.
+     *
+     * @param root Destination directory; created if missing
+     * @param spec Repository shape
+     * @param seed Random seed
+     * @return What was written
+     * @throws IOException if writing fails
+     */
+    public static Monorepo generate(Path root, MonorepoSpec spec, long seed) throws IOException {
+        Files.createDirectories(root);
+        Random random = new Random(seed);
+        Monorepo.Builder result = new Monorepo.Builder(root);
+        writeModule(root, "root", spec, spec.depth(), random, result);
+        return result.build();
+    }
+
+    private static void writeModule(Path dir, String name, MonorepoSpec spec, int levelsLeft,
+                                    Random random, Monorepo.Builder result) throws IOException {
+        writeBuildDescriptor(dir, name, spec.build());
+
+        result.doc(MarkdownGenerator.write(spec.docSpec(), random.nextLong(), dir.resolve("README.md")),
+            dir.resolve("README.md"));
+        Path docs = dir.resolve("docs");
+        if (spec.docsPerModule() > 0) {
+            Files.createDirectories(docs);
+        }
+        for (int i = 0; i < spec.docsPerModule(); i++) {
+            Path doc = docs.resolve("guide-" + i + ".md");
+            result.doc(MarkdownGenerator.write(spec.docSpec(), random.nextLong(), doc), doc);
+        }
+
+        Path src = dir.resolve("src");
+        if (spec.sourcesPerModule() > 0) {
+            Files.createDirectories(src);
+        }
+        for (int i = 0; i < spec.sourcesPerModule(); i++) {
+            Files.writeString(src.resolve("Source" + i + ".java"), "class Source" + i + " {}\n");
+            result.source();
+        }
+
+        writeNoise(dir, spec.noiseFilesPerModule(), random, result);
+
+        if (levelsLeft > 0) {
+            for (int i = 0; i < spec.modulesPerDir(); i++) {
+                String child = name + "-" + i;
+                Path childDir = Files.createDirectories(dir.resolve("modules").resolve(child));
+                writeModule(childDir, child, spec, levelsLeft - 1, random, result);
+            }
+        }
+    }
+
+    private static void writeNoise(Path dir, int files, Random random, Monorepo.Builder result) throws IOException {
+        if (files == 0) {
+            return;
+        }
+        Path nodeModules = Files.createDirectories(dir.resolve("node_modules").resolve("pkg-" + random.nextInt(1000)));
+        Path target = Files.createDirectories(dir.resolve("target").resolve("generated-docs"));
+        for (int i = 0; i < files; i++) {
+            // Alternate between the two noise directories, half markdown and half not
+            Path base = i % 2 == 0 ? nodeModules : target;
+            Path file = base.resolve(i % 4 < 2 ? "NOTES-" + i + ".md" : "file-" + i + ".js");
+            Files.writeString(file, "# Noise " + i + "\n");
+            result.noise();
+        }
+    }
+
+    private static void writeBuildDescriptor(Path dir, String name, BuildSystem build) throws IOException {
+        switch (build) {
+            case MAVEN -> Files.writeString(dir.resolve("pom.xml"),
+                "<project><artifactId>" + name + "</artifactId></project>\n");
+            case GRADLE -> Files.writeString(dir.resolve("build.gradle"), "// " + name + "\n");
+            case MAKEFILE -> Files.writeString(dir.resolve("Makefile"), "test:\n\t@echo " + name + "\n");
+            case OTHER -> {
+                // No descriptor
+            }
+        }
+    }
+
+    /**
+     * Summary of a generated monorepo.
+     *
+     * @param root Repository root
+     * @param docs Markdown documents a scanner should find (READMEs and docs/ guides)
+     * @param docBytes Total size of those documents
+     * @param sourceFiles Number of non-markdown source files
+     * @param noiseFiles Number of files under node_modules and target
+     */
+    public record Monorepo(Path root, List<Path> docs, long docBytes, int sourceFiles, int noiseFiles) {
+
+        private static final class Builder {
+            private final Path root;
+            private final List<Path> docs = new ArrayList<>();
+            private long docBytes;
+            private int sourceFiles;
+            private int noiseFiles;
+
+            Builder(Path root) {
+                this.root = root;
+            }
+
+            void doc(long bytes, Path path) {
+                docs.add(path);
+                docBytes += bytes;
+            }
+
+            void source() {
+                sourceFiles++;
+            }
+
+            void noise() {
+                noiseFiles++;
+            }
+
+            Monorepo build() {
+                return new Monorepo(root, List.copyOf(docs), docBytes, sourceFiles, noiseFiles);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.baskettecase.readmewrangler.corpus;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.tool.RepoScannerTool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MonorepoGenerator.
+ */
+class MonorepoGeneratorTest {
+
+    @Test
+    void shouldWriteConfiguredShape(@TempDir Path tempDir) throws Exception {
+        MonorepoSpec spec = new MonorepoSpec(2, 3, 2, 4, 4, BuildSystem.GRADLE, MarkdownSpec.prose(1024));
+
+        MonorepoGenerator.Monorepo repo = MonorepoGenerator.generate(tempDir, spec, 5);
+
+        assertEquals(13, spec.moduleCount());
+        assertEquals(13 * 3, repo.docs().size());
+        assertEquals(13 * 4, repo.sourceFiles());
+        assertEquals(13 * 4, repo.noiseFiles());
+        assertTrue(Files.exists(tempDir.resolve("build.gradle")));
+        assertTrue(Files.exists(tempDir.resolve("modules/root-2/modules/root-2-1/build.gradle")));
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(13 * (1 + 3 + 4 + 4), files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void shouldBeDeterministicForSeed(@TempDir Path tempDir) throws Exception {
+        MonorepoSpec spec = MonorepoSpec.defaults();
+
+        MonorepoGenerator.generate(tempDir.resolve("a"), spec, 9);
+        MonorepoGenerator.generate(tempDir.resolve("b"), spec, 9);
+
+        Path doc = Path.of("modules/root-1/docs/guide-0.md");
+        assertEquals(Files.readString(tempDir.resolve("a").resolve(doc)),
+            Files.readString(tempDir.resolve("b").resolve(doc)));
+    }
+
+    @Test
+    void scannerShouldFindDocsAndSkipNoise(@TempDir Path tempDir) throws Exception {
+        MonorepoSpec spec = new MonorepoSpec(3, 4, 3, 2, 8, BuildSystem.MAVEN, MarkdownSpec.mixed(4096));
+        MonorepoGenerator.Monorepo repo = MonorepoGenerator.generate(tempDir, spec, 1);
+
+        RepoSnapshot snapshot = new RepoScannerTool().scanRepository(tempDir);
+
+        assertEquals(BuildSystem.MAVEN, snapshot.build());
+        assertEquals(new HashSet<>(repo.docs()), new HashSet<>(snapshot.markdownFiles()));
+    }
+}
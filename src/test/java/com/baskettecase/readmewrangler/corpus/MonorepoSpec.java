@@ -0,0 +1,60 @@
+package com.baskettecase.readmewrangler.corpus;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+
+/**
+ * Controls the shape of a generated monorepo.
+ *
+ * @param depth Levels of nested modules below the root (0 = root only)
+ * @param modulesPerDir Child modules in each module directory
+ * @param docsPerModule Markdown documents in each module, in addition to its README
+ * @param sourcesPerModule Non-markdown source files in each module
+ * @param noiseFilesPerModule Files placed in each module's node_modules and target directories,
+ *                            including markdown that scanners are expected to skip
+ * @param build Build system whose descriptor is written at the root and in every module
+ * @param docSpec Size and block mix of each generated document
+ */
+public record MonorepoSpec(
+    int depth,
+    int modulesPerDir,
+    int docsPerModule,
+    int sourcesPerModule,
+    int noiseFilesPerModule,
+    BuildSystem build,
+    MarkdownSpec docSpec
+) {
+    /**
+     * Creates a spec with validation.
+     */
+    public MonorepoSpec {
+        if (depth < 0 || modulesPerDir < 0 || docsPerModule < 0 || sourcesPerModule < 0 || noiseFilesPerModule < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative");
+        }
+        if (build == null) {
+            build = BuildSystem.MAVEN;
+        }
+        if (docSpec == null) {
+            docSpec = MarkdownSpec.mixed(2048);
+        }
+    }
+
+    /**
+     * A small Maven monorepo: two levels of three modules with noise directories.
+     */
+    public static MonorepoSpec defaults() {
+        return new MonorepoSpec(2, 3, 2, 4, 4, BuildSystem.MAVEN, MarkdownSpec.mixed(2048));
+    }
+
+    /**
+     * Number of module directories, including the root.
+     */
+    public long moduleCount() {
+        long count = 1;
+        long level = 1;
+        for (int i = 0; i < depth; i++) {
+            level *= modulesPerDir;
+            count += level;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,174 @@
+package com.baskettecase.readmewrangler.perf;
+
+import com.baskettecase.readmewrangler.agent.ReadmePolisherAgent;
+import com.baskettecase.readmewrangler.corpus.MarkdownGenerator;
+import com.baskettecase.readmewrangler.corpus.MarkdownSpec;
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.service.PolishingConfig;
+import com.baskettecase.readmewrangler.service.PolishingService;
+import com.baskettecase.readmewrangler.service.SnapshotCache;
+import com.baskettecase.readmewrangler.tool.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation and latency regression gate for the in-memory polishing pipeline.
+ * Polishes a golden corpus (the fixture READMEs plus seeded synthetic documents) and compares
+ * bytes allocated per document and time per MB against src/test/resources/perf-baseline.properties.
+ *
+ * <p>Runs only in the perf tier: {@code mvn test -Pperf}. System properties:
+ * {@code perf.tolerance.alloc} (default 0.10) and {@code perf.tolerance.time} (default 0.30) set the
+ * allowed growth; {@code perf.updateBaseline=true} rewrites the baseline from this run instead of
+ * checking it. Record the time baseline on the machine that runs the gate.
+ */
+@Tag("perf")
+class PipelineRegressionTest {
+
+    private static final Path BASELINE = Path.of("src/test/resources/perf-baseline.properties");
+    private static final String TIME_KEY = "time.nanosPerMb";
+    private static final String ALLOC_PREFIX = "alloc.";
+
+    // Full pipeline on every document: the maxChangesPerFile guardrail would stop large ones early
+    private static final PolishingConfig CONFIG = new PolishingConfig(4, "atx", "bash", true, "21", 0, true);
+
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 15;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final PolishingService polishingService = new PolishingService(new ReadmePolisherAgent(
+        new RepoScannerTool(),
+        new MarkdownLinterTool(),
+        new TextRewriteTool(),
+        new TocTool(),
+        new BadgeTool(),
+        new PatchBuilderTool(),
+        new VisualEnhancementTool(),
+        new DocConsolidationTool(),
+        ProseRewriteTool.disabled(),
+        new SnapshotCache(new RepoScannerTool(), Duration.ofSeconds(30))
+    ));
+
+    @Test
+    void pipelineShouldNotRegress() throws IOException {
+        Map<String, String> corpus = goldenCorpus();
+        long corpusBytes = corpus.values().stream().mapToLong(String::length).sum();
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            corpus.values().forEach(this::polish);
+        }
+
+        Map<String, long[]> allocations = new LinkedHashMap<>();
+        corpus.keySet().forEach(name -> allocations.put(name, new long[MEASURED_ROUNDS]));
+        long[] roundNanos = new long[MEASURED_ROUNDS];
+
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long roundStart = System.nanoTime();
+            for (Map.Entry<String, String> doc : corpus.entrySet()) {
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                polish(doc.getValue());
+                allocations.get(doc.getKey())[round] = THREADS.getCurrentThreadAllocatedBytes() - before;
+            }
+            roundNanos[round] = System.nanoTime() - roundStart;
+        }
+
+        Map<String, Long> measured = new TreeMap<>();
+        allocations.forEach((name, samples) -> measured.put(ALLOC_PREFIX + name, median(samples)));
+        measured.put(TIME_KEY, (long) (median(roundNanos) / (corpusBytes / (1024.0 * 1024.0))));
+
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            writeBaseline(measured);
+            return;
+        }
+
+        Properties baseline = loadBaseline();
+        double allocTolerance = Double.parseDouble(System.getProperty("perf.tolerance.alloc", "0.10"));
+        double timeTolerance = Double.parseDouble(System.getProperty("perf.tolerance.time", "0.30"));
+
+        List<String> regressions = new ArrayList<>();
+        measured.forEach((key, actual) -> {
+            String expected = baseline.getProperty(key);
+            if (expected == null) {
+                regressions.add(key + ": no baseline (run with -Dperf.updateBaseline=true)");
+                return;
+            }
+            double tolerance = key.equals(TIME_KEY) ? timeTolerance : allocTolerance;
+            long limit = (long) (Long.parseLong(expected) * (1 + tolerance));
+            System.out.printf("%-32s baseline %,14d  actual %,14d  (%+.1f%%)%n",
+                key, Long.parseLong(expected), actual, 100.0 * (actual - Long.parseLong(expected)) / Long.parseLong(expected));
+            if (actual > limit) {
+                regressions.add(String.format("%s: %,d exceeds baseline %,d by more than %.0f%%",
+                    key, actual, Long.parseLong(expected), tolerance * 100));
+            }
+        });
+
+        assertTrue(regressions.isEmpty(), "Performance regressions:\n  " + String.join("\n  ", regressions));
+    }
+
+    private void polish(String content) {
+        polishingService.polishContent(content, "README.md", BuildSystem.MAVEN, "MIT", CONFIG);
+    }
+
+    /**
+     * The fixture READMEs plus seeded synthetic documents. Names are baseline keys, so never reuse one
+     * for different content.
+     */
+    private Map<String, String> goldenCorpus() throws IOException {
+        Map<String, String> corpus = new LinkedHashMap<>();
+        corpus.put("fixture-maven-app", Files.readString(Path.of("fixtures/maven-app/README.md")));
+        corpus.put("fixture-gradle-lib", Files.readString(Path.of("fixtures/gradle-lib/README.md")));
+        corpus.put("fixture-docs-split", Files.readString(Path.of("fixtures/docs-split/README.md")));
+        corpus.put("prose-16k", MarkdownGenerator.generate(MarkdownSpec.prose(16 * 1024), 1));
+        corpus.put("code-heavy-64k", MarkdownGenerator.generate(MarkdownSpec.codeHeavy(64 * 1024), 2));
+        corpus.put("heading-heavy-64k", MarkdownGenerator.generate(MarkdownSpec.headingHeavy(64 * 1024), 3));
+        corpus.put("mixed-128k", MarkdownGenerator.generate(MarkdownSpec.mixed(128 * 1024), 4));
+        return corpus;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = PipelineRegressionTest.class.getResourceAsStream("/perf-baseline.properties")) {
+            assertNotNull(in, "No perf-baseline.properties; run with -Dperf.updateBaseline=true to create it");
+            try (Reader reader = new java.io.InputStreamReader(in, java.nio.charset.StandardCharsets.UTF_8)) {
+                baseline.load(reader);
+            }
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(Map<String, Long> measured) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Pipeline performance baseline, checked by PipelineRegressionTest (mvn test -Pperf).");
+        lines.add("# Regenerate with: mvn test -Pperf -Dperf.updateBaseline=true");
+        lines.add("# alloc.<document>: bytes allocated to polish the document (median)");
+        lines.add("# " + TIME_KEY + ": nanoseconds to polish 1 MB of the corpus (median round)");
+        measured.forEach((key, value) -> lines.add(key + "=" + value));
+        Files.createDirectories(BASELINE.getParent());
+        Files.write(BASELINE, lines);
+        System.out.println("Wrote " + BASELINE.toAbsolutePath());
+    }
+}
@@ -0,0 +1,52 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DeadlinePolicy.
+ */
+class DeadlinePolicyTest {
+
+    private final DeadlinePolicy policy = new DeadlinePolicy(Duration.ofSeconds(60), Duration.ofMinutes(5));
+
+    @Test
+    void shouldUseDefaultWhenNoTimeoutRequested() {
+        Duration remaining = policy.start(null).remaining();
+
+        assertTrue(remaining.compareTo(Duration.ofSeconds(59)) > 0);
+        assertTrue(remaining.compareTo(Duration.ofSeconds(60)) <= 0);
+    }
+
+    @Test
+    void shouldCapRequestedTimeoutAtMaximum() {
+        Duration remaining = policy.startMillis(Duration.ofHours(1).toMillis()).remaining();
+
+        assertTrue(remaining.compareTo(Duration.ofMinutes(5)) <= 0);
+    }
+
+    @Test
+    void shouldExpireOnceTimeoutElapses() throws InterruptedException {
+        Deadline deadline = policy.startMillis(1L);
+        Thread.sleep(5);
+
+        assertTrue(deadline.isExpired());
+        assertThrows(Deadline.DeadlineExceededException.class, () -> deadline.check("test"));
+    }
+
+    @Test
+    void shouldOnlyExpireUnboundedDeadlineWhenCancelled() {
+        Deadline deadline = Deadline.none();
+
+        assertFalse(deadline.isExpired());
+        assertNull(deadline.remaining());
+
+        deadline.cancel();
+
+        assertTrue(deadline.isExpired());
+    }
+}
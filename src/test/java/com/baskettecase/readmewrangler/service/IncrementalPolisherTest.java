@@ -0,0 +1,93 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.agent.ReadmePolisherAgent;
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.service.IncrementalPolisher.FileUpdate;
+import com.baskettecase.readmewrangler.service.IncrementalPolisher.Update;
+import com.baskettecase.readmewrangler.tool.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IncrementalPolisher.
+ */
+class IncrementalPolisherTest {
+
+    private final RepoScannerTool scanner = new RepoScannerTool();
+    private final MarkdownLinterTool linter = new MarkdownLinterTool();
+    private final BadgeTool badgeTool = new BadgeTool();
+    private final SnapshotCache snapshotCache = new SnapshotCache(scanner, Duration.ofSeconds(30));
+
+    private final PolishingService polishingService = new PolishingService(new ReadmePolisherAgent(
+        scanner,
+        linter,
+        new TextRewriteTool(),
+        new TocTool(),
+        badgeTool,
+        new PatchBuilderTool(),
+        new VisualEnhancementTool(),
+        new DocConsolidationTool(),
+        ProseRewriteTool.disabled(),
+        snapshotCache
+    ));
+
+    @Test
+    void shouldOnlyRelintChangedDocuments(@TempDir Path repo) throws IOException {
+        Files.writeString(repo.resolve("README.md"), "# Demo\n");
+        Path guide = Files.createDirectories(repo.resolve("docs")).resolve("guide.md");
+        Files.writeString(guide, "# Guide\n");
+        IncrementalPolisher polisher = polisher(repo);
+
+        assertEquals(2, polisher.initial().files().size());
+
+        Files.writeString(guide, "# Guide\n\n```\nls\n```\n");
+        Update update = polisher.apply(Set.of(guide.toAbsolutePath()));
+
+        assertFalse(update.contextChanged());
+        assertEquals(1, update.files().size());
+        FileUpdate file = update.files().get(0);
+        assertNull(file.bundle());
+        assertTrue(file.findings().stream().anyMatch(f -> f.id().equals("missing-code-fence-language")));
+    }
+
+    @Test
+    void shouldRepolishReadmeWhenBuildFileChanges(@TempDir Path repo) throws IOException {
+        Path readme = repo.resolve("README.md");
+        Files.writeString(readme, "# Demo\n");
+        IncrementalPolisher polisher = polisher(repo);
+        polisher.initial();
+        assertEquals(BuildSystem.OTHER, polisher.buildSystem());
+
+        Path pom = Files.writeString(repo.resolve("pom.xml"), "<project/>");
+        Update update = polisher.apply(Set.of(pom.toAbsolutePath()));
+
+        assertTrue(update.contextChanged());
+        assertEquals(BuildSystem.MAVEN, polisher.buildSystem());
+        assertEquals(1, update.files().size());
+        assertTrue(update.files().get(0).bundle().summary().addedTestSection());
+    }
+
+    @Test
+    void shouldReportDeletedDocuments(@TempDir Path repo) throws IOException {
+        Files.writeString(repo.resolve("README.md"), "# Demo\n");
+        IncrementalPolisher polisher = polisher(repo);
+        polisher.initial();
+
+        Update update = polisher.apply(Set.of(repo.toAbsolutePath().resolve("OLD.md")));
+
+        assertTrue(update.files().get(0).deleted());
+    }
+
+    private IncrementalPolisher polisher(Path repo) {
+        return new IncrementalPolisher(
+            repo, PolishingConfig.defaults(), polishingService, linter, badgeTool, snapshotCache);
+    }
+}
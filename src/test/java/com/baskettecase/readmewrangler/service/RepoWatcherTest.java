@@ -0,0 +1,50 @@
+package com.baskettecase.readmewrangler.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RepoWatcher.
+ */
+class RepoWatcherTest {
+
+    @Test
+    void shouldDeliverBurstOfSavesAsOneBatch(@TempDir Path repo) throws Exception {
+        Path readme = Files.writeString(repo.resolve("README.md"), "# Demo\n");
+        Files.createDirectories(repo.resolve("node_modules/pkg"));
+        List<Set<Path>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        try (RepoWatcher watcher = new RepoWatcher(repo, Duration.ofMillis(200))) {
+            assertFalse(watcher.watchedDirectories().stream().anyMatch(d -> d.endsWith("node_modules")));
+
+            Thread thread = Thread.ofVirtual().start(() -> watcher.run(changed -> {
+                batches.add(changed);
+                delivered.countDown();
+            }));
+
+            for (int i = 0; i < 5; i++) {
+                Files.writeString(readme, "# Demo " + i + "\n");
+            }
+            Files.writeString(repo.resolve("notes.txt"), "ignored");
+
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+            watcher.close();
+            thread.join(5000);
+        }
+
+        assertEquals(1, batches.size());
+        assertEquals(Set.of(readme.toAbsolutePath()), batches.get(0));
+    }
+}
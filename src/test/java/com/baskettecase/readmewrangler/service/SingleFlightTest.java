@@ -0,0 +1,152 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.Deadline.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SingleFlight.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>(4);
+
+    @Test
+    void shouldCoalesceConcurrentCallsForSameKey() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flights.execute("repo", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return "polished";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            CountDownLatch followers = new CountDownLatch(3);
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> {
+                    followers.countDown();
+                    return flights.execute("repo", () -> {
+                        runs.incrementAndGet();
+                        return "duplicate";
+                    });
+                }));
+            }
+            assertTrue(followers.await(5, TimeUnit.SECONDS));
+            // Give followers a moment to join the in-flight computation
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("polished", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+            assertEquals(0, flights.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRunSeparatelyForDifferentKeys() throws IOException {
+        assertEquals("a", flights.execute("repo-a", () -> "a"));
+        assertEquals("b", flights.execute("repo-b", () -> "b"));
+    }
+
+    @Test
+    void shouldPropagateIOExceptionAndAllowRetry() throws IOException {
+        assertThrows(IOException.class, () -> flights.execute("repo", () -> {
+            throw new IOException("boom");
+        }));
+
+        assertEquals("ok", flights.execute("repo", () -> "ok"));
+    }
+
+    @Test
+    void shouldNotShareResultCutShortByLeaderDeadline() throws Exception {
+        Deadline shortDeadline = Deadline.after(Duration.ofMillis(300));
+        Deadline longDeadline = Deadline.after(Duration.ofSeconds(30));
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger followerRuns = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("repo", shortDeadline, () -> {
+                started.countDown();
+                while (!shortDeadline.isExpired()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                }
+                return "partial";
+            }, result -> !result.equals("partial")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<String> follower = executor.submit(() -> flights.execute("repo", longDeadline, () -> {
+                followerRuns.incrementAndGet();
+                return "complete";
+            }, result -> !result.equals("partial")));
+
+            assertEquals("partial", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("complete", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, followerRuns.get());
+            assertEquals(0, flights.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStopWaitingAtFollowerDeadline() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("repo",
+                Deadline.after(Duration.ofSeconds(30)), () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return "polished";
+                }, result -> true));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> flights.execute("repo",
+                Deadline.after(Duration.ofMillis(50)), () -> "duplicate", result -> true));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "Follower waited past its deadline");
+            assertFalse(leader.isDone());
+
+            release.countDown();
+            assertEquals("polished", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
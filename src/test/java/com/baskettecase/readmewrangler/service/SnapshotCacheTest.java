@@ -0,0 +1,117 @@
+package com.baskettecase.readmewrangler.service;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.tool.RepoScannerTool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SnapshotCache.
+ */
+class SnapshotCacheTest {
+
+    private final AtomicInteger scans = new AtomicInteger();
+
+    private final RepoScannerTool countingScanner = new RepoScannerTool() {
+        @Override
+        public RepoSnapshot scanRepository(Path rootPath, Deadline deadline) throws IOException {
+            scans.incrementAndGet();
+            return super.scanRepository(rootPath, deadline);
+        }
+    };
+
+    @Test
+    void shouldReuseSnapshotForUnchangedRepository(@TempDir Path tempDir) throws IOException {
+        Files.createFile(tempDir.resolve("pom.xml"));
+        SnapshotCache cache = new SnapshotCache(countingScanner, Duration.ofMinutes(5));
+
+        RepoSnapshot first = cache.get(tempDir);
+        RepoSnapshot second = cache.get(tempDir);
+
+        assertSame(first, second);
+        assertEquals(1, scans.get());
+        assertEquals(1, cache.cachedSnapshots().size());
+    }
+
+    @Test
+    void shouldRescanWhenRootModified(@TempDir Path tempDir) throws IOException {
+        SnapshotCache cache = new SnapshotCache(countingScanner, Duration.ofMinutes(5));
+
+        assertEquals(BuildSystem.OTHER, cache.get(tempDir).build());
+
+        Files.createFile(tempDir.resolve("build.gradle"));
+        Files.setLastModifiedTime(tempDir, FileTime.from(Instant.now().plusSeconds(10)));
+
+        assertEquals(BuildSystem.GRADLE, cache.get(tempDir).build());
+        assertEquals(2, scans.get());
+    }
+
+    @Test
+    void shouldRescanWhenNestedDocsDirectoryModified(@TempDir Path tempDir) throws IOException {
+        Path docs = Files.createDirectories(tempDir.resolve("docs"));
+        Files.writeString(docs.resolve("API.md"), "# API");
+        Files.writeString(docs.resolve("SETUP.md"), "# Setup");
+        SnapshotCache cache = new SnapshotCache(countingScanner, Duration.ofMinutes(5));
+        FileTime rootModified = Files.getLastModifiedTime(tempDir);
+
+        assertEquals(2, cache.get(tempDir).markdownFiles().size());
+
+        Files.delete(docs.resolve("API.md"));
+        Files.setLastModifiedTime(docs, FileTime.from(Instant.now().plusSeconds(10)));
+        Files.setLastModifiedTime(tempDir, rootModified);
+
+        assertEquals(1, cache.get(tempDir).markdownFiles().size());
+        assertEquals(2, scans.get());
+    }
+
+    @Test
+    void shouldRescanWhenDocsAddedInNewDocsSubdirectory(@TempDir Path tempDir) throws IOException {
+        Path guides = Files.createDirectories(tempDir.resolve("docs/guides"));
+        Files.writeString(tempDir.resolve("docs/API.md"), "# API");
+        SnapshotCache cache = new SnapshotCache(countingScanner, Duration.ofMinutes(5));
+        FileTime docsModified = Files.getLastModifiedTime(tempDir.resolve("docs"));
+
+        assertEquals(1, cache.get(tempDir).markdownFiles().size());
+
+        Files.writeString(Files.createDirectory(guides.resolve("deploy")).resolve("DEPLOY.md"), "# Deploy");
+        Files.setLastModifiedTime(guides, FileTime.from(Instant.now().plusSeconds(10)));
+        Files.setLastModifiedTime(tempDir.resolve("docs"), docsModified);
+
+        assertEquals(2, cache.get(tempDir).markdownFiles().size());
+        assertEquals(2, scans.get());
+    }
+
+    @Test
+    void shouldRescanAfterTtlExpires(@TempDir Path tempDir) throws IOException {
+        SnapshotCache cache = new SnapshotCache(countingScanner, Duration.ZERO);
+
+        cache.get(tempDir);
+        cache.get(tempDir);
+
+        assertEquals(2, scans.get());
+        assertTrue(cache.cachedSnapshots().isEmpty());
+    }
+
+    @Test
+    void shouldRescanAfterInvalidate(@TempDir Path tempDir) throws IOException {
+        SnapshotCache cache = new SnapshotCache(countingScanner, Duration.ofMinutes(5));
+
+        cache.get(tempDir);
+        cache.invalidate(tempDir);
+        cache.get(tempDir);
+
+        assertEquals(2, scans.get());
+    }
+}
@@ -0,0 +1,152 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.BuildSystem;
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool.ArchiveLimitExceededException;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool.ArchiveLimits;
+import com.baskettecase.readmewrangler.tool.ArchiveExtractorTool.ExtractedArchive;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ArchiveExtractorTool.
+ */
+class ArchiveExtractorToolTest {
+
+    private final ArchiveExtractorTool extractor = new ArchiveExtractorTool();
+
+    @Test
+    void shouldExtractRelevantTarGzEntriesIntoMemory() throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("demo-main/README.md", "# Demo\n");
+        files.put("demo-main/pom.xml", "<project/>");
+        files.put("demo-main/LICENSE", "MIT License");
+        files.put("demo-main/docs/API.md", "# API\n");
+        files.put("demo-main/src/Main.java", "class Main {}");
+        files.put("demo-main/node_modules/pkg/README.md", "# noise");
+
+        try (ExtractedArchive extracted = extractor.extract(
+                new ByteArrayInputStream(tarGz(files)), "demo", ArchiveLimits.defaults())) {
+
+            assertEquals("demo-main", extracted.root().getFileName().toString());
+            assertEquals(4, extracted.filesExtracted());
+            assertEquals(2, extracted.entriesSkipped());
+            assertFalse(Files.exists(extracted.root().resolve("src/Main.java")));
+
+            RepoSnapshot snapshot = new RepoScannerTool().scanRepository(extracted.root());
+            assertEquals(BuildSystem.MAVEN, snapshot.build());
+            assertEquals(2, snapshot.markdownFiles().size());
+        }
+    }
+
+    @Test
+    void shouldStopExtractionAtDeadline() throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("README.md", "# Demo\n");
+        Deadline deadline = Deadline.none();
+        deadline.cancel();
+
+        assertThrows(Deadline.DeadlineExceededException.class, () -> extractor.extract(
+            new ByteArrayInputStream(tarGz(files)), "demo", ArchiveLimits.defaults(), deadline));
+        assertThrows(Deadline.DeadlineExceededException.class, () -> extractor.extract(
+            new ByteArrayInputStream(zip(files)), "demo", ArchiveLimits.defaults(), deadline));
+    }
+
+    @Test
+    void shouldExtractRelevantZipEntries() throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("README.md", "# Demo\n");
+        files.put("build.gradle", "plugins {}");
+        files.put("image.png", "binary");
+
+        try (ExtractedArchive extracted = extractor.extract(
+                new ByteArrayInputStream(zip(files)), "demo", ArchiveLimits.defaults())) {
+
+            assertEquals("demo", extracted.root().getFileName().toString());
+            assertEquals(2, extracted.filesExtracted());
+            assertEquals("plugins {}", Files.readString(extracted.root().resolve("build.gradle")));
+        }
+    }
+
+    @Test
+    void shouldEnforceEntrySizeLimitWhileReading() throws IOException {
+        byte[] archive = tarGz(Map.of("README.md", "x".repeat(2048)));
+        ArchiveLimits limits = new ArchiveLimits(1 << 20, 1 << 20, 1 << 20, 1024, 100);
+
+        assertThrows(ArchiveLimitExceededException.class,
+            () -> extractor.extract(new ByteArrayInputStream(archive), "demo", limits));
+    }
+
+    @Test
+    void shouldEnforceInflatedLimitOnSkippedEntries() throws IOException {
+        byte[] archive = zip(Map.of("blob.bin", "0".repeat(100_000)));
+        ArchiveLimits limits = new ArchiveLimits(1 << 20, 10_000, 1 << 20, 1 << 20, 100);
+
+        assertThrows(ArchiveLimitExceededException.class,
+            () -> extractor.extract(new ByteArrayInputStream(archive), "demo", limits));
+    }
+
+    @Test
+    void shouldIgnorePathTraversalEntries() throws IOException {
+        try (ExtractedArchive extracted = extractor.extract(
+                new ByteArrayInputStream(zip(Map.of("../evil.md", "# evil", "README.md", "# ok"))),
+                "demo", ArchiveLimits.defaults())) {
+
+            assertEquals(1, extracted.filesExtracted());
+            assertTrue(Files.exists(extracted.root().resolve("README.md")));
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> extractor.extract(
+            new ByteArrayInputStream("not an archive".getBytes(StandardCharsets.UTF_8)),
+            "demo", ArchiveLimits.defaults()));
+    }
+
+    private byte[] zip(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] tarGz(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                byte[] data = file.getValue().getBytes(StandardCharsets.UTF_8);
+                byte[] header = new byte[512];
+                byte[] name = file.getKey().getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(name, 0, header, 0, name.length);
+                byte[] size = String.format("%011o", data.length).getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(size, 0, header, 124, size.length);
+                header[156] = '0';
+                System.arraycopy("ustar".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 5);
+                gzip.write(header);
+                gzip.write(data);
+                gzip.write(new byte[(512 - data.length % 512) % 512]);
+            }
+            gzip.write(new byte[1024]);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,10 +1,13 @@
 package com.baskettecase.readmewrangler.tool;
 
+import com.baskettecase.readmewrangler.domain.Deadline;
+import com.baskettecase.readmewrangler.domain.RepoSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -126,6 +129,106 @@ class DocConsolidationToolTest {
         assertTrue(consolidated.contains("Different paragraph"));
     }
 
+    @Test
+    void testNearDuplicatesAcrossFiles() throws IOException {
+        Files.writeString(tempDir.resolve("GETTING_STARTED.md"),
+            "# Getting Started\n\n## Installation\n\n"
+                + "Clone the repository and run the Maven wrapper to build the project with Java 21 installed.\n\n"
+                + "Then open the dashboard.");
+        Files.writeString(tempDir.resolve("SETUP.md"),
+            "# Setup\n\n## Installation\n\n"
+                + "Clone the repository, then run the Maven wrapper to build the project with Java 21 installed.\n\n"
+                + "Configure the API key before the first run so the prose stage can call the model.");
+
+        String consolidated = tool.consolidateDocumentation(tempDir).consolidatedContent();
+
+        assertTrue(consolidated.contains("Clone the repository and run"), "First copy is kept");
+        assertFalse(consolidated.contains("Clone the repository, then run"), "Near-identical copy is dropped");
+        assertTrue(consolidated.contains("Configure the API key"));
+        assertEquals(2, consolidated.split("## Installation", -1).length - 1, "Headings are never dropped");
+    }
+
+    @Test
+    void testKeepsDistinctParagraphsAndFencedCode() throws IOException {
+        String steps = "```bash\n# build the project with maven and run all unit tests\n\n"
+            + "mvn clean install -DskipTests=false -Pci\n```";
+        Files.writeString(tempDir.resolve("A.md"),
+            "Use the CLI to polish a single repository from the command line with default settings.\n\n" + steps);
+        Files.writeString(tempDir.resolve("B.md"),
+            "Use the MCP server to polish many repositories from an assistant with a shared config file.\n\n" + steps);
+
+        String consolidated = tool.consolidateDocumentation(tempDir).consolidatedContent();
+
+        assertTrue(consolidated.contains("Use the CLI"));
+        assertTrue(consolidated.contains("Use the MCP server"));
+        assertEquals(2, consolidated.split("mvn clean install", -1).length - 1, "Paragraphs inside fences are kept");
+    }
+
+    @Test
+    void testConsolidatesNestedDocsDirectories() throws IOException {
+        Files.createDirectories(tempDir.resolve("docs/guides"));
+        Files.createDirectories(tempDir.resolve("src/notes"));
+        Files.writeString(tempDir.resolve("README.md"), "# Demo");
+        Files.writeString(tempDir.resolve("SETUP.md"), "# Setup\n\nSee the [API](docs/API.md) first.");
+        Files.writeString(tempDir.resolve("docs/API.md"), "# API\n\n## Endpoints\n\nGET /api/data");
+        Files.writeString(tempDir.resolve("docs/guides/DEPLOY.md"), """
+            # Deploy
+
+            ## Steps
+
+            Read the [endpoints](../API.md#endpoints), the [setup](../../SETUP.md) and the [readme](../../README.md).
+
+            ![Diagram](../img/flow.png "Flow")
+
+            ```bash
+            # [not a link](../API.md)
+            ```""");
+        Files.writeString(tempDir.resolve("src/notes/TODO.md"), "# Todo");
+
+        DocConsolidationTool.ConsolidationResult result = tool.consolidateDocumentation(tempDir);
+        String consolidated = result.consolidatedContent();
+
+        assertEquals(List.of("SETUP.md", "API.md", "DEPLOY.md"),
+            result.filesToRemove().stream().map(p -> p.getFileName().toString()).toList());
+        assertTrue(consolidated.contains("- [Setup](#setup)\n- [Docs](#docs)\n  - [Api](#api)\n"
+            + "  - [Guides](#guides)\n    - [Deploy](#deploy)\n"));
+        assertTrue(consolidated.contains("\n## Docs\n\n### Api\n\n### Endpoints\n"));
+        assertTrue(consolidated.contains("\n### Guides\n\n#### Deploy\n\n#### Steps\n"));
+        assertTrue(consolidated.contains("See the [API](#api) first."));
+        assertTrue(consolidated.contains("[endpoints](#endpoints), the [setup](#setup) and the [readme](README.md)"));
+        assertTrue(consolidated.contains("![Diagram](docs/img/flow.png \"Flow\")"));
+        assertTrue(consolidated.contains("# [not a link](../API.md)"), "Fenced code is left as is");
+        assertFalse(consolidated.contains("Todo"));
+    }
+
+    @Test
+    void testConsolidatesDocsNamedLikeBuildDirectories() throws IOException {
+        Files.createDirectories(tempDir.resolve("docs"));
+        Files.writeString(tempDir.resolve("build-notes.md"), "# Build Notes\n\nRun the build.");
+        Files.writeString(tempDir.resolve("docs/target-platforms.md"), "# Targets\n\nLinux and macOS.");
+
+        DocConsolidationTool.ConsolidationResult result = tool.consolidateDocumentation(tempDir);
+
+        assertEquals(List.of("build-notes.md", "target-platforms.md"),
+            result.filesToRemove().stream().map(p -> p.getFileName().toString()).toList());
+    }
+
+    @Test
+    void testSkipsDocDeletedSinceScan() throws IOException {
+        Files.createDirectories(tempDir.resolve("docs"));
+        Files.writeString(tempDir.resolve("docs/API.md"), "# API\n\nGET /api/data");
+        Files.writeString(tempDir.resolve("docs/SETUP.md"), "# Setup\n\nInstall it.");
+        RepoSnapshot snapshot = new RepoScannerTool().scanRepository(tempDir);
+        Files.delete(tempDir.resolve("docs/API.md"));
+
+        DocConsolidationTool.ConsolidationResult result = tool.consolidateDocumentation(snapshot);
+
+        assertEquals(List.of("SETUP.md"),
+            result.filesToRemove().stream().map(p -> p.getFileName().toString()).toList());
+        assertTrue(result.consolidatedContent().contains("### Setup\n\nInstall it."));
+        assertFalse(result.consolidatedContent().contains("GET /api/data"));
+    }
+
     @Test
     void testTableOfContentsGeneration() throws IOException {
         Files.writeString(tempDir.resolve("SETUP.md"), "# Setup");
@@ -138,4 +241,37 @@ class DocConsolidationToolTest {
         assertTrue(consolidated.contains("[Setup](#setup)"));
         assertTrue(consolidated.contains("[Usage](#usage)"));
     }
+
+    @Test
+    void testParallelConsolidationKeepsFileOrder() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            Files.writeString(tempDir.resolve(String.format("DOC_%02d.md", i)),
+                "# Doc " + i + "\n\nParagraph of doc " + i + ".\n\nParagraph of doc " + i + ".");
+        }
+
+        String sequential = new DocConsolidationTool(1).consolidateDocumentation(tempDir).consolidatedContent();
+        StringWriter streamed = new StringWriter();
+        List<Path> files = new DocConsolidationTool(8).consolidateDocumentation(tempDir, streamed, Deadline.none());
+
+        assertEquals(sequential, streamed.toString());
+        assertEquals(40, files.size());
+        assertEquals("DOC_00.md", files.get(0).getFileName().toString());
+        assertTrue(sequential.indexOf("## Doc 07") < sequential.indexOf("## Doc 08"));
+        assertEquals(sequential.indexOf("Paragraph of doc 7."), sequential.lastIndexOf("Paragraph of doc 7."));
+    }
+
+    @Test
+    void testStreamsIntoNewFilePatch() throws IOException {
+        Files.writeString(tempDir.resolve("SETUP.md"), "# Setup\n\nInstall it.\n\nRun it.");
+        PatchBuilderTool.NewFilePatchWriter patch = new PatchBuilderTool().newFilePatch(tempDir.resolve("DEVELOPMENT.md"));
+
+        tool.consolidateDocumentation(tempDir, patch, Deadline.none());
+
+        String expected = tool.consolidateDocumentation(tempDir).consolidatedContent();
+        String diff = patch.toPatch();
+        assertTrue(diff.startsWith("--- /dev/null\n+++ b/"));
+        int lines = expected.split("\n", -1).length - 1;
+        assertTrue(diff.contains("@@ -0,0 +1," + lines + " @@\n"));
+        assertTrue(diff.contains("\n+Install it.\n+\n+Run it.\n"), "Blank lines are kept");
+    }
 }
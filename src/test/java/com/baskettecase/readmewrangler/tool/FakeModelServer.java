@@ -0,0 +1,135 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local OpenAI-compatible chat completions server for tests. Answers every request with a
+ * fixed reply after a delay, and rejects requests beyond a per-window quota with 429, the
+ * way a provider's rate limiter does. Records how many requests were served, rejected and
+ * in flight at once.
+ */
+public class FakeModelServer implements AutoCloseable {
+
+    private static final String REPLY = """
+        {"id":"fake-1","object":"chat.completion","created":1,"model":"fake-model",
+         "choices":[{"index":0,"message":{"role":"assistant","content":"[[P1]]\\nok"},"finish_reason":"stop"}],
+         "usage":{"prompt_tokens":20,"completion_tokens":5,"total_tokens":25}}""";
+
+    private static final String RATE_LIMITED = """
+        {"error":{"message":"Rate limit reached","type":"requests","code":"rate_limit_exceeded"}}""";
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final int requestsPerWindow;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger served = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private long windowStart = System.nanoTime();
+    private int windowCount;
+
+    /**
+     * Starts a server on a free local port.
+     *
+     * @param latency Time taken to answer each accepted request
+     * @param requestsPerWindow Requests accepted per window before 429s (0 for no limit)
+     * @param window Length of the rate-limit window
+     */
+    public FakeModelServer(Duration latency, int requestsPerWindow, Duration window) throws IOException {
+        this.latency = latency;
+        this.requestsPerWindow = requestsPerWindow;
+        this.windowNanos = window.toNanos();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    /**
+     * Creates an OpenAI chat model that talks to this server.
+     */
+    public OpenAiChatModel chatModel() {
+        OpenAiApi api = OpenAiApi.builder()
+            .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+            .apiKey("test-key")
+            .build();
+        return OpenAiChatModel.builder()
+            .openAiApi(api)
+            .defaultOptions(OpenAiChatOptions.builder().model("fake-model").build())
+            .build();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (!admit()) {
+            rejected.incrementAndGet();
+            exchange.getResponseHeaders().add("Retry-After", "0");
+            respond(exchange, 429, RATE_LIMITED);
+            return;
+        }
+
+        int now = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(now, Math::max);
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        served.incrementAndGet();
+        respond(exchange, 200, REPLY);
+    }
+
+    private synchronized boolean admit() {
+        if (requestsPerWindow <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            windowCount = 0;
+        }
+        return ++windowCount <= requestsPerWindow;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public int served() {
+        return served.get();
+    }
+
+    public int rejected() {
+        return rejected.get();
+    }
+
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -1,5 +1,6 @@
 package com.baskettecase.readmewrangler.tool;
 
+import com.baskettecase.readmewrangler.domain.Deadline;
 import com.baskettecase.readmewrangler.domain.PolishingFinding;
 import com.baskettecase.readmewrangler.domain.Severity;
 import org.junit.jupiter.api.Test;
@@ -81,4 +82,36 @@ class MarkdownLinterToolTest {
 
         assertEquals(4, count);
     }
+
+    @Test
+    void shouldStopLintingWhenDeadlineExpires() {
+        Deadline deadline = Deadline.none();
+        deadline.cancel();
+
+        Deadline.DeadlineExceededException e = assertThrows(Deadline.DeadlineExceededException.class,
+            () -> linter.lint(testFile, "# Test\n\n```\ncode\n```\n", deadline));
+
+        assertEquals("lint", e.stage());
+        assertTrue(e.partialFindings().isEmpty());
+    }
+
+    @Test
+    void shouldFlagWeakProseParagraphs() {
+        String content = """
+            # Test
+
+            This paragraph is really very basically fine.
+
+            - really very basically a list item
+
+            Short and clear.
+            """;
+
+        List<PolishingFinding> findings = linter.lint(testFile, content);
+
+        List<PolishingFinding> weak = findings.stream().filter(f -> f.id().equals("weak-prose")).toList();
+        assertEquals(1, weak.size());
+        assertEquals(3, weak.get(0).lineStart());
+        assertEquals(Severity.INFO, weak.get(0).severity());
+    }
 }
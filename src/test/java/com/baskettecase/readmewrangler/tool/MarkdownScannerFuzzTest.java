@@ -0,0 +1,144 @@
+package com.baskettecase.readmewrangler.tool;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fuzz tests for MarkdownScanner and the tools built on it: random documents must give the same
+ * result as the regexes the scanners replaced, and adversarial documents must finish in bounded time.
+ */
+class MarkdownScannerFuzzTest {
+
+    private static final int ITERATIONS = 5_000;
+    private static final int ADVERSARIAL_SIZE = 1 << 20;
+    private static final Duration WORST_CASE = Duration.ofSeconds(2);
+
+    // Fragments that combine into near-misses of every construct the scanners recognize
+    private static final String[] TOKENS = {
+        "a", "Title", "x1", " ", "  ", "\t", "\n", "\n\n", "#", "##", "#######", "# ", "=", "==", "===",
+        "-", "--", "---", "<!--", "-->", "toc", "TOC", "Table of Contents", "Note:", "**Tip:**", "!", "Ünï",
+        "[", "](", ")", "\"", "docs/a.md", "#x"
+    };
+
+    private static final Pattern OLD_HEADING = Pattern.compile("^(#{1,6})\\s+(.*)$");
+    private static final Pattern OLD_LINK = Pattern.compile("\\]\\(([^)\\s]+)(?:\\s+\"[^\"]*\")?\\)");
+    private static final Pattern OLD_TOC_MARKER = Pattern.compile("(?i)<!--\\s*toc\\s*-->|##\\s*Table of Contents");
+
+    private final TextRewriteTool rewriter = new TextRewriteTool();
+    private final TocTool tocTool = new TocTool();
+    private final VisualEnhancementTool visualEnhancer = new VisualEnhancementTool();
+    private final MarkdownLinterTool linter = new MarkdownLinterTool();
+
+    @Test
+    void scannersShouldMatchReplacedRegexes() {
+        Random random = new Random(20_251_018L);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            String doc = randomDocument(random);
+
+            assertEquals(doc.replaceAll("(?m)[ \\t]+$", ""), rewriter.removeTrailingWhitespace(doc), doc);
+            assertEquals(
+                doc.replaceAll("(?m)^(.+)\\n={2,}$", "# $1").replaceAll("(?m)^(.+)\\n-{2,}$", "## $1"),
+                rewriter.normalizeHeadings(doc), doc);
+            assertEquals(OLD_TOC_MARKER.matcher(doc).find(), tocTool.hasToc(doc), doc);
+            assertEquals(oldAnchor(doc), MarkdownScanner.slug(doc), doc);
+            assertEquals(oldLinkTargets(doc), linkTargets(doc), doc);
+
+            for (String line : doc.split("\n", -1)) {
+                Matcher matcher = OLD_HEADING.matcher(line);
+                MarkdownScanner.AtxHeading heading = MarkdownScanner.parseAtxHeading(line);
+                if (matcher.matches() && MarkdownScanner.isSpaceOrTab(line.charAt(matcher.end(1)))) {
+                    assertNotNull(heading, line);
+                    assertEquals(matcher.group(1).length(), heading.level(), line);
+                    assertEquals(matcher.group(2).trim(), heading.title(), line);
+                } else {
+                    // The regex also accepted form feeds and vertical tabs after the hashes
+                    assertTrue(heading == null || matcher.matches(), line);
+                }
+            }
+        }
+    }
+
+    @Test
+    void adversarialInputsShouldFinishInBoundedTime() {
+        Map<String, String> inputs = new LinkedHashMap<>();
+        inputs.put("blank run inside a line", "a" + " ".repeat(ADVERSARIAL_SIZE) + "b");
+        inputs.put("tab and space run", "x" + " \t".repeat(ADVERSARIAL_SIZE / 2) + "y\n");
+        inputs.put("hashes", "#".repeat(ADVERSARIAL_SIZE));
+        inputs.put("empty headings", "# \n".repeat(ADVERSARIAL_SIZE / 3));
+        inputs.put("underline near-misses", "t\n==x\n".repeat(ADVERSARIAL_SIZE / 6));
+        inputs.put("underlines only", "=\n-\n".repeat(ADVERSARIAL_SIZE / 4));
+        inputs.put("long title", "# " + "a -".repeat(ADVERSARIAL_SIZE / 3));
+        inputs.put("comment openers", "<!--" + " ".repeat(ADVERSARIAL_SIZE) + "to");
+        inputs.put("toc heading near-miss", "##" + " ".repeat(ADVERSARIAL_SIZE) + "Table of Content");
+        inputs.put("callouts", "Note:**Tip:**\n".repeat(ADVERSARIAL_SIZE / 14));
+        inputs.put("unclosed links", "](".repeat(ADVERSARIAL_SIZE / 2));
+        inputs.put("unclosed links before a close", "](".repeat(ADVERSARIAL_SIZE / 2) + " )");
+        inputs.put("unclosed titles", "](a \"".repeat(ADVERSARIAL_SIZE / 6) + ")");
+
+        Map<String, Function<String, Object>> operations = new LinkedHashMap<>();
+        operations.put("normalizeHeadings", rewriter::normalizeHeadings);
+        operations.put("hasSetextHeadings", rewriter::hasSetextHeadings);
+        operations.put("removeTrailingWhitespace", rewriter::removeTrailingWhitespace);
+        operations.put("hasTrailingWhitespace", rewriter::hasTrailingWhitespace);
+        operations.put("generateToc", tocTool::generateToc);
+        operations.put("hasToc", tocTool::hasToc);
+        operations.put("addIconsToHeadings", visualEnhancer::addIconsToHeadings);
+        operations.put("enhanceVisualHierarchy", visualEnhancer::enhanceVisualHierarchy);
+        operations.put("getVisualStats", visualEnhancer::getVisualStats);
+        operations.put("lint", content -> linter.lint(Path.of("README.md"), content));
+        operations.put("countHeadings", linter::countHeadings);
+        operations.put("findLinkTarget", MarkdownScannerFuzzTest::linkTargets);
+
+        inputs.forEach((inputName, input) -> operations.forEach((operationName, operation) ->
+            assertTimeoutPreemptively(WORST_CASE, () -> operation.apply(input),
+                operationName + " on " + inputName)));
+    }
+
+    private static String randomDocument(Random random) {
+        StringBuilder doc = new StringBuilder();
+        int tokens = random.nextInt(40);
+        for (int i = 0; i < tokens; i++) {
+            doc.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        return doc.toString();
+    }
+
+    private static List<String> linkTargets(String content) {
+        List<String> targets = new ArrayList<>();
+        for (MarkdownScanner.LinkTarget link = MarkdownScanner.findLinkTarget(content, 0); link != null;
+             link = MarkdownScanner.findLinkTarget(content, link.close())) {
+            targets.add(content.substring(link.start(), link.end()) + "@" + link.close());
+        }
+        return targets;
+    }
+
+    private static List<String> oldLinkTargets(String content) {
+        List<String> targets = new ArrayList<>();
+        Matcher matcher = OLD_LINK.matcher(content);
+        while (matcher.find()) {
+            targets.add(matcher.group(1) + "@" + matcher.end());
+        }
+        return targets;
+    }
+
+    private static String oldAnchor(String heading) {
+        return heading.toLowerCase()
+            .replaceAll("[^a-z0-9\\s-]", "")
+            .replaceAll("\\s+", "-")
+            .replaceAll("-+", "-")
+            .replaceAll("^-|-$", "");
+    }
+}
@@ -0,0 +1,196 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ModelCallScheduler.
+ */
+class ModelCallSchedulerTest {
+
+    private static final Prompt PROMPT = new Prompt("[[P1]]\nSome paragraph.");
+
+    @Test
+    void shouldCapConcurrentCallsPerModel() throws Exception {
+        try (FakeModelServer server = new FakeModelServer(Duration.ofMillis(50), 0, Duration.ofSeconds(1))) {
+            ChatModel model = server.chatModel();
+            ModelCallScheduler scheduler = new ModelCallScheduler(2, 0, 0, Duration.ofMillis(10), Duration.ofMillis(10));
+
+            runConcurrently(8, () -> scheduler.call(model, PROMPT, 10, Deadline.none()));
+
+            assertEquals(8, server.served());
+            assertTrue(server.peakInFlight() <= 2, "Peak " + server.peakInFlight());
+        }
+    }
+
+    @Test
+    void shouldBackOffAndRetryWhenRateLimited() throws Exception {
+        try (FakeModelServer server = new FakeModelServer(Duration.ofMillis(5), 2, Duration.ofMillis(200))) {
+            ChatModel model = server.chatModel();
+            ModelCallScheduler scheduler = new ModelCallScheduler(4, 0, 20, Duration.ofMillis(50), Duration.ofMillis(400));
+
+            List<ChatResponse> responses = runConcurrently(8, () -> scheduler.call(model, PROMPT, 10, Deadline.none()));
+
+            assertEquals(8, responses.size());
+            assertEquals(8, server.served());
+            assertTrue(server.rejected() > 0, "Server should have rate limited some calls");
+            assertEquals(server.rejected(), scheduler.throttledCalls());
+        }
+    }
+
+    @Test
+    void shouldRethrowRateLimitOnceRetriesAreExhausted() throws Exception {
+        try (FakeModelServer server = new FakeModelServer(Duration.ZERO, 1, Duration.ofMinutes(1))) {
+            ChatModel model = server.chatModel();
+            ModelCallScheduler scheduler = new ModelCallScheduler(4, 0, 1, Duration.ofMillis(10), Duration.ofMillis(10));
+            scheduler.call(model, PROMPT, 10, Deadline.none());
+
+            assertThrows(NonTransientAiException.class, () -> scheduler.call(model, PROMPT, 10, Deadline.none()));
+            assertEquals(2, scheduler.throttledCalls());
+            assertEquals(1, scheduler.concurrencyLimit("fake-model"));
+        }
+    }
+
+    @Test
+    void shouldAdmitInteractiveCallsBeforeQueuedBatchCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        ChatModel model = prompt -> {
+            String text = prompt.getContents();
+            if (text.equals("hold")) {
+                await(release);
+            }
+            order.add(text);
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("ok"))));
+        };
+        ModelCallScheduler scheduler = new ModelCallScheduler(1, 0, 0, Duration.ofMillis(10), Duration.ofMillis(10));
+        String name = ModelCallScheduler.modelName(model);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> holder = executor.submit(() -> scheduler.call(model, new Prompt("hold"), 1, Deadline.none()));
+            waitUntil(() -> scheduler.inFlight(name) == 1);
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                String text = "batch-" + i;
+                calls.add(executor.submit(() -> ModelCallScheduler.inLane(ModelCallScheduler.Lane.BATCH,
+                    () -> scheduler.call(model, new Prompt(text), 1, Deadline.none()))));
+                int queued = i + 1;
+                waitUntil(() -> scheduler.waiting(name, ModelCallScheduler.Lane.BATCH) == queued);
+            }
+            calls.add(executor.submit(() -> scheduler.call(model, new Prompt("interactive"), 1, Deadline.none())));
+            waitUntil(() -> scheduler.waiting(name, ModelCallScheduler.Lane.INTERACTIVE) == 1);
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            for (Future<?> call : calls) {
+                call.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(List.of("hold", "interactive", "batch-0", "batch-1"), order);
+    }
+
+    @Test
+    void shouldStopWaitingWhenDeadlineIsCancelled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ChatModel model = prompt -> {
+            await(release);
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("ok"))));
+        };
+        ModelCallScheduler scheduler = new ModelCallScheduler(1, 0, 0, Duration.ofMillis(10), Duration.ofMillis(10));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> scheduler.call(model, PROMPT, 1, Deadline.none()));
+            waitUntil(() -> scheduler.inFlight(ModelCallScheduler.modelName(model)) == 1);
+            Deadline deadline = Deadline.none();
+            Future<ChatResponse> queued = executor.submit(() -> scheduler.call(model, PROMPT, 1, deadline));
+            waitUntil(() -> scheduler.waiting(ModelCallScheduler.modelName(model), ModelCallScheduler.Lane.INTERACTIVE) == 1);
+
+            deadline.cancel();
+
+            Exception e = assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(Deadline.DeadlineExceededException.class, e.getCause());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldMeterTokensPerMinute() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        ModelCallScheduler.TokenBucket bucket = new ModelCallScheduler.TokenBucket(600, 0);
+
+        assertEquals(0, bucket.delayNanos(600, 0));
+        bucket.take(600, 0);
+        assertEquals(6 * second, bucket.delayNanos(60, 0), second / 1000);
+        assertEquals(0, bucket.delayNanos(60, 6 * second));
+
+        // Actual use above the estimate is charged to later calls
+        bucket.take(60, 6 * second);
+        bucket.adjust(60);
+        assertEquals(12 * second, bucket.delayNanos(60, 6 * second), second / 1000);
+    }
+
+    @Test
+    void shouldRecognizeRateLimitErrors() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Retry-After", "2");
+        HttpClientErrorException http = HttpClientErrorException.create(
+            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, new byte[0], StandardCharsets.UTF_8);
+
+        assertEquals(Duration.ofSeconds(2), ModelCallScheduler.rateLimitDelay(http));
+        assertEquals(Duration.ZERO, ModelCallScheduler.rateLimitDelay(new NonTransientAiException("429 - {\"error\":{}}")));
+        assertNull(ModelCallScheduler.rateLimitDelay(new NonTransientAiException("401 - unauthorized")));
+    }
+
+    private static <T> List<T> runConcurrently(int count, java.util.concurrent.Callable<T> task) throws Exception {
+        List<T> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < giveUp, "Condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
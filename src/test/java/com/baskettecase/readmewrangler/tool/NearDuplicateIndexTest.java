@@ -0,0 +1,54 @@
+package com.baskettecase.readmewrangler.tool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NearDuplicateIndex.
+ */
+class NearDuplicateIndexTest {
+
+    private static long[] sign(String text) {
+        long[] signature = new long[NearDuplicateIndex.SIGNATURE_LENGTH];
+        NearDuplicateIndex.minHash(text, 0, text.length(), signature, 0);
+        return signature;
+    }
+
+    @Test
+    void testSignatureIgnoresCaseAndPunctuation() {
+        assertArrayEquals(
+            sign("Run the Maven wrapper to build the project."),
+            sign("run the maven wrapper, to build the project")
+        );
+        assertEquals(8, NearDuplicateIndex.wordCount("Run the Maven wrapper to build the project.", 0, 43));
+    }
+
+    @Test
+    void testFindsNearDuplicatesOnly() {
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        index.add(sign("Install Java 21 and Maven, then run the wrapper from the repository root to build everything."), 0);
+
+        assertTrue(index.containsNear(
+            sign("Install Java 21 and Maven, then run the wrapper from the repository root to build it all."), 0));
+        assertFalse(index.containsNear(
+            sign("Set the API key in your environment before starting the server for the first time."), 0));
+    }
+
+    @Test
+    void testGrowsWithoutLosingSignatures() {
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        int count = 3000;
+        long[] signatures = new long[count * NearDuplicateIndex.SIGNATURE_LENGTH];
+        for (int i = 0; i < count; i++) {
+            String text = "Paragraph number " + i + " describes step " + (i * 7) + " of the guide in detail.";
+            NearDuplicateIndex.minHash(text, 0, text.length(), signatures, i * NearDuplicateIndex.SIGNATURE_LENGTH);
+            index.add(signatures, i * NearDuplicateIndex.SIGNATURE_LENGTH);
+        }
+
+        assertEquals(count, index.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(index.containsNear(signatures, i * NearDuplicateIndex.SIGNATURE_LENGTH));
+        }
+    }
+}
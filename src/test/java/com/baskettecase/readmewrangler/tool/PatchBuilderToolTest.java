@@ -0,0 +1,53 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PatchBuilderTool.
+ */
+class PatchBuilderToolTest {
+
+    private final PatchBuilderTool patchBuilder = new PatchBuilderTool();
+
+    @Test
+    void shouldEstimateInPlaceEditsAsRemovalPlusAddition() {
+        String original = "# Title\nkeep\nold one\nkeep\nold two\nkeep\n";
+        String modified = "# Title\nkeep\nnew one\nkeep\nnew two\nkeep\n";
+
+        assertEquals(4, patchBuilder.estimateChanges(original, modified));
+        assertEquals(0, patchBuilder.estimateChanges(original, original));
+    }
+
+    @Test
+    void shouldEstimateInsertionsByInsertedLines() {
+        String original = "a\nb\n";
+
+        assertEquals(2, patchBuilder.estimateChanges(original, "a\nX\nY\nb\n"));
+        assertEquals(1, patchBuilder.estimateChanges(original, "a\nb\nc\n"));
+        assertEquals(2, patchBuilder.estimateChanges("a\nc", "a\nbc"));
+    }
+
+    @Test
+    void shouldStopDiffOnceChangeLimitIsExceeded() {
+        StringBuilder original = new StringBuilder();
+        StringBuilder modified = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            original.append("line ").append(i).append('\n');
+            modified.append("line ").append(i).append(" changed\n");
+        }
+
+        PatchBuilderTool.ChangeLimitExceededException e = assertThrows(
+            PatchBuilderTool.ChangeLimitExceededException.class,
+            () -> patchBuilder.createUnifiedDiff(Path.of("README.md"), original.toString(), modified.toString(),
+                Deadline.none(), 50));
+
+        assertEquals(50, e.maxChanges());
+        assertFalse(patchBuilder.createUnifiedDiff(Path.of("README.md"), original.toString(), modified.toString(),
+            Deadline.none(), 0).isEmpty());
+    }
+}
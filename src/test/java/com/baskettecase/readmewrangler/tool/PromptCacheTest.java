@@ -0,0 +1,81 @@
+package com.baskettecase.readmewrangler.tool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PromptCache.
+ */
+class PromptCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldKeyOnModelAndNormalizedPrompt() {
+        String key = PromptCache.key("gpt-4o|0.7", "Install  the\n tool.");
+
+        assertEquals(key, PromptCache.key("gpt-4o|0.7", "Install the tool.\n"));
+        assertNotEquals(key, PromptCache.key("gpt-4o|0.2", "Install the tool."));
+        assertNotEquals(key, PromptCache.key("gpt-4o|0.7", "Install the tools."));
+    }
+
+    @Test
+    void shouldPersistRepliesAcrossInstances() {
+        String key = PromptCache.key("m", "prompt");
+        new PromptCache(tempDir, 1024).put(key, "reply");
+
+        PromptCache reopened = new PromptCache(tempDir, 1024);
+
+        assertEquals("reply", reopened.get(key));
+        assertNull(reopened.get(PromptCache.key("m", "other")));
+        assertEquals(0.5, reopened.hitRatio());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondByteLimit() {
+        PromptCache cache = new PromptCache(tempDir, 20);
+        cache.put("a", "1234567890");
+        cache.put("b", "1234567890");
+        cache.get("a");
+
+        cache.put("c", "1234567890");
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertFalse(Files.exists(tempDir.resolve("b")));
+        assertEquals(20, cache.sizeBytes());
+    }
+
+    @Test
+    void shouldExposeHitRatioMetric() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PromptCache cache = new PromptCache(true, tempDir, 1024, new StaticListableBeanFactory(Map.of("registry", registry))
+            .getBeanProvider(MeterRegistry.class));
+        cache.put("k", "v");
+        cache.get("k");
+        cache.get("missing");
+
+        assertEquals(0.5, registry.get("wrangler.prose.cache.hit.ratio").gauge().value());
+        assertEquals(1.0, registry.get("wrangler.prose.cache.requests").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldStoreNothingWhenDisabled() {
+        PromptCache cache = PromptCache.disabled();
+        cache.put("k", "v");
+
+        assertNull(cache.get("k"));
+        assertEquals(0, cache.hitRatio());
+    }
+}
@@ -0,0 +1,99 @@
+package com.baskettecase.readmewrangler.tool;
+
+import com.baskettecase.readmewrangler.domain.Deadline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ProseRewriteTool.
+ */
+class ProseRewriteToolTest {
+
+    private static final String DOC = """
+        # Demo
+
+        This is really very basically just a tool that helps you.
+
+        ```bash
+        echo "really very basically just"
+        ```
+
+        A plain paragraph that reads fine.
+
+        Run the the installer and it will just really work quickly.
+        """;
+
+    @Test
+    void shouldRewriteOnlyWeakParagraphsInOneCall() {
+        StubChatModel model = new StubChatModel();
+        ProseRewriteTool tool = new ProseRewriteTool(model, new MarkdownLinterTool(), 3000);
+
+        ProseRewriteTool.ProseResult result = tool.rewrite(DOC, Deadline.none());
+
+        assertEquals(2, result.weakParagraphs());
+        assertEquals(2, result.rewrittenParagraphs());
+        assertEquals(1, result.calls());
+        assertTrue(result.promptTokens() > 0);
+        assertTrue(result.completionTokens() > 0);
+        assertTrue(result.content().contains("This is a tool that helps you."));
+        assertTrue(result.content().contains("Run the installer and it will work quickly."));
+        assertTrue(result.content().contains("echo \"really very basically just\""), "Code is never sent");
+        assertTrue(result.content().contains("A plain paragraph that reads fine."));
+        assertFalse(model.prompts().get(0).getUserMessage().getText().contains("plain paragraph"));
+    }
+
+    @Test
+    void shouldSplitBatchesAtPromptBudget() {
+        StubChatModel model = new StubChatModel();
+        // Budget only just above the system prompt, so each paragraph needs its own call
+        ProseRewriteTool tool = new ProseRewriteTool(model, new MarkdownLinterTool(), 120);
+
+        ProseRewriteTool.ProseResult result = tool.rewrite(DOC, Deadline.none());
+
+        assertEquals(2, result.calls());
+        assertEquals(2, model.prompts().size());
+    }
+
+    @Test
+    void shouldKeepOriginalWhenRewriteDropsInlineCode() {
+        String doc = "Use `mvn verify` really very basically just to check the build.\n";
+        ProseRewriteTool tool = new ProseRewriteTool(
+            new StubChatModel(text -> "Check the build."), new MarkdownLinterTool(), 3000);
+
+        ProseRewriteTool.ProseResult result = tool.rewrite(doc, Deadline.none());
+
+        assertEquals(1, result.calls());
+        assertEquals(0, result.rewrittenParagraphs());
+        assertEquals(doc, result.content());
+    }
+
+    @Test
+    void shouldServeRepeatedParagraphsFromCache(@TempDir Path cacheDir) {
+        StubChatModel model = new StubChatModel();
+        PromptCache cache = new PromptCache(cacheDir, 1 << 20);
+        ProseRewriteTool tool = new ProseRewriteTool(model, new MarkdownLinterTool(), cache, 3000);
+        ProseRewriteTool.ProseResult first = tool.rewrite(DOC, Deadline.none());
+
+        // Same weak paragraph, re-wrapped, in another document
+        String other = "# Other\n\nThis is really very basically\njust a tool that helps you.\n";
+        ProseRewriteTool.ProseResult second = tool.rewrite(other, Deadline.none());
+
+        assertEquals(1, first.calls());
+        assertEquals(0, second.calls());
+        assertEquals(1, second.cachedParagraphs());
+        assertTrue(second.content().contains("This is a tool that helps you."));
+        assertEquals(1, model.prompts().size());
+    }
+
+    @Test
+    void shouldMakeNoCallsWhenDisabled() {
+        ProseRewriteTool.ProseResult result = ProseRewriteTool.disabled().rewrite(DOC, Deadline.none());
+
+        assertEquals(0, result.calls());
+        assertEquals(DOC, result.content());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,6 +50,22 @@ class RepoScannerToolTest {
         assertEquals(3, snapshot.markdownFiles().size());
     }
 
+    @Test
+    void shouldIgnoreOnlyWholeDirectoryNames(@TempDir Path tempDir) throws Exception {
+        Files.createFile(tempDir.resolve("build-notes.md"));
+        Files.createDirectories(tempDir.resolve("docs"));
+        Files.createFile(tempDir.resolve("docs/target-platforms.md"));
+        Files.createDirectories(tempDir.resolve("build/reports"));
+        Files.createFile(tempDir.resolve("build/reports/SUMMARY.md"));
+        Files.createDirectories(tempDir.resolve("node_modules/lib"));
+        Files.createFile(tempDir.resolve("node_modules/lib/README.md"));
+
+        RepoSnapshot snapshot = scanner.scanRepository(tempDir);
+
+        assertEquals(List.of("build-notes.md", "target-platforms.md"),
+            snapshot.markdownFiles().stream().map(p -> p.getFileName().toString()).sorted().toList());
+    }
+
     @Test
     void shouldGenerateTestCommandForMaven() {
         String snippet = scanner.generateTestCommandSnippet(BuildSystem.MAVEN);
@@ -0,0 +1,82 @@
+package com.baskettecase.readmewrangler.tool;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Offline ChatModel for tests. Answers each [[Pn]] paragraph of the user message with a
+ * deterministic edit (filler words removed by default), reports usage from message lengths,
+ * and records every prompt it receives.
+ */
+public class StubChatModel implements ChatModel {
+
+    private final UnaryOperator<String> editor;
+    private final List<Prompt> prompts = new ArrayList<>();
+
+    public StubChatModel() {
+        this(StubChatModel::dropFiller);
+    }
+
+    public StubChatModel(UnaryOperator<String> editor) {
+        this.editor = editor;
+    }
+
+    @Override
+    public synchronized ChatResponse call(Prompt prompt) {
+        prompts.add(prompt);
+        String user = prompt.getUserMessage().getText();
+
+        StringBuilder reply = new StringBuilder();
+        StringBuilder paragraph = new StringBuilder();
+        for (String line : user.split("\n", -1)) {
+            if (line.startsWith("[[P") && line.endsWith("]]")) {
+                appendEdited(reply, paragraph);
+                reply.append(line).append('\n');
+            } else {
+                paragraph.append(line).append('\n');
+            }
+        }
+        appendEdited(reply, paragraph);
+
+        int promptTokens = prompt.getContents().length() / 4;
+        int completionTokens = reply.length() / 4;
+        return new ChatResponse(
+            List.of(new Generation(new AssistantMessage(reply.toString()))),
+            ChatResponseMetadata.builder()
+                .model("stub")
+                .usage(new DefaultUsage(promptTokens, completionTokens))
+                .build());
+    }
+
+    private void appendEdited(StringBuilder reply, StringBuilder paragraph) {
+        String text = paragraph.toString().strip();
+        if (!text.isEmpty()) {
+            reply.append(editor.apply(text)).append("\n\n");
+        }
+        paragraph.setLength(0);
+    }
+
+    public synchronized List<Prompt> prompts() {
+        return List.copyOf(prompts);
+    }
+
+    /**
+     * Removes a few filler words and collapses an immediately repeated word.
+     */
+    public static String dropFiller(String text) {
+        return text.replace("really ", "")
+            .replace("very ", "")
+            .replace("basically ", "")
+            .replace("just ", "")
+            .replace("the the ", "the ");
+    }
+}
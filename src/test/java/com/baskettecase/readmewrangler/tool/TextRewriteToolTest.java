@@ -63,4 +63,15 @@ class TextRewriteToolTest {
 
         assertEquals("Line with trailing spaces\nAnother line", result);
     }
+
+    @Test
+    void shouldDetectChangesWithoutRewriting() {
+        assertTrue(rewriter.hasSetextHeadings("Title\n=====\n"));
+        assertTrue(rewriter.hasSetextHeadings("Intro\n---"));
+        assertFalse(rewriter.hasSetextHeadings("# Title\n\n---\n"));
+
+        assertTrue(rewriter.hasTrailingWhitespace("line \nnext"));
+        assertTrue(rewriter.hasTrailingWhitespace("last\t"));
+        assertFalse(rewriter.hasTrailingWhitespace("clean\nlines\n"));
+    }
 }